@@ -0,0 +1,68 @@
+package ch.cern.todo.benchmarks;
+
+import ch.cern.todo.ratelimit.RateLimitFilter;
+import ch.cern.todo.ratelimit.RateLimiter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time the rate limit filter adds to a request, against a filter chain that does nothing. The limits are
+ * high enough that every request is admitted, so each invocation takes the full path through the token bucket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RateLimitFilterBenchmarks {
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+
+    @Param({"1", "10000"})
+    private int numberOfClients;
+
+    private RateLimitFilter rateLimitFilter;
+
+    private MockHttpServletRequest[] requests;
+
+    private MockHttpServletResponse response;
+
+    private FilterChain filterChain;
+
+    private int nextRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final var rateLimiter = new RateLimiter(UNLIMITED, 1e9, UNLIMITED, 1e9, UNLIMITED, 1e9, 1_000_000);
+        rateLimitFilter = new RateLimitFilter(rateLimiter, true, "X-API-Key", Set.of());
+        requests = new MockHttpServletRequest[numberOfClients];
+        for (var i = 0; i < numberOfClients; i++) {
+            requests[i] = new MockHttpServletRequest("GET", "/api/tasks");
+            requests[i].setRemoteAddr("10.0." + (i / 256) + "." + (i % 256));
+        }
+
+        response = new MockHttpServletResponse();
+        filterChain = (request, response) -> {
+        };
+    }
+
+    private MockHttpServletRequest nextRequest() {
+        final var request = requests[nextRequest];
+        nextRequest = (nextRequest + 1) % numberOfClients;
+        return request;
+    }
+
+    @Benchmark
+    public void withoutFilter() throws ServletException, IOException {
+        filterChain.doFilter(nextRequest(), response);
+    }
+
+    @Benchmark
+    public void withFilter() throws ServletException, IOException {
+        rateLimitFilter.doFilter(nextRequest(), response, filterChain);
+    }
+}
@@ -0,0 +1,91 @@
+package ch.cern.todo.benchmarks;
+
+import ch.cern.todo.TodoApplication;
+import ch.cern.todo.core.Task;
+import ch.cern.todo.core.TaskCategory;
+import ch.cern.todo.services.TaskCategoryService;
+import ch.cern.todo.services.TaskService;
+import ch.cern.todo.services.exceptions.DuplicateTaskCategoryNameException;
+import ch.cern.todo.services.exceptions.TaskCategoryNotFoundException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares request handling on Tomcat's platform worker threads, on virtual threads and on the reactive stack.
+ * <p>
+ * All variants share the same connection pool size, and more clients than worker threads send requests, so that
+ * requests wait for the database either in Tomcat's queue (platform threads), on the connection semaphore (virtual
+ * threads) or in the R2DBC pool (reactive). Run it on its own with
+ * {@code ./gradlew jmh -PjmhIncludes=RequestExecutionBenchmarks}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(400)
+public class RequestExecutionBenchmarks {
+    private static final String TASK_CATEGORY_NAME = "some_category_name";
+    private static final int CONNECTION_POOL_SIZE = 10;
+    private static final int WORKER_THREADS = 200;
+
+    @Param({"platform", "virtual", "reactive"})
+    private String stack;
+
+    @Param({"1000"})
+    private int numberOfTasks;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private HttpRequest getTasksRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws DuplicateTaskCategoryNameException, TaskCategoryNotFoundException {
+        context = new SpringApplicationBuilder(TodoApplication.class)
+                .profiles(stack.equals("reactive") ? new String[]{"reactive"} : new String[0])
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=" + WORKER_THREADS,
+                        "spring.datasource.url=jdbc:h2:mem:request-execution;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=" + CONNECTION_POOL_SIZE,
+                        "spring.r2dbc.url=r2dbc:h2:mem:///request-execution;DB_CLOSE_DELAY=-1",
+                        "spring.r2dbc.pool.max-size=" + CONNECTION_POOL_SIZE,
+                        "spring.h2.console.enabled=false",
+                        "todo.virtual-threads.enabled=" + stack.equals("virtual"),
+                        "todo.virtual-threads.max-concurrent-connections=" + CONNECTION_POOL_SIZE,
+                        // All requests come from one address, and the reactive stack is not rate limited at all.
+                        "todo.rate-limit.enabled=false",
+                        "logging.level.root=warn")
+                .run();
+
+        final var taskService = context.getBean(TaskService.class);
+        final var deadline = LocalDateTime.parse("2023-09-22T10:42:50.63");
+        context.getBean(TaskCategoryService.class).createTaskCategory(new TaskCategory(TASK_CATEGORY_NAME, "some_category_description"));
+        for (int i = 0; i < numberOfTasks; i++) {
+            taskService.createTask(new Task("some_name", "some_description", deadline, new TaskCategory(TASK_CATEGORY_NAME, null)));
+        }
+
+        final var port = context.getEnvironment().getProperty("local.server.port");
+        httpClient = HttpClient.newHttpClient();
+        getTasksRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks?limit=50")).GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getTasksFirstPage() throws IOException, InterruptedException {
+        return httpClient.send(getTasksRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
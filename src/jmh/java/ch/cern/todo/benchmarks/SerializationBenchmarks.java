@@ -0,0 +1,49 @@
+package ch.cern.todo.benchmarks;
+
+import ch.cern.todo.api.models.TaskCategoryResponseModel;
+import ch.cern.todo.api.models.TaskResponseModel;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmarks {
+
+    @Param({"1", "100", "10000"})
+    private int numberOfTasks;
+
+    private ObjectWriter writer;
+
+    private List<TaskResponseModel> taskResponses;
+
+    @Setup
+    public void setUp() {
+        // Same date handling as the ObjectMapper configured by Spring Boot.
+        writer = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+
+        final var deadline = LocalDateTime.parse("2023-09-22T10:42:50.63");
+        final var taskCategoryResponse = new TaskCategoryResponseModel(73, "some_category_name", "some_category_description");
+        taskResponses = new ArrayList<>(numberOfTasks);
+        for (int i = 0; i < numberOfTasks; i++) {
+            taskResponses.add(new TaskResponseModel((long) i, "some_name_" + i, "some_description_" + i, deadline.plusMinutes(i), taskCategoryResponse));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeTaskResponses() throws JsonProcessingException {
+        return writer.writeValueAsBytes(taskResponses);
+    }
+}
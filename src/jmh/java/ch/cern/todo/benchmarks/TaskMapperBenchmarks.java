@@ -0,0 +1,65 @@
+package ch.cern.todo.benchmarks;
+
+import ch.cern.todo.api.models.TaskCategoryRequestModel;
+import ch.cern.todo.api.models.TaskRequestModel;
+import ch.cern.todo.core.Task;
+import ch.cern.todo.core.TaskCategory;
+import ch.cern.todo.mappers.DefaultTaskCategoryMapper;
+import ch.cern.todo.mappers.DefaultTaskMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskMapperBenchmarks {
+
+    private DefaultTaskCategoryMapper taskCategoryMapper;
+
+    private DefaultTaskMapper taskMapper;
+
+    private TaskRequestModel taskRequest;
+
+    private TaskCategoryRequestModel taskCategoryRequest;
+
+    private Task task;
+
+    private TaskCategory taskCategory;
+
+    @Setup
+    public void setUp() {
+        taskCategoryMapper = new DefaultTaskCategoryMapper();
+        taskMapper = new DefaultTaskMapper(taskCategoryMapper);
+
+        final var deadline = LocalDateTime.parse("2023-09-22T10:42:50.63");
+        taskCategoryRequest = new TaskCategoryRequestModel("some_category_name", "some_category_description");
+        taskRequest = new TaskRequestModel("some_name", "some_description", deadline, taskCategoryRequest);
+
+        taskCategory = new TaskCategory("some_category_name", "some_category_description");
+        taskCategory.setId(73);
+        task = new Task("some_name", "some_description", deadline, taskCategory);
+        task.setId(42);
+    }
+
+    @Benchmark
+    public Object mapToTask() {
+        return taskMapper.mapToTask(taskRequest);
+    }
+
+    @Benchmark
+    public Object mapToTaskResponse() {
+        return taskMapper.mapToTaskResponse(task);
+    }
+
+    @Benchmark
+    public Object mapToTaskCategory() {
+        return taskCategoryMapper.mapToTaskCategory(taskCategoryRequest);
+    }
+
+    @Benchmark
+    public Object mapToTaskCategoryResponseModel() {
+        return taskCategoryMapper.mapToTaskCategoryResponseModel(taskCategory);
+    }
+}
@@ -0,0 +1,65 @@
+package ch.cern.todo.benchmarks;
+
+import ch.cern.todo.search.TaskSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Searches an index of a million generated tasks. Words are drawn from a skewed distribution, so the most frequent
+ * ones occur in a large share of the tasks and the least frequent ones in a handful. Run with {@code -PjmhProfilers=gc}
+ * to see what a search allocates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskSearchIndexBenchmarks {
+    private static final int VOCABULARY_SIZE = 50_000;
+    private static final int SEARCH_LIMIT = 20;
+
+    @Param({"1000000"})
+    private int taskCount;
+
+    private TaskSearchIndex taskSearchIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final var random = new Random(42);
+        taskSearchIndex = new TaskSearchIndex();
+        for (long taskId = 1; taskId <= taskCount; taskId++) {
+            taskSearchIndex.index(taskId, words(random, 4), words(random, 12));
+        }
+    }
+
+    /**
+     * Returns the given number of words, where word {@code i} is drawn about twice as often as word {@code 2 * i}.
+     */
+    private static String words(Random random, int count) {
+        final var words = new StringBuilder();
+        for (var i = 0; i < count; i++) {
+            words.append(" word").append((int) Math.pow(VOCABULARY_SIZE, random.nextDouble()));
+        }
+        return words.toString();
+    }
+
+    @Benchmark
+    public Object searchRareTerm() {
+        return taskSearchIndex.search("word40000", SEARCH_LIMIT);
+    }
+
+    @Benchmark
+    public Object searchCommonTerm() {
+        return taskSearchIndex.search("word1", SEARCH_LIMIT);
+    }
+
+    @Benchmark
+    public Object searchCommonAndRareTerms() {
+        return taskSearchIndex.search("word1 word2 word40000", SEARCH_LIMIT);
+    }
+
+    @Benchmark
+    public Object searchModeratelyCommonTerms() {
+        return taskSearchIndex.search("word100 word300 word1000", SEARCH_LIMIT);
+    }
+}
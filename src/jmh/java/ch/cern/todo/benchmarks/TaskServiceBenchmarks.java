@@ -0,0 +1,93 @@
+package ch.cern.todo.benchmarks;
+
+import ch.cern.todo.TodoApplication;
+import ch.cern.todo.core.Task;
+import ch.cern.todo.core.TaskCategory;
+import ch.cern.todo.repositories.TaskField;
+import ch.cern.todo.repositories.TaskProjection;
+import ch.cern.todo.repositories.TaskQuery;
+import ch.cern.todo.services.TaskCategoryService;
+import ch.cern.todo.services.TaskService;
+import ch.cern.todo.services.exceptions.DuplicateTaskCategoryNameException;
+import ch.cern.todo.services.exceptions.TaskCategoryNotFoundException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the service layer against an in-memory H2 database, without the web layer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskServiceBenchmarks {
+    private static final String TASK_CATEGORY_NAME = "some_category_name";
+    private static final int PAGE_LIMIT = 50;
+    private static final Set<TaskField> PAGE_FIELDS = TaskField.parse("id,name,deadline,category.name");
+
+    @Param({"1000"})
+    private int numberOfTasks;
+
+    private ConfigurableApplicationContext context;
+
+    private TaskService taskService;
+
+    private LocalDateTime deadline;
+
+    @Setup(Level.Trial)
+    public void setUp() throws DuplicateTaskCategoryNameException, TaskCategoryNotFoundException {
+        context = new SpringApplicationBuilder(TodoApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                        "spring.h2.console.enabled=false",
+                        "logging.level.root=warn")
+                .run();
+        taskService = context.getBean(TaskService.class);
+        deadline = LocalDateTime.parse("2023-09-22T10:42:50.63");
+
+        context.getBean(TaskCategoryService.class).createTaskCategory(new TaskCategory(TASK_CATEGORY_NAME, "some_category_description"));
+        for (int i = 0; i < numberOfTasks; i++) {
+            taskService.createTask(newTask());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private Task newTask() {
+        return new Task("some_name", "some_description", deadline, new TaskCategory(TASK_CATEGORY_NAME, null));
+    }
+
+    @Benchmark
+    public Task createTask() throws TaskCategoryNotFoundException {
+        return taskService.createTask(newTask());
+    }
+
+    @Benchmark
+    public List<Task> getTasks() {
+        return taskService.getTasks();
+    }
+
+    @Benchmark
+    public List<Task> getTasksFirstPage() {
+        return taskService.getTasks(TaskQuery.firstPage(PAGE_LIMIT));
+    }
+
+    /**
+     * The same page as {@link #getTasksFirstPage()} with {@code fields=id,name,deadline,category.name}; run with
+     * {@code -PjmhProfilers=gc} to compare the allocation per page as well.
+     */
+    @Benchmark
+    public List<TaskProjection> getTaskFieldsFirstPage() {
+        return taskService.getTasks(TaskQuery.firstPage(PAGE_LIMIT), PAGE_FIELDS);
+    }
+}
@@ -0,0 +1,73 @@
+package ch.cern.todo.benchmarks;
+
+import ch.cern.todo.api.models.TaskCategoryResponseModel;
+import ch.cern.todo.api.models.TaskResponseModel;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the CPU cost of writing a page of tasks in each supported format, with and without the gzip compression the
+ * server applies. The sizes of the variants are listed in the README.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WireFormatBenchmarks {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"none", "gzip"})
+    private String compression;
+
+    @Param({"10000"})
+    private int numberOfTasks;
+
+    private ObjectWriter writer;
+
+    private List<TaskResponseModel> taskResponses;
+
+    @Setup
+    public void setUp() {
+        // Same date handling as the ObjectMapper configured by Spring Boot.
+        final var mapper = switch (format) {
+            case "cbor" -> CBORMapper.builder().findAndAddModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+            case "smile" -> SmileMapper.builder().findAndAddModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+            default -> JsonMapper.builder().findAndAddModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        };
+        writer = mapper.writer();
+
+        final var deadline = LocalDateTime.parse("2023-09-22T10:42:50.63");
+        final var taskCategoryResponse = new TaskCategoryResponseModel(73, "some_category_name", "some_category_description");
+        taskResponses = new ArrayList<>(numberOfTasks);
+        for (int i = 0; i < numberOfTasks; i++) {
+            taskResponses.add(new TaskResponseModel((long) i, "some_name_" + i, "some_description_" + i, deadline.plusMinutes(i), taskCategoryResponse));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeTaskResponses() throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        if (compression.equals("gzip")) {
+            try (final var gzip = new GZIPOutputStream(bytes)) {
+                writer.writeValue(gzip, taskResponses);
+            }
+        } else {
+            writer.writeValue(bytes, taskResponses);
+        }
+
+        return bytes.toByteArray();
+    }
+}
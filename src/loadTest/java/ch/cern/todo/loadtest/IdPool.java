@@ -0,0 +1,40 @@
+package ch.cern.todo.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The ids of the entities that exist, to pick the targets of reads, updates and deletes from.
+ */
+final class IdPool {
+
+    private final List<Long> ids = new ArrayList<>();
+
+    synchronized void add(final long id) {
+        ids.add(id);
+    }
+
+    /**
+     * Returns a random id, or {@code null} if there is none.
+     */
+    synchronized Long random(final Random random) {
+        return ids.isEmpty() ? null : ids.get(random.nextInt(ids.size()));
+    }
+
+    /**
+     * Removes and returns a random id, or {@code null} if there is none.
+     */
+    synchronized Long removeRandom(final Random random) {
+        if (ids.isEmpty()) {
+            return null;
+        }
+
+        // Swap with the last id, so removing is constant time.
+        final var index = random.nextInt(ids.size());
+        final var id = ids.get(index);
+        ids.set(index, ids.get(ids.size() - 1));
+        ids.remove(ids.size() - 1);
+        return id;
+    }
+}
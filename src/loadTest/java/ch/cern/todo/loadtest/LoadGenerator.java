@@ -0,0 +1,132 @@
+package ch.cern.todo.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at a constant arrival rate (an open model): the n-th request is due at {@code start + n / rate},
+ * whether or not the earlier ones completed.
+ * <p>
+ * The response time of a request is measured from the time it was due, not from the time it was sent, so a server
+ * that falls behind shows up in the percentiles instead of silently slowing down the load (coordinated omission).
+ * The service time, from sending to the response, is recorded as well; the difference between both is queueing.
+ */
+final class LoadGenerator {
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private final TodoClient client;
+
+    private final LoadTestSettings settings;
+
+    private final Random random;
+
+    private final Map<Operation, Recorder> responseTimes = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, Recorder> serviceTimes = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    private final LongAdder skippedRequests = new LongAdder();
+
+    private final LongAdder droppedRequests = new LongAdder();
+
+    private final AtomicInteger outstandingRequests = new AtomicInteger();
+
+    LoadGenerator(final TodoClient client, final LoadTestSettings settings) {
+        this.client = client;
+        this.settings = settings;
+        this.random = new Random(settings.getSeed());
+        for (final var operation : Operation.values()) {
+            responseTimes.put(operation, new Recorder(SIGNIFICANT_DIGITS));
+            serviceTimes.put(operation, new Recorder(SIGNIFICANT_DIGITS));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Sends requests for the given duration and waits for the outstanding ones.
+     */
+    void run(final Duration duration) throws InterruptedException {
+        final var intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / settings.getRate());
+        final var start = System.nanoTime();
+        final var end = start + duration.toNanos();
+        for (var due = start; due < end; due += intervalNanos) {
+            for (var delay = due - System.nanoTime(); delay > 0; delay = due - System.nanoTime()) {
+                LockSupport.parkNanos(delay);
+            }
+
+            send(settings.getMix().next(random), due);
+        }
+
+        final var drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (outstandingRequests.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Discards what was recorded so far, e.g. during the warmup.
+     */
+    void reset() {
+        responseTimes.values().forEach(Recorder::reset);
+        serviceTimes.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+        skippedRequests.reset();
+        droppedRequests.reset();
+    }
+
+    /**
+     * Returns what was recorded since the last reset.
+     */
+    LoadTestReport report(final Duration duration) {
+        final var operationReports = new EnumMap<Operation, LoadTestReport.OperationReport>(Operation.class);
+        for (final var operation : Operation.values()) {
+            final Histogram responseTime = responseTimes.get(operation).getIntervalHistogram();
+            final Histogram serviceTime = serviceTimes.get(operation).getIntervalHistogram();
+            if (responseTime.getTotalCount() > 0) {
+                operationReports.put(operation, new LoadTestReport.OperationReport(responseTime, serviceTime, errors.get(operation).sum()));
+            }
+        }
+
+        return new LoadTestReport(settings, duration, operationReports, skippedRequests.sum(), droppedRequests.sum());
+    }
+
+    private void send(final Operation operation, final long due) {
+        final var request = client.request(operation, random);
+        if (request == null) {
+            skippedRequests.increment();
+            return;
+        }
+
+        if (outstandingRequests.incrementAndGet() > settings.getMaxOutstanding()) {
+            outstandingRequests.decrementAndGet();
+            droppedRequests.increment();
+            return;
+        }
+
+        final var sent = System.nanoTime();
+        client.getHttpClient().sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            final var completed = System.nanoTime();
+            responseTimes.get(operation).recordValue(completed - due);
+            serviceTimes.get(operation).recordValue(completed - sent);
+            if (error != null || response.statusCode() >= 300) {
+                errors.get(operation).increment();
+            } else {
+                client.onSuccess(operation, response);
+            }
+
+            outstandingRequests.decrementAndGet();
+        });
+    }
+}
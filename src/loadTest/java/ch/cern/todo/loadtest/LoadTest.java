@@ -0,0 +1,48 @@
+package ch.cern.todo.loadtest;
+
+import ch.cern.todo.TodoApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Random;
+
+/**
+ * Boots the application on a random port with an in-memory database, seeds it and drives the configured mix of
+ * operations at a constant rate, first for the warmup and then for the measured duration. Run with
+ * {@code ./gradlew loadTest}.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        final var settings = LoadTestSettings.fromSystemProperties();
+        try (final var context = new SpringApplicationBuilder(TodoApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load-test;DB_CLOSE_DELAY=-1",
+                        "spring.h2.console.enabled=false",
+                        "todo.rate-limit.enabled=false",
+                        "todo.reminders.log.enabled=false",
+                        "logging.level.root=warn")
+                .run(args)) {
+            final var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            final var client = new TodoClient(URI.create("http://localhost:" + port));
+            client.seed(settings.getCategories(), settings.getTasks(), new Random(settings.getSeed()));
+
+            final var generator = new LoadGenerator(client, settings);
+            generator.run(settings.getWarmup());
+            generator.reset();
+            generator.run(settings.getDuration());
+
+            final var report = generator.report(settings.getDuration());
+            report.write(settings.getOutputDirectory());
+            report.print(System.out);
+            System.out.println("Results written to " + settings.getOutputDirectory().toAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package ch.cern.todo.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The latency percentiles and the throughput of a run, written as {@code results.json} to be compared between builds,
+ * and the full response time distribution of every operation as {@code <operation>.hgrm}, which can be plotted with
+ * the HdrHistogram plotter.
+ */
+final class LoadTestReport {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private final LoadTestSettings settings;
+
+    private final Duration duration;
+
+    private final Map<Operation, OperationReport> operations;
+
+    private final long skippedRequests;
+
+    private final long droppedRequests;
+
+    LoadTestReport(final LoadTestSettings settings, final Duration duration, final Map<Operation, OperationReport> operations,
+                   final long skippedRequests, final long droppedRequests) {
+        this.settings = settings;
+        this.duration = duration;
+        this.operations = operations;
+        this.skippedRequests = skippedRequests;
+        this.droppedRequests = droppedRequests;
+    }
+
+    void write(final Path directory) throws IOException {
+        Files.createDirectories(directory);
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(directory.resolve("results.json").toFile(), toMap());
+        for (final var operation : operations.entrySet()) {
+            try (final var output = new PrintStream(Files.newOutputStream(directory.resolve(operation.getKey().getName() + ".hgrm")))) {
+                operation.getValue().responseTime.outputPercentileDistribution(output, NANOS_PER_MILLI);
+            }
+        }
+    }
+
+    /**
+     * Prints one line per operation with its throughput and response time percentiles in milliseconds.
+     */
+    void print(final PrintStream output) {
+        output.printf("%-16s %10s %8s %10s %10s %10s %10s %10s%n", "operation", "requests/s", "errors", "p50", "p90", "p99", "p99.9", "max");
+        operations.forEach((operation, report) -> output.printf("%-16s %10.1f %8d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                operation.getName(), throughput(report.responseTime.getTotalCount()), report.errors,
+                millis(report.responseTime.getValueAtPercentile(50)), millis(report.responseTime.getValueAtPercentile(90)),
+                millis(report.responseTime.getValueAtPercentile(99)), millis(report.responseTime.getValueAtPercentile(99.9)),
+                millis(report.responseTime.getMaxValue())));
+        output.printf("%d requests skipped for lack of entities, %d dropped above %d outstanding requests%n",
+                skippedRequests, droppedRequests, settings.getMaxOutstanding());
+    }
+
+    private Map<String, Object> toMap() {
+        final var settingsMap = new LinkedHashMap<String, Object>();
+        settingsMap.put("rate", settings.getRate());
+        settingsMap.put("warmup", settings.getWarmup().toString());
+        settingsMap.put("duration", duration.toString());
+        settingsMap.put("mix", settings.getMix().toString());
+        settingsMap.put("categories", settings.getCategories());
+        settingsMap.put("tasks", settings.getTasks());
+        settingsMap.put("seed", settings.getSeed());
+
+        final var operationsMap = new LinkedHashMap<String, Object>();
+        var totalRequests = 0L;
+        for (final var operation : operations.entrySet()) {
+            final var report = operation.getValue();
+            final var count = report.responseTime.getTotalCount();
+            totalRequests += count;
+
+            final var operationMap = new LinkedHashMap<String, Object>();
+            operationMap.put("requests", count);
+            operationMap.put("errors", report.errors);
+            operationMap.put("throughput", throughput(count));
+            operationMap.put("responseTimeMillis", percentiles(report.responseTime));
+            operationMap.put("serviceTimeMillis", percentiles(report.serviceTime));
+            operationsMap.put(operation.getKey().getName(), operationMap);
+        }
+
+        final var results = new LinkedHashMap<String, Object>();
+        results.put("settings", settingsMap);
+        results.put("requests", totalRequests);
+        results.put("throughput", throughput(totalRequests));
+        results.put("skippedRequests", skippedRequests);
+        results.put("droppedRequests", droppedRequests);
+        results.put("operations", operationsMap);
+        return results;
+    }
+
+    private static Map<String, Object> percentiles(final Histogram histogram) {
+        final var percentiles = new LinkedHashMap<String, Object>();
+        for (final var percentile : PERCENTILES) {
+            percentiles.put("p" + (percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile)),
+                    millis(histogram.getValueAtPercentile(percentile)));
+        }
+
+        percentiles.put("max", millis(histogram.getMaxValue()));
+        percentiles.put("mean", histogram.getMean() / NANOS_PER_MILLI);
+        return percentiles;
+    }
+
+    private double throughput(final long requests) {
+        return requests / (duration.toNanos() / 1e9);
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    static final class OperationReport {
+
+        private final Histogram responseTime;
+
+        private final Histogram serviceTime;
+
+        private final long errors;
+
+        OperationReport(final Histogram responseTime, final Histogram serviceTime, final long errors) {
+            this.responseTime = responseTime;
+            this.serviceTime = serviceTime;
+            this.errors = errors;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package ch.cern.todo.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * The settings of a load test run, read from the {@code loadTest.*} system properties that the {@code loadTest} Gradle
+ * task passes on from {@code -PloadTest.*}.
+ */
+final class LoadTestSettings {
+    private static final String PREFIX = "loadTest.";
+    private static final String DEFAULT_MIX = "getTask=30,listTasks=15,createTask=15,updateTask=10,deleteTask=5,"
+            + "getCategory=10,listCategories=5,createCategory=4,updateCategory=3,deleteCategory=3";
+
+    private final double rate;
+
+    private final Duration warmup;
+
+    private final Duration duration;
+
+    private final OperationMix mix;
+
+    private final int categories;
+
+    private final int tasks;
+
+    private final int maxOutstanding;
+
+    private final long seed;
+
+    private final Path outputDirectory;
+
+    /**
+     * The requests started per second, independently of how fast they complete.
+     */
+    double getRate() {
+        return rate;
+    }
+
+    Duration getWarmup() {
+        return warmup;
+    }
+
+    Duration getDuration() {
+        return duration;
+    }
+
+    OperationMix getMix() {
+        return mix;
+    }
+
+    int getCategories() {
+        return categories;
+    }
+
+    int getTasks() {
+        return tasks;
+    }
+
+    /**
+     * The number of requests in flight above which new ones are dropped instead of sent, to protect the load generator.
+     */
+    int getMaxOutstanding() {
+        return maxOutstanding;
+    }
+
+    /**
+     * The seed of the random choices, so that two runs send the same sequence of operations.
+     */
+    long getSeed() {
+        return seed;
+    }
+
+    Path getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    private LoadTestSettings(final double rate, final Duration warmup, final Duration duration, final OperationMix mix,
+                             final int categories, final int tasks, final int maxOutstanding, final long seed, final Path outputDirectory) {
+        if (rate <= 0 || categories < 1 || tasks < 0 || maxOutstanding < 1) {
+            throw new IllegalArgumentException("The rate, the number of categories and the outstanding requests must be positive.");
+        }
+
+        this.rate = rate;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.mix = mix;
+        this.categories = categories;
+        this.tasks = tasks;
+        this.maxOutstanding = maxOutstanding;
+        this.seed = seed;
+        this.outputDirectory = outputDirectory;
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Double.parseDouble(property("rate", "200")),
+                Duration.parse(property("warmup", "PT10S")),
+                Duration.parse(property("duration", "PT60S")),
+                OperationMix.parse(property("mix", DEFAULT_MIX)),
+                Integer.parseInt(property("categories", "10")),
+                Integer.parseInt(property("tasks", "10000")),
+                Integer.parseInt(property("maxOutstanding", "10000")),
+                Long.parseLong(property("seed", "42")),
+                Path.of(property("output", "build/reports/load-test")));
+    }
+
+    private static String property(final String name, final String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+}
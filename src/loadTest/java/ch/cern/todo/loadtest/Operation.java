@@ -0,0 +1,37 @@
+package ch.cern.todo.loadtest;
+
+/**
+ * A call of the API the load test can make, named as in {@code loadTest.mix}.
+ */
+enum Operation {
+    CREATE_TASK("createTask"),
+    GET_TASK("getTask"),
+    LIST_TASKS("listTasks"),
+    UPDATE_TASK("updateTask"),
+    DELETE_TASK("deleteTask"),
+    CREATE_CATEGORY("createCategory"),
+    GET_CATEGORY("getCategory"),
+    LIST_CATEGORIES("listCategories"),
+    UPDATE_CATEGORY("updateCategory"),
+    DELETE_CATEGORY("deleteCategory");
+
+    private final String name;
+
+    String getName() {
+        return name;
+    }
+
+    Operation(final String name) {
+        this.name = name;
+    }
+
+    static Operation of(final String name) {
+        for (final var operation : values()) {
+            if (operation.name.equals(name)) {
+                return operation;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown operation '" + name + "' in the load test mix.");
+    }
+}
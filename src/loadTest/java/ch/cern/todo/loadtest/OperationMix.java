@@ -0,0 +1,73 @@
+package ch.cern.todo.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Picks operations at random in proportion to their weights, e.g. {@code getTask=40,listTasks=20,createTask=10}.
+ */
+final class OperationMix {
+
+    private final Map<Operation, Integer> weights;
+
+    private final Operation[] operations;
+
+    private final int[] cumulativeWeights;
+
+    Map<Operation, Integer> getWeights() {
+        return weights;
+    }
+
+    private OperationMix(final Map<Operation, Integer> weights) {
+        this.weights = weights;
+        this.operations = weights.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        var totalWeight = 0;
+        for (var i = 0; i < operations.length; i++) {
+            totalWeight += weights.get(operations[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        if (totalWeight == 0) {
+            throw new IllegalArgumentException("The load test mix needs at least one operation with a positive weight.");
+        }
+    }
+
+    static OperationMix parse(final String mix) {
+        final var weights = new EnumMap<Operation, Integer>(Operation.class);
+        for (final var entry : mix.split(",")) {
+            final var separatorIndex = entry.indexOf('=');
+            if (separatorIndex < 0) {
+                throw new IllegalArgumentException("Expected 'operation=weight' in the load test mix, got '" + entry + "'.");
+            }
+
+            final var weight = Integer.parseInt(entry.substring(separatorIndex + 1).trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("The weights of the load test mix cannot be negative.");
+            }
+
+            weights.put(Operation.of(entry.substring(0, separatorIndex).trim()), weight);
+        }
+
+        return new OperationMix(weights);
+    }
+
+    Operation next(final Random random) {
+        final var value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (var i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+
+        throw new IllegalStateException();
+    }
+
+    @Override
+    public String toString() {
+        final var mix = new StringBuilder();
+        weights.forEach((operation, weight) -> mix.append(mix.length() == 0 ? "" : ",").append(operation.getName()).append('=').append(weight));
+        return mix.toString();
+    }
+}
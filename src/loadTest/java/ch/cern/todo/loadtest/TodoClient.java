@@ -0,0 +1,174 @@
+package ch.cern.todo.loadtest;
+
+import ch.cern.todo.api.models.TaskCategoryRequestModel;
+import ch.cern.todo.api.models.TaskRequestModel;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds the requests of the operations and keeps track of the tasks and task categories they create and delete.
+ * <p>
+ * Tasks are created in the seeded categories only, so that the categories created by the load test stay empty and
+ * can be deleted again.
+ */
+final class TodoClient {
+    private static final String TASKS_PATH = "/api/tasks";
+    private static final String CATEGORIES_PATH = "/api/tasks/categories";
+    private static final int BATCH_SIZE = 1000;
+    private static final int PAGE_LIMIT = 50;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final URI baseUri;
+
+    private final List<String> seededCategoryNames = new ArrayList<>();
+
+    private final IdPool taskIds = new IdPool();
+
+    private final IdPool categoryIds = new IdPool();
+
+    private final IdPool emptyCategoryIds = new IdPool();
+
+    private final AtomicLong nameSequence = new AtomicLong();
+
+    HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    TodoClient(final URI baseUri) {
+        this.baseUri = baseUri;
+    }
+
+    /**
+     * Creates the categories and the tasks, spread evenly over them, that the operations start from.
+     */
+    void seed(final int categories, final int tasks, final Random random) throws IOException, InterruptedException {
+        for (var i = 0; i < categories; i++) {
+            final var name = "load-test-category-" + i;
+            final var response = send(post(CATEGORIES_PATH, new TaskCategoryRequestModel(name, "Seeded by the load test")));
+            categoryIds.add(objectMapper.readTree(response).get("id").asLong());
+            seededCategoryNames.add(name);
+        }
+
+        for (var created = 0; created < tasks; created += BATCH_SIZE) {
+            final var batch = new ArrayList<TaskRequestModel>(BATCH_SIZE);
+            for (var i = created; i < Math.min(created + BATCH_SIZE, tasks); i++) {
+                batch.add(newTask(random, seededCategoryNames.get(i % categories)));
+            }
+
+            for (final var result : objectMapper.readTree(send(post(TASKS_PATH + "/batch", batch)))) {
+                taskIds.add(result.get("task").get("id").asLong());
+            }
+        }
+    }
+
+    /**
+     * Returns the request of the operation, or {@code null} if there is no entity left to apply it to.
+     */
+    HttpRequest request(final Operation operation, final Random random) {
+        return switch (operation) {
+            case CREATE_TASK -> post(TASKS_PATH, newTask(random, randomSeededCategoryName(random)));
+            case GET_TASK -> get(taskIds.random(random), TASKS_PATH);
+            case LIST_TASKS -> request(TASKS_PATH + "?limit=" + PAGE_LIMIT).GET().build();
+            case UPDATE_TASK -> put(taskIds.random(random), TASKS_PATH, newTask(random, randomSeededCategoryName(random)));
+            case DELETE_TASK -> delete(taskIds.removeRandom(random), TASKS_PATH);
+            case CREATE_CATEGORY -> post(CATEGORIES_PATH, new TaskCategoryRequestModel(newName(), "Created by the load test"));
+            case GET_CATEGORY -> get(categoryIds.random(random), CATEGORIES_PATH);
+            case LIST_CATEGORIES -> request(CATEGORIES_PATH + "?limit=" + PAGE_LIMIT).GET().build();
+            case UPDATE_CATEGORY -> put(emptyCategoryIds.random(random), CATEGORIES_PATH, new TaskCategoryRequestModel(newName(), "Updated by the load test"));
+            case DELETE_CATEGORY -> delete(emptyCategoryIds.removeRandom(random), CATEGORIES_PATH);
+        };
+    }
+
+    /**
+     * Registers the entities created by a successful request.
+     */
+    void onSuccess(final Operation operation, final HttpResponse<String> response) {
+        if (operation != Operation.CREATE_TASK && operation != Operation.CREATE_CATEGORY) {
+            return;
+        }
+
+        final long id;
+        try {
+            id = objectMapper.readTree(response.body()).get("id").asLong();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (operation == Operation.CREATE_TASK) {
+            taskIds.add(id);
+        } else {
+            categoryIds.add(id);
+            emptyCategoryIds.add(id);
+        }
+    }
+
+    private String send(final HttpRequest request) throws IOException, InterruptedException {
+        final var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IOException("Seeding failed with status " + response.statusCode() + ": " + response.body());
+        }
+
+        return response.body();
+    }
+
+    private TaskRequestModel newTask(final Random random, final String categoryName) {
+        final var deadline = LocalDateTime.now().plusMinutes(random.nextInt(60 * 24 * 30));
+        return new TaskRequestModel(newName(), "A task of the load test", deadline, new TaskCategoryRequestModel(categoryName, null));
+    }
+
+    private String randomSeededCategoryName(final Random random) {
+        return seededCategoryNames.get(random.nextInt(seededCategoryNames.size()));
+    }
+
+    private String newName() {
+        return "load-test-" + nameSequence.incrementAndGet();
+    }
+
+    private HttpRequest get(final Long id, final String path) {
+        return id == null ? null : request(path + "/" + id).GET().build();
+    }
+
+    private HttpRequest post(final String path, final Object body) {
+        return request(path).header("Content-Type", "application/json").POST(json(body)).build();
+    }
+
+    private HttpRequest put(final Long id, final String path, final Object body) {
+        return id == null ? null : request(path + "/" + id).header("Content-Type", "application/json").PUT(json(body)).build();
+    }
+
+    private HttpRequest delete(final Long id, final String path) {
+        return id == null ? null : request(path + "/" + id).DELETE().build();
+    }
+
+    private HttpRequest.Builder request(final String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private HttpRequest.BodyPublisher json(final Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ch.cern.todo.api.conditional;
+
+import ch.cern.todo.core.Task;
+import ch.cern.todo.core.TaskCategory;
+
+import java.util.List;
+
+/**
+ * Derives entity tags from the {@code @Version} columns, so that they can be compared without mapping or serializing
+ * the response.
+ * <p>
+ * A task is rendered together with its category, so its tag is {@code "<task version>.<category version>"}; a renamed
+ * category therefore changes the tag of its tasks as well. {@code If-Match} is only checked against the version of the
+ * entity that is written, i.e. the part before the dot.
+ */
+public final class EntityTags {
+    private static final String INVALID_ENTITY_TAG = "The entity tag is invalid.";
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final char QUOTE = '"';
+    private static final char SEPARATOR = '.';
+
+    private EntityTags() {
+
+    }
+
+    public static String of(final Task task) {
+        return QUOTE + Long.toString(task.getVersion()) + SEPARATOR + task.getCategory().getVersion() + QUOTE;
+    }
+
+    public static String of(final TaskCategory taskCategory) {
+        return QUOTE + Long.toString(taskCategory.getVersion()) + QUOTE;
+    }
+
+    /**
+     * Returns a weak tag for a page of task categories, which changes whenever an item is added, removed or updated.
+     */
+    public static String ofPage(final List<TaskCategory> taskCategories) {
+        var hash = 1L;
+        for (final var taskCategory : taskCategories) {
+            hash = 31 * hash + taskCategory.getId();
+            hash = 31 * hash + taskCategory.getVersion();
+        }
+
+        return WEAK_PREFIX + QUOTE + Long.toHexString(hash) + QUOTE;
+    }
+
+    /**
+     * Returns the version an {@code If-Match} header requires, or {@code null} if the header is absent or {@code *}.
+     */
+    public static Long resolveExpectedVersion(final String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals(ANY)) {
+            return null;
+        }
+
+        final var entityTag = ifMatch.trim();
+        if (entityTag.length() < 2 || entityTag.charAt(0) != QUOTE || entityTag.charAt(entityTag.length() - 1) != QUOTE) {
+            throw new IllegalArgumentException(INVALID_ENTITY_TAG);
+        }
+
+        final var value = entityTag.substring(1, entityTag.length() - 1);
+        final var separator = value.indexOf(SEPARATOR);
+        try {
+            return Long.parseLong(separator < 0 ? value : value.substring(0, separator));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(INVALID_ENTITY_TAG, e);
+        }
+    }
+}
@@ -1,22 +1,33 @@
 package ch.cern.todo.api.controllers;
 
+import ch.cern.todo.api.conditional.EntityTags;
+import ch.cern.todo.api.models.PageResponseModel;
 import ch.cern.todo.api.models.TaskCategoryRequestModel;
 import ch.cern.todo.api.models.TaskCategoryResponseModel;
+import ch.cern.todo.api.models.TaskReassignmentResponseModel;
+import ch.cern.todo.api.pagination.PageCursor;
+import ch.cern.todo.api.pagination.Pagination;
 import ch.cern.todo.core.TaskCategory;
 import ch.cern.todo.mappers.TaskCategoryMapper;
 import ch.cern.todo.services.TaskCategoryService;
 import ch.cern.todo.services.exceptions.DuplicateTaskCategoryNameException;
+import ch.cern.todo.services.exceptions.StaleVersionException;
 import ch.cern.todo.services.exceptions.TaskCategoryNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/tasks/categories")
+@Profile("!reactive")
 public class TaskCategoryController {
+    private static final String TASK_CATEGORY_STILL_IN_USE = "The task category got new tasks while it was merged, retry the merge.";
 
     private final TaskCategoryService taskCategoryService;
 
@@ -45,7 +56,7 @@ public class TaskCategoryController {
     }
 
     @GetMapping("/{id}")
-    public TaskCategoryResponseModel getTaskCategory(@PathVariable Long id) {
+    public TaskCategoryResponseModel getTaskCategory(@PathVariable Long id, WebRequest request) {
         final TaskCategory taskCategory;
         try {
             taskCategory = taskCategoryService.getTaskCategoryById(id);
@@ -53,34 +64,87 @@ public class TaskCategoryController {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
         }
 
+        if (request.checkNotModified(EntityTags.of(taskCategory))) {
+            return null;
+        }
+
         return taskCategoryMapper.mapToTaskCategoryResponseModel(taskCategory);
     }
 
     @GetMapping
-    public List<TaskCategoryResponseModel> getTaskCategories() {
-        final var taskCategories = taskCategoryService.getTaskCategories();
-        return taskCategories.stream().map(taskCategoryMapper::mapToTaskCategoryResponseModel).toList();
+    public PageResponseModel<TaskCategoryResponseModel> getTaskCategories(@RequestParam(required = false) String after,
+                                                                          @RequestParam(required = false) Integer limit,
+                                                                          WebRequest request) {
+        final long afterId;
+        final int pageLimit;
+        try {
+            afterId = Pagination.resolveAfterId(after);
+            pageLimit = Pagination.resolveLimit(limit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+
+        final var taskCategories = taskCategoryService.getTaskCategories(afterId, pageLimit);
+        if (request.checkNotModified(EntityTags.ofPage(taskCategories))) {
+            return null;
+        }
+
+        final var items = taskCategories.stream().map(taskCategoryMapper::mapToTaskCategoryResponseModel).toList();
+        final var nextCursor = taskCategories.size() < pageLimit ? null : new PageCursor(taskCategories.get(taskCategories.size() - 1).getId()).encode();
+
+        return new PageResponseModel<>(items, nextCursor);
     }
 
     @PutMapping("/{id}")
-    public TaskCategoryResponseModel updateTaskCategory(@PathVariable Long id, @RequestBody TaskCategoryRequestModel taskCategoryRequest) {
+    public ResponseEntity<TaskCategoryResponseModel> updateTaskCategory(@PathVariable Long id,
+                                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                        @RequestBody TaskCategoryRequestModel taskCategoryRequest) {
         final var taskCategory = taskCategoryMapper.mapToTaskCategory(taskCategoryRequest);
         final TaskCategory updatedTaskCategory;
         try {
-            updatedTaskCategory = taskCategoryService.updateTaskCategory(id, taskCategory);
+            updatedTaskCategory = taskCategoryService.updateTaskCategory(id, taskCategory, resolveExpectedVersion(ifMatch));
         } catch (TaskCategoryNotFoundException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        } catch (StaleVersionException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, e.getMessage(), e);
         }
 
-        return taskCategoryMapper.mapToTaskCategoryResponseModel(updatedTaskCategory);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(updatedTaskCategory))
+                .body(taskCategoryMapper.mapToTaskCategoryResponseModel(updatedTaskCategory));
     }
 
     @DeleteMapping("/{id}")
-    public void deleteTaskCategory(@PathVariable Long id) {
+    public void deleteTaskCategory(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            taskCategoryService.deleteTaskCategory(id);
+            taskCategoryService.deleteTaskCategory(id, resolveExpectedVersion(ifMatch));
         } catch (TaskCategoryNotFoundException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        } catch (StaleVersionException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, e.getMessage(), e);
+        }
+    }
+
+    @PostMapping("/{id}/merge-into/{targetId}")
+    public TaskReassignmentResponseModel mergeTaskCategory(@PathVariable Long id, @PathVariable Long targetId,
+                                                           @RequestParam(defaultValue = "true") boolean deleteSource) {
+        try {
+            return new TaskReassignmentResponseModel(taskCategoryService.mergeTaskCategory(id, targetId, deleteSource));
+        } catch (TaskCategoryNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, TASK_CATEGORY_STILL_IN_USE, e);
+        }
+    }
+
+    private static Long resolveExpectedVersion(String ifMatch) {
+        try {
+            return EntityTags.resolveExpectedVersion(ifMatch);
+        } catch (IllegalArgumentException e) {
+            // A tag we never issued cannot match the current one.
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, e.getMessage(), e);
         }
     }
 }
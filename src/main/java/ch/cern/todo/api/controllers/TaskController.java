@@ -1,32 +1,86 @@
 package ch.cern.todo.api.controllers;
 
+import ch.cern.todo.api.conditional.EntityTags;
+import ch.cern.todo.api.models.PageResponseModel;
+import ch.cern.todo.api.models.TaskBatchItemResponseModel;
+import ch.cern.todo.api.models.TaskReassignmentResponseModel;
 import ch.cern.todo.api.models.TaskRequestModel;
 import ch.cern.todo.api.models.TaskResponseModel;
+import ch.cern.todo.api.models.TaskStatisticsResponseModel;
+import ch.cern.todo.api.pagination.PageCursor;
+import ch.cern.todo.api.pagination.Pagination;
 import ch.cern.todo.core.Task;
 import ch.cern.todo.mappers.TaskMapper;
+import ch.cern.todo.repositories.TaskField;
+import ch.cern.todo.repositories.TaskFilter;
+import ch.cern.todo.repositories.TaskQuery;
+import ch.cern.todo.repositories.TaskSort;
+import ch.cern.todo.services.TaskCategoryService;
 import ch.cern.todo.services.TaskService;
+import ch.cern.todo.services.exceptions.StaleVersionException;
 import ch.cern.todo.services.exceptions.TaskCategoryNotFoundException;
 import ch.cern.todo.services.exceptions.TaskNotFoundException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/tasks")
+@Profile("!reactive")
 public class TaskController {
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final String BATCH_TOO_LARGE = "A batch cannot contain more than " + MAX_BATCH_SIZE + " tasks.";
+    private static final String SORT_BY_ID = "id";
+    private static final String SORT_BY_DEADLINE = "deadline";
+    private static final String UNKNOWN_SORT = "Tasks can only be sorted by 'id' or 'deadline'.";
+    private static final String CURSOR_DOES_NOT_MATCH_SORT = "The cursor does not belong to the requested sort order.";
+    private static final String FIELDS = "fields";
+    private static final String SEARCH_QUERY_CANNOT_BE_BLANK = "The search query cannot be blank.";
 
     private final TaskService taskService;
 
+    private final TaskCategoryService taskCategoryService;
+
     private final TaskMapper taskMapper;
 
+    private final ObjectMapper objectMapper;
+
+    private final Duration exportTimeout;
 
     @Autowired
-    public TaskController(TaskService taskService, TaskMapper taskMapper) {
+    public TaskController(TaskService taskService, TaskCategoryService taskCategoryService, TaskMapper taskMapper, ObjectMapper objectMapper,
+                          @Value("${todo.export.timeout:PT1H}") Duration exportTimeout) {
         this.taskService = taskService;
+        this.taskCategoryService = taskCategoryService;
         this.taskMapper = taskMapper;
+        this.objectMapper = objectMapper;
+        this.exportTimeout = exportTimeout;
     }
 
     @PostMapping
@@ -40,8 +94,38 @@ public class TaskController {
         }
     }
 
+    @PostMapping("/batch")
+    public List<TaskBatchItemResponseModel> createTasks(@RequestBody List<TaskRequestModel> taskRequests) {
+        if (taskRequests.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, BATCH_TOO_LARGE);
+        }
+
+        final var responses = new ArrayList<TaskBatchItemResponseModel>(Collections.nCopies(taskRequests.size(), null));
+        final var tasks = new ArrayList<Task>(taskRequests.size());
+        final var taskPositions = new ArrayList<Integer>(taskRequests.size());
+        for (var i = 0; i < taskRequests.size(); i++) {
+            try {
+                tasks.add(taskMapper.mapToTask(taskRequests.get(i)));
+                taskPositions.add(i);
+            } catch (IllegalArgumentException e) {
+                responses.set(i, new TaskBatchItemResponseModel(null, e.getMessage()));
+            }
+        }
+
+        final var results = taskService.createTasks(tasks);
+        for (var i = 0; i < results.size(); i++) {
+            final var result = results.get(i);
+            final var response = result.isCreated()
+                    ? new TaskBatchItemResponseModel(taskMapper.mapToTaskResponse(result.getTask()), null)
+                    : new TaskBatchItemResponseModel(null, result.getError().getMessage());
+            responses.set(taskPositions.get(i), response);
+        }
+
+        return responses;
+    }
+
     @GetMapping("/{id}")
-    public TaskResponseModel getTask(@PathVariable Long id) {
+    public TaskResponseModel getTask(@PathVariable Long id, WebRequest request) {
         final Task task;
         try {
             task = taskService.getTaskById(id);
@@ -49,34 +133,229 @@ public class TaskController {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
         }
 
+        if (request.checkNotModified(EntityTags.of(task))) {
+            return null;
+        }
+
         return taskMapper.mapToTaskResponse(task);
     }
 
     @GetMapping
-    public List<TaskResponseModel> getTasks() {
-        final var tasks = taskService.getTasks();
-        return tasks.stream().map(taskMapper::mapToTaskResponse).toList();
+    public PageResponseModel<TaskResponseModel> getTasks(@RequestParam(required = false) String after,
+                                                         @RequestParam(required = false) Integer limit,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueAfter,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueBefore,
+                                                         @RequestParam(required = false) String category,
+                                                         @RequestParam(required = false) String sort) {
+        final var query = resolveTaskQuery(after, limit, dueAfter, dueBefore, category, sort);
+        final var tasks = taskService.getTasks(query);
+        final var items = tasks.stream().map(taskMapper::mapToTaskResponse).toList();
+
+        String nextCursor = null;
+        if (tasks.size() == query.getLimit()) {
+            final var lastTask = tasks.get(tasks.size() - 1);
+            final var lastDeadline = query.getSort() == TaskSort.DEADLINE ? lastTask.getDeadline() : null;
+            nextCursor = new PageCursor(lastTask.getId(), lastDeadline).encode();
+        }
+
+        return new PageResponseModel<>(items, nextCursor);
+    }
+
+    /**
+     * Returns the same page as {@link #getTasks}, but reads and returns only the requested fields, e.g.
+     * {@code fields=id,name,category.name}.
+     */
+    @GetMapping(params = FIELDS)
+    public PageResponseModel<Map<String, Object>> getTaskFields(@RequestParam(required = false) String after,
+                                                                @RequestParam(required = false) Integer limit,
+                                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueAfter,
+                                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueBefore,
+                                                                @RequestParam(required = false) String category,
+                                                                @RequestParam(required = false) String sort,
+                                                                @RequestParam(FIELDS) String fields) {
+        final var taskFields = resolveTaskFields(fields);
+        final var query = resolveTaskQuery(after, limit, dueAfter, dueBefore, category, sort);
+        final var tasks = taskService.getTasks(query, taskFields);
+        final var items = tasks.stream().map(task -> taskMapper.mapToTaskFieldsResponse(task, taskFields)).toList();
+
+        String nextCursor = null;
+        if (tasks.size() == query.getLimit()) {
+            final var lastTask = tasks.get(tasks.size() - 1);
+            final var lastDeadline = query.getSort() == TaskSort.DEADLINE ? lastTask.getDeadline() : null;
+            nextCursor = new PageCursor(lastTask.getId(), lastDeadline).encode();
+        }
+
+        return new PageResponseModel<>(items, nextCursor);
+    }
+
+    private TaskQuery resolveTaskQuery(String after, Integer limit, LocalDateTime dueAfter, LocalDateTime dueBefore, String category, String sort) {
+        try {
+            final var filter = new TaskFilter(dueAfter, dueBefore, resolveTaskCategoryId(category));
+            return resolveTaskQuery(filter, after, limit, sort);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (TaskCategoryNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        }
+    }
+
+    private static Set<TaskField> resolveTaskFields(String fields) {
+        try {
+            return TaskField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    private Long resolveTaskCategoryId(String category) throws TaskCategoryNotFoundException {
+        if (category == null) {
+            return null;
+        }
+
+        return taskCategoryService.getTaskCategoryByName(category).getId();
+    }
+
+    private static TaskQuery resolveTaskQuery(TaskFilter filter, String after, Integer limit, String sort) {
+        final TaskSort taskSort;
+        if (sort == null || sort.equals(SORT_BY_ID)) {
+            taskSort = TaskSort.ID;
+        } else if (sort.equals(SORT_BY_DEADLINE)) {
+            taskSort = TaskSort.DEADLINE;
+        } else {
+            throw new IllegalArgumentException(UNKNOWN_SORT);
+        }
+
+        final var pageLimit = Pagination.resolveLimit(limit);
+        if (after == null || after.isBlank()) {
+            return new TaskQuery(filter, taskSort, 0, null, pageLimit);
+        }
+
+        final var cursor = PageCursor.decode(after);
+        if ((taskSort == TaskSort.DEADLINE) != (cursor.getDeadline() != null)) {
+            throw new IllegalArgumentException(CURSOR_DOES_NOT_MATCH_SORT);
+        }
+
+        return new TaskQuery(filter, taskSort, cursor.getId(), cursor.getDeadline(), pageLimit);
+    }
+
+    @GetMapping("/search")
+    public List<TaskResponseModel> searchTasks(@RequestParam("q") String query, @RequestParam(required = false) Integer limit) {
+        if (query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, SEARCH_QUERY_CANNOT_BE_BLANK);
+        }
+
+        final int resultLimit;
+        try {
+            resultLimit = Pagination.resolveLimit(limit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+
+        return taskService.searchTasks(query, resultLimit).stream().map(taskMapper::mapToTaskResponse).toList();
+    }
+
+    @GetMapping(value = "/search", params = FIELDS)
+    public List<Map<String, Object>> searchTaskFields(@RequestParam("q") String query, @RequestParam(required = false) Integer limit,
+                                                      @RequestParam(FIELDS) String fields) {
+        if (query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, SEARCH_QUERY_CANNOT_BE_BLANK);
+        }
+
+        final var taskFields = resolveTaskFields(fields);
+        final int resultLimit;
+        try {
+            resultLimit = Pagination.resolveLimit(limit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+
+        return taskService.searchTasks(query, resultLimit, taskFields).stream()
+                .map(task -> taskMapper.mapToTaskFieldsResponse(task, taskFields))
+                .toList();
+    }
+
+    @GetMapping("/stats")
+    public TaskStatisticsResponseModel getTaskStatistics() {
+        final var statistics = taskService.getTaskStatistics();
+        return new TaskStatisticsResponseModel(statistics.getToday(), statistics.getTotalTasks(), statistics.getTasksPerCategory(),
+                statistics.getOverdueTasks(), statistics.getTasksDueToday(), statistics.getTasksDueThisWeek());
+    }
+
+    /**
+     * Streams every task. Writing them all takes far longer than the default timeout of async requests, so the export
+     * replaces the async request the handler adapter prepared with one that has a timeout of its own.
+     */
+    @GetMapping(value = "/export", produces = NDJSON_MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportTasks(HttpServletRequest request, HttpServletResponse response) {
+        final var asyncWebRequest = WebAsyncUtils.createAsyncWebRequest(request, response);
+        asyncWebRequest.setTimeout(exportTimeout.toMillis());
+        WebAsyncUtils.getAsyncManager(request).setAsyncWebRequest(asyncWebRequest);
+
+        final StreamingResponseBody body = outputStream -> {
+            final var writer = objectMapper.writerFor(TaskResponseModel.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try (final var generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                taskService.exportTasks(task -> {
+                    try {
+                        writer.writeValue(generator, taskMapper.mapToTaskResponse(task));
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE)).body(body);
+    }
+
+    @PostMapping("/move-to/{categoryId}")
+    public TaskReassignmentResponseModel moveTasksToCategory(@PathVariable Long categoryId,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueAfter,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueBefore,
+                                                             @RequestParam(required = false) String category) {
+        try {
+            final var filter = new TaskFilter(dueAfter, dueBefore, resolveTaskCategoryId(category));
+            return new TaskReassignmentResponseModel(taskService.moveTasksToCategory(filter, categoryId));
+        } catch (TaskCategoryNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        }
     }
 
     @PutMapping("/{id}")
-    public TaskResponseModel updateTask(@PathVariable Long id, @RequestBody TaskRequestModel taskRequest) {
+    public ResponseEntity<TaskResponseModel> updateTask(@PathVariable Long id,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                        @RequestBody TaskRequestModel taskRequest) {
         final var task = taskMapper.mapToTask(taskRequest);
         final Task updatedTask;
         try {
-            updatedTask = taskService.updateTask(id, task);
+            updatedTask = taskService.updateTask(id, task, resolveExpectedVersion(ifMatch));
         } catch (TaskNotFoundException | TaskCategoryNotFoundException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        } catch (StaleVersionException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, e.getMessage(), e);
         }
 
-        return taskMapper.mapToTaskResponse(updatedTask);
+        return ResponseEntity.ok().eTag(EntityTags.of(updatedTask)).body(taskMapper.mapToTaskResponse(updatedTask));
     }
 
     @DeleteMapping("/{id}")
-    public void deleteTask(@PathVariable Long id) {
+    public void deleteTask(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            taskService.deleteTask(id);
+            taskService.deleteTask(id, resolveExpectedVersion(ifMatch));
         } catch (TaskNotFoundException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        } catch (StaleVersionException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, e.getMessage(), e);
+        }
+    }
+
+    private static Long resolveExpectedVersion(String ifMatch) {
+        try {
+            return EntityTags.resolveExpectedVersion(ifMatch);
+        } catch (IllegalArgumentException e) {
+            // A tag we never issued cannot match the current one.
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, e.getMessage(), e);
         }
     }
 }
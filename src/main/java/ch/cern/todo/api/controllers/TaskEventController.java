@@ -0,0 +1,34 @@
+package ch.cern.todo.api.controllers;
+
+import ch.cern.todo.api.events.ChangeFeedSubscriptions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/tasks/events")
+@Profile("!reactive")
+public class TaskEventController {
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final ChangeFeedSubscriptions changeFeedSubscriptions;
+
+    @Autowired
+    public TaskEventController(ChangeFeedSubscriptions changeFeedSubscriptions) {
+        this.changeFeedSubscriptions = changeFeedSubscriptions;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void streamEvents(HttpServletRequest request, HttpServletResponse response,
+                             @RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId) throws IOException {
+        changeFeedSubscriptions.subscribe(request, response, lastEventId);
+    }
+}
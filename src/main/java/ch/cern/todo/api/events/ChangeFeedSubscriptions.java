@@ -0,0 +1,328 @@
+package ch.cern.todo.api.events;
+
+import ch.cern.todo.changes.ChangeEvent;
+import ch.cern.todo.changes.ChangeFeed;
+import ch.cern.todo.changes.ChangeRingBuffer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Streams the {@link ChangeFeed} to Server-Sent Events clients.
+ * <p>
+ * Events are written with the non-blocking I/O of the servlet container: a subscription only writes while its output
+ * stream is ready and otherwise leaves the rest to {@link WriteListener#onWritePossible()}, which the container calls
+ * once the client read enough. No thread ever waits for a client, so an idle or slow subscription holds no thread and
+ * a single fan-out thread serves all of them. A commit only schedules one fan-out, never writes itself.
+ * <p>
+ * A client that has not let a write through for longer than {@code todo.change-feed.send-timeout} is dropped by
+ * completing its request, which makes the container close the connection.
+ * <p>
+ * A client that falls further behind than the feed holds, or resumes from an id the feed does not know, gets a
+ * {@code reset} event and should reload what it shows.
+ */
+@Component
+@Profile("!reactive")
+public class ChangeFeedSubscriptions {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangeFeedSubscriptions.class);
+    private static final int DRAIN_BATCH_SIZE = 256;
+    private static final String RESET_EVENT = "reset";
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+    // A stream stays open until the client leaves; heartbeats and the send timeout detect clients that went away.
+    private static final long NO_TIMEOUT = 0;
+
+    private final ChangeFeed changeFeed;
+
+    private final ObjectMapper objectMapper;
+
+    private final Executor executor;
+
+    private final long sendTimeoutNanos;
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean fanOutScheduled = new AtomicBoolean();
+
+    @Autowired
+    public ChangeFeedSubscriptions(ChangeFeed changeFeed, ObjectMapper objectMapper,
+                                   @Value("${todo.change-feed.send-timeout:PT10S}") Duration sendTimeout) {
+        this(changeFeed, objectMapper, sendTimeout, Executors.newSingleThreadExecutor(new CustomizableThreadFactory("change-feed-")));
+    }
+
+    ChangeFeedSubscriptions(ChangeFeed changeFeed, ObjectMapper objectMapper, Duration sendTimeout, Executor executor) {
+        this.changeFeed = changeFeed;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        changeFeed.addListener(this::scheduleFanOut);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+
+        subscriptions.forEach(Subscription::close);
+    }
+
+    /**
+     * Puts the request into asynchronous mode and streams the changes after the given event id to it, or the changes
+     * from now on if it is {@code null}.
+     */
+    public void subscribe(HttpServletRequest request, HttpServletResponse response, String lastEventId) throws IOException {
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+
+        final long lastSequence;
+        final boolean resetPending;
+        if (lastEventId == null || lastEventId.isBlank()) {
+            lastSequence = changeFeed.lastSequence();
+            resetPending = false;
+        } else {
+            final var sequence = changeFeed.resolveSequence(lastEventId);
+            lastSequence = sequence < 0 ? changeFeed.lastSequence() : sequence;
+            resetPending = sequence < 0;
+        }
+
+        final var asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(NO_TIMEOUT);
+        final var subscription = new Subscription(asyncContext, response.getOutputStream(), lastSequence, resetPending);
+        asyncContext.addListener(subscription);
+
+        // The container calls onWritePossible once the stream is ready, which sends the backlog or the reset, and
+        // changes appended in between are read from the feed then.
+        subscription.outputStream.setWriteListener(subscription);
+        subscriptions.add(subscription);
+    }
+
+    public int size() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Keeps idle connections from being closed by proxies and detects clients that went away.
+     */
+    @Scheduled(fixedRateString = "${todo.change-feed.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        subscriptions.forEach(subscription -> subscription.heartbeatPending = true);
+        scheduleFanOut();
+    }
+
+    /**
+     * Drops the clients whose output stream has not been ready for longer than the send timeout.
+     */
+    @Scheduled(fixedDelayString = "${todo.change-feed.send-timeout-check-interval:PT1S}")
+    public void closeStalledSubscriptions() {
+        final var deadline = System.nanoTime() - sendTimeoutNanos;
+        subscriptions.forEach(subscription -> subscription.closeIfBlockedSince(deadline));
+    }
+
+    /**
+     * Runs on the committing thread, so it only hands the fan-out to the fan-out thread unless one is already pending.
+     */
+    private void scheduleFanOut() {
+        if (fanOutScheduled.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                fanOutScheduled.set(false);
+                subscriptions.forEach(Subscription::drain);
+            });
+        }
+    }
+
+    private byte[] frame(String id, String name, Object data) throws IOException {
+        final var frame = new ByteArrayOutputStream();
+        frame.write(("id:" + id + "\nevent:" + name + "\ndata:").getBytes(StandardCharsets.UTF_8));
+        // JSON escapes line breaks within strings and is written without indentation, so the data takes one line.
+        if (data != null) {
+            frame.write(objectMapper.writeValueAsBytes(data));
+        }
+        frame.write("\n\n".getBytes(StandardCharsets.UTF_8));
+        return frame.toByteArray();
+    }
+
+    private final class Subscription implements WriteListener, AsyncListener {
+
+        private final AsyncContext asyncContext;
+
+        private final ServletOutputStream outputStream;
+
+        private final ArrayDeque<ChangeRingBuffer.Entry<ChangeEvent>> changes = new ArrayDeque<>();
+
+        private long lastSequence;
+
+        private boolean resetPending;
+
+        private volatile boolean heartbeatPending;
+
+        private boolean flushPending;
+
+        private boolean writeBlocked;
+
+        private long writeBlockedSince;
+
+        private boolean closed;
+
+        private Subscription(AsyncContext asyncContext, ServletOutputStream outputStream, long lastSequence, boolean resetPending) {
+            this.asyncContext = asyncContext;
+            this.outputStream = outputStream;
+            this.lastSequence = lastSequence;
+            this.resetPending = resetPending;
+            // Commits the response right away, so the client sees the stream open before the first event.
+            this.flushPending = true;
+        }
+
+        /**
+         * Writes pending events for as long as the output stream accepts them without blocking.
+         */
+        private synchronized void drain() {
+            if (closed) {
+                return;
+            }
+
+            try {
+                while (outputStream.isReady()) {
+                    writeBlocked = false;
+                    final var frame = nextFrame();
+                    if (frame != null) {
+                        outputStream.write(frame);
+                        flushPending = true;
+                    } else if (flushPending) {
+                        flushPending = false;
+                        outputStream.flush();
+                    } else {
+                        return;
+                    }
+                }
+
+                if (!writeBlocked) {
+                    writeBlocked = true;
+                    writeBlockedSince = System.nanoTime();
+                }
+            } catch (IOException | IllegalStateException e) {
+                LOGGER.debug("Closing a change feed subscription", e);
+                close();
+            }
+        }
+
+        /**
+         * Returns the next event to write, or {@code null} if there is none.
+         */
+        private byte[] nextFrame() throws IOException {
+            if (resetPending) {
+                resetPending = false;
+                return frame(changeFeed.eventId(lastSequence), RESET_EVENT, null);
+            }
+
+            if (changes.isEmpty() && lastSequence < changeFeed.lastSequence()) {
+                final var nextChanges = changeFeed.readAfter(lastSequence, DRAIN_BATCH_SIZE);
+                if (nextChanges == null) {
+                    lastSequence = changeFeed.lastSequence();
+                    return frame(changeFeed.eventId(lastSequence), RESET_EVENT, null);
+                }
+
+                // Empty if the next change is claimed but not stored yet; its writer schedules another fan-out.
+                changes.addAll(nextChanges);
+            }
+
+            final var change = changes.poll();
+            if (change != null) {
+                lastSequence = change.getSequence();
+                return frame(changeFeed.eventId(change.getSequence()), change.getValue().getType(), change.getValue().getData());
+            }
+
+            if (heartbeatPending) {
+                heartbeatPending = false;
+                return HEARTBEAT;
+            }
+
+            return null;
+        }
+
+        private synchronized void closeIfBlockedSince(long deadline) {
+            if (writeBlocked && writeBlockedSince - deadline <= 0) {
+                LOGGER.debug("Closing a change feed subscription that did not read for {}", Duration.ofNanos(sendTimeoutNanos));
+                close();
+            }
+        }
+
+        private synchronized void close() {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            subscriptions.remove(this);
+            try {
+                asyncContext.complete();
+            } catch (IllegalStateException e) {
+                LOGGER.debug("The change feed subscription was already completed", e);
+            }
+        }
+
+        @Override
+        public void onWritePossible() {
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            LOGGER.debug("Closing a change feed subscription", throwable);
+            close();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            discard();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            discard();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // A subscription is only started once.
+        }
+
+        private synchronized void discard() {
+            closed = true;
+            subscriptions.remove(this);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package ch.cern.todo.api.models;
+
+import java.util.List;
+
+public class PageResponseModel<T> {
+
+    private final List<T> items;
+
+    private final String nextCursor;
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public PageResponseModel(final List<T> items, final String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,21 @@
+package ch.cern.todo.api.models;
+
+public class TaskBatchItemResponseModel {
+
+    private final TaskResponseModel task;
+
+    private final String error;
+
+    public TaskResponseModel getTask() {
+        return task;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public TaskBatchItemResponseModel(final TaskResponseModel task, final String error) {
+        this.task = task;
+        this.error = error;
+    }
+}
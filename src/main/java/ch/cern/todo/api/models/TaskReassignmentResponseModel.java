@@ -0,0 +1,14 @@
+package ch.cern.todo.api.models;
+
+public class TaskReassignmentResponseModel {
+
+    private final int movedTasks;
+
+    public int getMovedTasks() {
+        return movedTasks;
+    }
+
+    public TaskReassignmentResponseModel(final int movedTasks) {
+        this.movedTasks = movedTasks;
+    }
+}
@@ -0,0 +1,53 @@
+package ch.cern.todo.api.models;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public class TaskStatisticsResponseModel {
+
+    private final LocalDate date;
+
+    private final long totalTasks;
+
+    private final Map<Long, Long> tasksPerCategory;
+
+    private final long overdueTasks;
+
+    private final long tasksDueToday;
+
+    private final long tasksDueThisWeek;
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public long getTotalTasks() {
+        return totalTasks;
+    }
+
+    public Map<Long, Long> getTasksPerCategory() {
+        return tasksPerCategory;
+    }
+
+    public long getOverdueTasks() {
+        return overdueTasks;
+    }
+
+    public long getTasksDueToday() {
+        return tasksDueToday;
+    }
+
+    public long getTasksDueThisWeek() {
+        return tasksDueThisWeek;
+    }
+
+    public TaskStatisticsResponseModel(final LocalDate date, final long totalTasks, final Map<Long, Long> tasksPerCategory,
+                                       final long overdueTasks, final long tasksDueToday, final long tasksDueThisWeek) {
+        this.date = date;
+        this.totalTasks = totalTasks;
+        this.tasksPerCategory = tasksPerCategory;
+        this.overdueTasks = overdueTasks;
+        this.tasksDueToday = tasksDueToday;
+        this.tasksDueThisWeek = tasksDueThisWeek;
+    }
+}
@@ -0,0 +1,68 @@
+package ch.cern.todo.api.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor handed out as {@code nextCursor} and accepted back as {@code after}.
+ * The client must not interpret the token; it only encodes the sort key of the last item of a page,
+ * i.e. the id and, for pages sorted by deadline, the deadline.
+ */
+public final class PageCursor {
+    private static final String INVALID_CURSOR = "The cursor is invalid.";
+    private static final String VERSION_PREFIX = "v1:";
+    private static final String SEPARATOR = "|";
+
+    private final long id;
+
+    private final LocalDateTime deadline;
+
+    public long getId() {
+        return id;
+    }
+
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    public PageCursor(final long id) {
+        this(id, null);
+    }
+
+    public PageCursor(final long id, final LocalDateTime deadline) {
+        this.id = id;
+        this.deadline = deadline;
+    }
+
+    public String encode() {
+        final var plain = VERSION_PREFIX + id + (deadline == null ? "" : SEPARATOR + deadline);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(final String token) {
+        final String plain;
+        try {
+            plain = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR, e);
+        }
+
+        if (!plain.startsWith(VERSION_PREFIX)) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+
+        final var key = plain.substring(VERSION_PREFIX.length());
+        final var separatorIndex = key.indexOf(SEPARATOR);
+        try {
+            if (separatorIndex < 0) {
+                return new PageCursor(Long.parseLong(key));
+            }
+
+            return new PageCursor(Long.parseLong(key.substring(0, separatorIndex)), LocalDateTime.parse(key.substring(separatorIndex + 1)));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR, e);
+        }
+    }
+}
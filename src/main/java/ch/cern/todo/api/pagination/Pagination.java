@@ -0,0 +1,38 @@
+package ch.cern.todo.api.pagination;
+
+public final class Pagination {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private static final String LIMIT_MUST_BE_POSITIVE = "The limit must be a positive number.";
+
+    private Pagination() {
+
+    }
+
+    /**
+     * Resolves the requested page size, falling back to {@link #DEFAULT_LIMIT} and capping at {@link #MAX_LIMIT}.
+     */
+    public static int resolveLimit(final Integer requestedLimit) {
+        if (requestedLimit == null) {
+            return DEFAULT_LIMIT;
+        }
+
+        if (requestedLimit < 1) {
+            throw new IllegalArgumentException(LIMIT_MUST_BE_POSITIVE);
+        }
+
+        return Math.min(requestedLimit, MAX_LIMIT);
+    }
+
+    /**
+     * Returns the id after which the next page starts, i.e. 0 for the first page.
+     */
+    public static long resolveAfterId(final String after) {
+        if (after == null || after.isBlank()) {
+            return 0;
+        }
+
+        return PageCursor.decode(after).getId();
+    }
+}
@@ -0,0 +1,61 @@
+package ch.cern.todo.api.reactive;
+
+import ch.cern.todo.api.models.PageResponseModel;
+import ch.cern.todo.api.models.TaskCategoryResponseModel;
+import ch.cern.todo.api.pagination.PageCursor;
+import ch.cern.todo.api.pagination.Pagination;
+import ch.cern.todo.mappers.TaskCategoryMapper;
+import ch.cern.todo.services.exceptions.TaskCategoryNotFoundException;
+import ch.cern.todo.services.reactive.ReactiveTaskCategoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only, non-blocking variant of {@link ch.cern.todo.api.controllers.TaskCategoryController} for the
+ * {@code reactive} profile.
+ */
+@RestController
+@RequestMapping("/api/tasks/categories")
+@Profile("reactive")
+public class ReactiveTaskCategoryController {
+
+    private final ReactiveTaskCategoryService taskCategoryService;
+
+    private final TaskCategoryMapper taskCategoryMapper;
+
+    @Autowired
+    public ReactiveTaskCategoryController(ReactiveTaskCategoryService taskCategoryService, TaskCategoryMapper taskCategoryMapper) {
+        this.taskCategoryService = taskCategoryService;
+        this.taskCategoryMapper = taskCategoryMapper;
+    }
+
+    @GetMapping("/{id}")
+    public Mono<TaskCategoryResponseModel> getTaskCategory(@PathVariable Long id) {
+        return taskCategoryService.getTaskCategoryById(id)
+                .map(taskCategoryMapper::mapToTaskCategoryResponseModel)
+                .onErrorMap(TaskCategoryNotFoundException.class, e -> new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e));
+    }
+
+    @GetMapping
+    public Mono<PageResponseModel<TaskCategoryResponseModel>> getTaskCategories(@RequestParam(required = false) String after,
+                                                                                @RequestParam(required = false) Integer limit) {
+        final long afterId;
+        final int pageLimit;
+        try {
+            afterId = Pagination.resolveAfterId(after);
+            pageLimit = Pagination.resolveLimit(limit);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e));
+        }
+
+        return taskCategoryService.getTaskCategories(afterId, pageLimit).collectList().map(taskCategories -> {
+            final var items = taskCategories.stream().map(taskCategoryMapper::mapToTaskCategoryResponseModel).toList();
+            final var nextCursor = taskCategories.size() < pageLimit ? null : new PageCursor(taskCategories.get(taskCategories.size() - 1).getId()).encode();
+            return new PageResponseModel<>(items, nextCursor);
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package ch.cern.todo.api.reactive;
+
+import ch.cern.todo.api.models.PageResponseModel;
+import ch.cern.todo.api.models.TaskResponseModel;
+import ch.cern.todo.api.pagination.PageCursor;
+import ch.cern.todo.api.pagination.Pagination;
+import ch.cern.todo.mappers.TaskMapper;
+import ch.cern.todo.services.exceptions.TaskNotFoundException;
+import ch.cern.todo.services.reactive.ReactiveTaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only, non-blocking variant of {@link ch.cern.todo.api.controllers.TaskController} for the {@code reactive} profile.
+ */
+@RestController
+@RequestMapping("/api/tasks")
+@Profile("reactive")
+public class ReactiveTaskController {
+
+    private final ReactiveTaskService taskService;
+
+    private final TaskMapper taskMapper;
+
+    @Autowired
+    public ReactiveTaskController(ReactiveTaskService taskService, TaskMapper taskMapper) {
+        this.taskService = taskService;
+        this.taskMapper = taskMapper;
+    }
+
+    @GetMapping("/{id}")
+    public Mono<TaskResponseModel> getTask(@PathVariable Long id) {
+        return taskService.getTaskById(id)
+                .map(taskMapper::mapToTaskResponse)
+                .onErrorMap(TaskNotFoundException.class, e -> new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e));
+    }
+
+    @GetMapping
+    public Mono<PageResponseModel<TaskResponseModel>> getTasks(@RequestParam(required = false) String after, @RequestParam(required = false) Integer limit) {
+        final long afterId;
+        final int pageLimit;
+        try {
+            afterId = Pagination.resolveAfterId(after);
+            pageLimit = Pagination.resolveLimit(limit);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e));
+        }
+
+        return taskService.getTasks(afterId, pageLimit).collectList().map(tasks -> {
+            final var items = tasks.stream().map(taskMapper::mapToTaskResponse).toList();
+            final var nextCursor = tasks.size() < pageLimit ? null : new PageCursor(tasks.get(tasks.size() - 1).getId()).encode();
+            return new PageResponseModel<>(items, nextCursor);
+        });
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskResponseModel> exportTasks() {
+        return taskService.exportTasks().map(taskMapper::mapToTaskResponse);
+    }
+}
@@ -0,0 +1,30 @@
+package ch.cern.todo.changes;
+
+/**
+ * A change of a task or task category as it is sent to clients of the change feed.
+ */
+public final class ChangeEvent {
+
+    private final String type;
+
+    private final Object data;
+
+    /**
+     * The kind of change, e.g. {@code task.updated} or {@code category.deleted}.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * The changed entity after the change, or before it for deletions; serialized as JSON.
+     */
+    public Object getData() {
+        return data;
+    }
+
+    public ChangeEvent(final String type, final Object data) {
+        this.type = type;
+        this.data = data;
+    }
+}
@@ -0,0 +1,99 @@
+package ch.cern.todo.changes;
+
+import ch.cern.todo.services.events.TaskCategoryChangedEvent;
+import ch.cern.todo.services.events.TaskChangedEvent;
+import ch.cern.todo.services.events.TasksReassignedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every committed change of a task or task category in a {@link ChangeRingBuffer}, so clients can follow the
+ * changes and resume after a reconnect as long as they did not miss more than the buffer holds.
+ * <p>
+ * The sequence numbers restart with the application, so event ids carry the start time of the application as well.
+ */
+@Component
+public class ChangeFeed {
+
+    private final ChangeRingBuffer<ChangeEvent> changes;
+
+    private final long epoch = System.currentTimeMillis();
+
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public ChangeFeed(@Value("${todo.change-feed.capacity:4096}") int capacity) {
+        this.changes = new ChangeRingBuffer<>(capacity);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        final var task = event.getType() == TaskChangedEvent.Type.DELETED ? event.getBefore() : event.getAfter();
+        append("task." + event.getType().name().toLowerCase(Locale.ROOT), task);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskCategoryChanged(TaskCategoryChangedEvent event) {
+        append("category." + event.getType().name().toLowerCase(Locale.ROOT), event.getTaskCategory());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksReassigned(TasksReassignedEvent event) {
+        append("tasks.reassigned", event);
+    }
+
+    /**
+     * Registers a callback that runs, on the committing thread, after every appended change. It must not block.
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public long lastSequence() {
+        return changes.lastSequence();
+    }
+
+    /**
+     * Returns up to {@code limit} changes following the given sequence, or {@code null} if some were already dropped.
+     */
+    public List<ChangeRingBuffer.Entry<ChangeEvent>> readAfter(long sequence, int limit) {
+        return changes.readAfter(sequence, limit);
+    }
+
+    public String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * Returns the sequence of an id returned by {@link #eventId(long)}, or -1 if it was not issued by this instance of
+     * the application.
+     */
+    public long resolveSequence(String eventId) {
+        final var separator = eventId.indexOf('-');
+        if (separator < 0) {
+            return -1;
+        }
+
+        try {
+            if (Long.parseLong(eventId.substring(0, separator)) != epoch) {
+                return -1;
+            }
+
+            final var sequence = Long.parseLong(eventId.substring(separator + 1));
+            return sequence >= 0 && sequence <= changes.lastSequence() ? sequence : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void append(String type, Object data) {
+        changes.append(new ChangeEvent(type, data));
+        listeners.forEach(Runnable::run);
+    }
+}
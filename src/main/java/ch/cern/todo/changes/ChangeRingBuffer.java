@@ -0,0 +1,99 @@
+package ch.cern.todo.changes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded buffer of the most recent values, numbered by a sequence that starts at 1. Appending never blocks and
+ * overwrites the oldest value once the buffer is full.
+ * <p>
+ * Writers claim a sequence number and then store their value, so a reader may see a claimed slot before it is filled;
+ * it then stops at that slot and picks the rest up on its next read.
+ */
+public class ChangeRingBuffer<T> {
+
+    private final AtomicReferenceArray<Entry<T>> entries;
+
+    private final int mask;
+
+    private final AtomicLong lastSequence = new AtomicLong();
+
+    /**
+     * @param capacity the number of values kept, a power of two
+     */
+    public ChangeRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The capacity of the ring buffer must be a power of two.");
+        }
+
+        this.entries = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public long append(T value) {
+        final var sequence = lastSequence.incrementAndGet();
+        entries.set(index(sequence), new Entry<>(sequence, value));
+        return sequence;
+    }
+
+    /**
+     * The sequence of the last value claimed by a writer, 0 if nothing was appended yet.
+     */
+    public long lastSequence() {
+        return lastSequence.get();
+    }
+
+    /**
+     * Returns up to {@code limit} values following the given sequence, or {@code null} if some of them were already
+     * overwritten.
+     */
+    public List<Entry<T>> readAfter(long sequence, int limit) {
+        final var last = lastSequence.get();
+        if (sequence < 0 || sequence > last || last - sequence > entries.length()) {
+            return null;
+        }
+
+        final var result = new ArrayList<Entry<T>>((int) Math.min(last - sequence, limit));
+        for (var next = sequence + 1; next <= last && result.size() < limit; next++) {
+            final var entry = entries.get(index(next));
+            if (entry == null || entry.getSequence() < next) {
+                // Claimed, but not stored yet.
+                break;
+            }
+
+            if (entry.getSequence() > next) {
+                return null;
+            }
+
+            result.add(entry);
+        }
+
+        return result;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    public static final class Entry<T> {
+
+        private final long sequence;
+
+        private final T value;
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        private Entry(final long sequence, final T value) {
+            this.sequence = sequence;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package ch.cern.todo.core;
+
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * The response to a request that carried an idempotency key, replayed when the request is retried with the same key.
+ * <p>
+ * The key is assigned, so the entity tells Spring Data whether it is new. Saving a new response then inserts it
+ * right away instead of merging it, and a key that another instance of the application stored first fails on the
+ * primary key instead of being overwritten.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_idempotent_response_created_at", columnList = "createdAt"))
+public class IdempotentResponse implements Persistable<String> {
+    public static final int MAX_KEY_LENGTH = 512;
+
+    @Id
+    @Column(name = "idempotency_key", length = MAX_KEY_LENGTH)
+    private String key;
+
+    /**
+     * Hash of the request body, so a key reused for a different request is detected.
+     */
+    private String requestHash;
+
+    private int status;
+
+    private String contentType;
+
+    @Lob
+    private byte[] body;
+
+    private Instant createdAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+
+    public IdempotentResponse(final String key, final String requestHash, final int status, final String contentType,
+                              final byte[] body, final Instant createdAt) {
+        this.key = key;
+        this.requestHash = requestHash;
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body;
+        this.createdAt = createdAt;
+    }
+
+    public IdempotentResponse() {
+    }
+}
@@ -4,13 +4,18 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_task_deadline", columnList = "deadline"),
+        @Index(name = "idx_task_category_deadline", columnList = "category_id, deadline")
+})
 public class Task {
     private static final String NAME_CANNOT_BE_NULL_OR_BLANK = "The name of a task cannot be null or blank.";
     private static final String DEADLINE_CANNOT_BE_NULL = "The deadline of a task cannot be null.";
     private static final String CATEGORY_CANNOT_BE_NULL = "The category of a task cannot be null.";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private long id;
 
     private String name;
@@ -19,9 +24,12 @@ public class Task {
 
     private LocalDateTime deadline;
 
-    @ManyToOne(cascade = CascadeType.MERGE)
+    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.MERGE)
     private TaskCategory category;
 
+    @Version
+    private long version;
+
     public long getId() {
         return id;
     }
@@ -62,6 +70,14 @@ public class Task {
         this.deadline = deadline;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public TaskCategory getCategory() {
         return category;
     }
@@ -1,9 +1,17 @@
 package ch.cern.todo.core;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TaskCategory.CACHE_REGION)
 public class TaskCategory {
+    public static final String CACHE_REGION = "task-categories";
+    public static final String QUERY_CACHE_REGION = "task-category-queries";
+
     private static final String NAME_CANNOT_BE_NULL_OR_BLANK = "The name of a task category cannot be null or blank.";
 
     @Id
@@ -15,6 +23,9 @@ public class TaskCategory {
 
     private String description;
 
+    @Version
+    private long version;
+
     public long getId() {
         return id;
     }
@@ -43,6 +54,14 @@ public class TaskCategory {
         this.description = description;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public TaskCategory() {
 
     }
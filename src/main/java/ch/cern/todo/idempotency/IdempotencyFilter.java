@@ -0,0 +1,226 @@
+package ch.cern.todo.idempotency;
+
+import ch.cern.todo.core.IdempotentResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes the creation endpoints idempotent for requests with an {@code Idempotency-Key} header.
+ * <p>
+ * The first request with a key is processed and its response is stored; retries with the same key and body get the
+ * stored bytes back without reaching the controller, marked with {@code Idempotent-Replayed: true}. Requests that
+ * arrive while the first one is still in progress wait for its response. Only successful responses are stored, a
+ * request that failed can be retried with the same key. Reusing a key for a different body is rejected with
+ * {@code 422 Unprocessable Entity}.
+ */
+@Component
+@Profile("!reactive")
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private static final Set<String> IDEMPOTENT_PATHS = Set.of("/api/tasks", "/api/tasks/categories");
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String INVALID_KEY = "The idempotency key must not be blank or longer than " + MAX_KEY_LENGTH + " characters.";
+    private static final String KEY_REUSED = "The idempotency key was already used for a different request.";
+    private static final String KEY_IN_PROGRESS = "A request with the same idempotency key is still in progress.";
+
+    private final IdempotencyStore idempotencyStore;
+
+    private final Duration waitTimeout;
+
+    @Autowired
+    public IdempotencyFilter(IdempotencyStore idempotencyStore, @Value("${todo.idempotency.wait-timeout:PT30S}") Duration waitTimeout) {
+        this.idempotencyStore = idempotencyStore;
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY) == null) {
+            return true;
+        }
+
+        return !IDEMPOTENT_PATHS.contains(resolvePath(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        final var idempotencyKey = request.getHeader(IDEMPOTENCY_KEY);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), INVALID_KEY);
+            return;
+        }
+
+        // Keys are scoped to the endpoint, the same key may be used once per endpoint.
+        final var key = resolvePath(request) + " " + idempotencyKey;
+        final var body = request.getInputStream().readAllBytes();
+        final var requestHash = hash(body);
+
+        while (true) {
+            final var storedResponse = idempotencyStore.get(key);
+            if (storedResponse != null) {
+                replay(storedResponse, requestHash, response);
+                return;
+            }
+
+            final var requestInProgress = idempotencyStore.begin(key);
+            if (requestInProgress == null) {
+                process(key, requestHash, new CachedBodyRequest(request, body), response, filterChain);
+                return;
+            }
+
+            final IdempotentResponse completedResponse;
+            try {
+                completedResponse = requestInProgress.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                response.sendError(HttpStatus.CONFLICT.value(), KEY_IN_PROGRESS);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(e);
+            } catch (ExecutionException e) {
+                throw new ServletException(e.getCause());
+            }
+
+            if (completedResponse != null) {
+                replay(completedResponse, requestHash, response);
+                return;
+            }
+
+            // The request in progress failed without a response to replay, so this one gets its own attempt.
+        }
+    }
+
+    private void process(String key, String requestHash, HttpServletRequest request, HttpServletResponse response,
+                         FilterChain filterChain) throws ServletException, IOException {
+        IdempotentResponse idempotentResponse = null;
+        try {
+            // A response may have been stored between the lookup and the start of this request.
+            final var storedResponse = idempotencyStore.get(key);
+            if (storedResponse != null) {
+                replay(storedResponse, requestHash, response);
+                return;
+            }
+
+            final var cachingResponse = new ContentCachingResponseWrapper(response);
+            filterChain.doFilter(request, cachingResponse);
+            final var status = cachingResponse.getStatus();
+            if (status >= 200 && status < 300) {
+                idempotentResponse = idempotencyStore.newResponse(key, requestHash, status,
+                        cachingResponse.getContentType(), cachingResponse.getContentAsByteArray());
+            }
+
+            cachingResponse.copyBodyToResponse();
+        } finally {
+            idempotencyStore.complete(key, idempotentResponse);
+        }
+    }
+
+    private static void replay(IdempotentResponse storedResponse, String requestHash, HttpServletResponse response) throws IOException {
+        if (!storedResponse.getRequestHash().equals(requestHash)) {
+            response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(), KEY_REUSED);
+            return;
+        }
+
+        response.setStatus(storedResponse.getStatus());
+        if (storedResponse.getContentType() != null) {
+            response.setContentType(storedResponse.getContentType());
+        }
+
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        response.setContentLength(storedResponse.getBody().length);
+        response.getOutputStream().write(storedResponse.getBody());
+    }
+
+    private static String resolvePath(HttpServletRequest request) {
+        final var path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    private static String hash(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Serves the body that was read to compute its hash to the rest of the chain.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            final var input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            final var charset = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(charset)));
+        }
+    }
+}
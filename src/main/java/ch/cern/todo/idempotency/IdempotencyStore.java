@@ -0,0 +1,144 @@
+package ch.cern.todo.idempotency;
+
+import ch.cern.todo.core.IdempotentResponse;
+import ch.cern.todo.repositories.IdempotentResponseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Responses to requests with an idempotency key, kept for {@code todo.idempotency.ttl}.
+ * <p>
+ * The most recent responses are kept in a bounded in-memory map, so a replay normally does not touch the database;
+ * all of them are written to a table as well, which serves the replays after an eviction or a restart. Requests that
+ * are in progress are tracked separately, so concurrent requests with the same key can wait for the first one.
+ */
+@Component
+public class IdempotencyStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final IdempotentResponseRepository idempotentResponseRepository;
+
+    private final Clock clock;
+
+    private final Duration ttl;
+
+    private final int maximumSize;
+
+    private final LinkedHashMap<String, IdempotentResponse> responses = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final ConcurrentHashMap<String, CompletableFuture<IdempotentResponse>> requestsInProgress = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IdempotencyStore(IdempotentResponseRepository idempotentResponseRepository,
+                            @Value("${todo.idempotency.ttl:PT24H}") Duration ttl,
+                            @Value("${todo.idempotency.maximum-size:10000}") int maximumSize) {
+        this(idempotentResponseRepository, Clock.systemUTC(), ttl, maximumSize);
+    }
+
+    IdempotencyStore(IdempotentResponseRepository idempotentResponseRepository, Clock clock, Duration ttl, int maximumSize) {
+        this.idempotentResponseRepository = idempotentResponseRepository;
+        this.clock = clock;
+        this.ttl = ttl;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the stored response for the key, or {@code null} if there is none or it expired.
+     */
+    public IdempotentResponse get(String key) {
+        synchronized (responses) {
+            final var response = responses.get(key);
+            if (response != null) {
+                if (!isExpired(response)) {
+                    return response;
+                }
+
+                responses.remove(key);
+                return null;
+            }
+        }
+
+        final var storedResponse = idempotentResponseRepository.findById(key).filter(response -> !isExpired(response)).orElse(null);
+        if (storedResponse != null) {
+            remember(storedResponse);
+        }
+
+        return storedResponse;
+    }
+
+    /**
+     * Marks a request with the key as in progress. Returns {@code null} if the caller is now the only one processing
+     * the key and has to {@link #complete(String, IdempotentResponse)} it, otherwise the future of the request that
+     * is already in progress.
+     */
+    public CompletableFuture<IdempotentResponse> begin(String key) {
+        return requestsInProgress.putIfAbsent(key, new CompletableFuture<>());
+    }
+
+    /**
+     * Stores the response of the request in progress for the key, unless it is {@code null}, and hands it to the
+     * requests that waited for it.
+     */
+    public void complete(String key, IdempotentResponse response) {
+        try {
+            if (response != null) {
+                remember(response);
+                try {
+                    // Flushes right away, so a key stored by another instance fails here and not at some later commit.
+                    idempotentResponseRepository.saveAndFlush(response);
+                } catch (DataIntegrityViolationException e) {
+                    // Another instance of the application stored a response for the key first.
+                    LOGGER.debug("The response for an idempotency key was already stored", e);
+                }
+            }
+        } finally {
+            requestsInProgress.remove(key).complete(response);
+        }
+    }
+
+    public IdempotentResponse newResponse(String key, String requestHash, int status, String contentType, byte[] body) {
+        return new IdempotentResponse(key, requestHash, status, contentType, body, clock.instant());
+    }
+
+    public int size() {
+        synchronized (responses) {
+            return responses.size();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${todo.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        synchronized (responses) {
+            responses.values().removeIf(this::isExpired);
+        }
+
+        final var purged = idempotentResponseRepository.deleteCreatedBefore(clock.instant().minus(ttl));
+        LOGGER.debug("Purged {} expired idempotent responses", purged);
+    }
+
+    private void remember(IdempotentResponse response) {
+        synchronized (responses) {
+            responses.put(response.getKey(), response);
+            if (responses.size() > maximumSize) {
+                final var eldest = responses.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    private boolean isExpired(IdempotentResponse response) {
+        return response.getCreatedAt().plus(ttl).isBefore(clock.instant());
+    }
+}
@@ -3,11 +3,18 @@ package ch.cern.todo.mappers;
 import ch.cern.todo.api.models.TaskRequestModel;
 import ch.cern.todo.api.models.TaskResponseModel;
 import ch.cern.todo.core.Task;
+import ch.cern.todo.repositories.TaskField;
+import ch.cern.todo.repositories.TaskProjection;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
 @Component
 public class DefaultTaskMapper implements TaskMapper {
+    private static final char PATH_SEPARATOR = '.';
 
     private final TaskCategoryMapper taskCategoryMapper;
 
@@ -27,4 +34,27 @@ public class DefaultTaskMapper implements TaskMapper {
         final var taskCategoryResponse = taskCategoryMapper.mapToTaskCategoryResponseModel(task.getCategory());
         return new TaskResponseModel(task.getId(), task.getName(), task.getDescription(), task.getDeadline(), taskCategoryResponse);
     }
+
+    @Override
+    public Map<String, Object> mapToTaskFieldsResponse(TaskProjection task, Set<TaskField> fields) {
+        final var taskResponse = new LinkedHashMap<String, Object>();
+        Map<String, Object> taskCategoryResponse = null;
+        for (final var field : fields) {
+            final var path = field.getPath();
+            final var separatorIndex = path.indexOf(PATH_SEPARATOR);
+            if (separatorIndex < 0) {
+                taskResponse.put(path, task.get(field));
+                continue;
+            }
+
+            if (taskCategoryResponse == null) {
+                taskCategoryResponse = new LinkedHashMap<>();
+                taskResponse.put(path.substring(0, separatorIndex), taskCategoryResponse);
+            }
+
+            taskCategoryResponse.put(path.substring(separatorIndex + 1), task.get(field));
+        }
+
+        return taskResponse;
+    }
 }
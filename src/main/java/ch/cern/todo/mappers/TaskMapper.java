@@ -3,10 +3,21 @@ package ch.cern.todo.mappers;
 import ch.cern.todo.api.models.TaskRequestModel;
 import ch.cern.todo.api.models.TaskResponseModel;
 import ch.cern.todo.core.Task;
+import ch.cern.todo.repositories.TaskField;
+import ch.cern.todo.repositories.TaskProjection;
+
+import java.util.Map;
+import java.util.Set;
 
 public interface TaskMapper {
 
     Task mapToTask(TaskRequestModel taskRequest);
 
     TaskResponseModel mapToTaskResponse(Task task);
+
+    /**
+     * Maps the given fields of the task to a response with the same shape as {@link TaskResponseModel}, but without
+     * the fields that were not requested.
+     */
+    Map<String, Object> mapToTaskFieldsResponse(TaskProjection task, Set<TaskField> fields);
 }
@@ -0,0 +1,35 @@
+package ch.cern.todo.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Tags {@code http.server.requests} with the controller method that handled the request, e.g.
+ * {@code TaskController.getTasks}, in addition to the default uri, method and status tags.
+ */
+@Component
+public class HandlerMethodTagsContributor implements WebMvcTagsContributor {
+    private static final String HANDLER_TAG = "handler";
+    private static final Tag NO_HANDLER = Tag.of(HANDLER_TAG, "none");
+
+    @Override
+    public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler, Throwable exception) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            final var name = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+            return Tags.of(HANDLER_TAG, name);
+        }
+
+        return Tags.of(NO_HANDLER);
+    }
+
+    @Override
+    public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+        return Tags.empty();
+    }
+}
@@ -0,0 +1,42 @@
+package ch.cern.todo.metrics;
+
+import ch.cern.todo.ratelimit.EndpointGroup;
+import ch.cern.todo.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RateLimitMetrics implements MeterBinder {
+    private static final String METRIC_PREFIX = "todo.rate.limit";
+
+    private final RateLimiter rateLimiter;
+
+    @Autowired
+    public RateLimitMetrics(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (final var group : EndpointGroup.values()) {
+            FunctionCounter.builder(METRIC_PREFIX + ".requests", rateLimiter, limiter -> limiter.getAdmittedRequests(group))
+                    .tag("group", group.getName())
+                    .tag("outcome", "admitted")
+                    .description("Number of requests admitted or rejected by the rate limiter")
+                    .register(registry);
+            FunctionCounter.builder(METRIC_PREFIX + ".requests", rateLimiter, limiter -> limiter.getRejectedRequests(group))
+                    .tag("group", group.getName())
+                    .tag("outcome", "rejected")
+                    .description("Number of requests admitted or rejected by the rate limiter")
+                    .register(registry);
+            Gauge.builder(METRIC_PREFIX + ".clients", rateLimiter, limiter -> limiter.getClients(group))
+                    .tag("group", group.getName())
+                    .description("Number of clients whose token bucket is not full")
+                    .register(registry);
+        }
+    }
+}
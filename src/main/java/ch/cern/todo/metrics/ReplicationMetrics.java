@@ -0,0 +1,51 @@
+package ch.cern.todo.metrics;
+
+import ch.cern.todo.replication.ReadYourWrites;
+import ch.cern.todo.replication.Replica;
+import ch.cern.todo.replication.ReplicaSet;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "todo.replication.enabled", havingValue = "true")
+public class ReplicationMetrics implements MeterBinder {
+    private static final String METRIC_PREFIX = "todo.replication";
+
+    private final ReplicaSet replicaSet;
+
+    private final ReadYourWrites readYourWrites;
+
+    @Autowired
+    public ReplicationMetrics(ReplicaSet replicaSet, ReadYourWrites readYourWrites) {
+        this.replicaSet = replicaSet;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (final var replica : replicaSet.getReplicas()) {
+            Gauge.builder(METRIC_PREFIX + ".lag", replicaSet, replicas -> replicas.getLagMillis(replica) / 1000.0)
+                    .tag("replica", replica.getName())
+                    .baseUnit("seconds")
+                    .description("Time since the last heartbeat of the primary that reached the replica")
+                    .register(registry);
+            FunctionCounter.builder(METRIC_PREFIX + ".read.connections", replica, Replica::getReadConnections)
+                    .tag("target", replica.getName())
+                    .description("Number of connections taken for reads that were allowed on a replica")
+                    .register(registry);
+        }
+
+        FunctionCounter.builder(METRIC_PREFIX + ".read.connections", replicaSet, ReplicaSet::getPrimaryReadConnections)
+                .tag("target", "primary")
+                .description("Number of connections taken for reads that were allowed on a replica")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".read.your.writes.clients", readYourWrites, ReadYourWrites::getClients)
+                .description("Number of clients whose last write may not have been replicated yet")
+                .register(registry);
+    }
+}
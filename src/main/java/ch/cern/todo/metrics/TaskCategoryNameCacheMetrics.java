@@ -0,0 +1,39 @@
+package ch.cern.todo.metrics;
+
+import ch.cern.todo.services.TaskCategoryNameCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TaskCategoryNameCacheMetrics implements MeterBinder {
+    private static final String METRIC_PREFIX = "todo.task.category.cache";
+
+    private final TaskCategoryNameCache taskCategoryNameCache;
+
+    @Autowired
+    public TaskCategoryNameCacheMetrics(TaskCategoryNameCache taskCategoryNameCache) {
+        this.taskCategoryNameCache = taskCategoryNameCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", taskCategoryNameCache, TaskCategoryNameCache::getHitCount)
+                .tag("result", "hit")
+                .description("Number of task category lookups served from the cache")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", taskCategoryNameCache, TaskCategoryNameCache::getMissCount)
+                .tag("result", "miss")
+                .description("Number of task category lookups that went to the database")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", taskCategoryNameCache, TaskCategoryNameCache::getEvictionCount)
+                .description("Number of task categories evicted because the cache was full")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".size", taskCategoryNameCache, TaskCategoryNameCache::size)
+                .description("Number of cached task categories")
+                .register(registry);
+    }
+}
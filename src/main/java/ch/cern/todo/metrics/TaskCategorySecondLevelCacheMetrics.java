@@ -0,0 +1,61 @@
+package ch.cern.todo.metrics;
+
+import ch.cern.todo.core.TaskCategory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.function.Function;
+
+/**
+ * Hit ratios of the second-level cache regions of task categories. The raw hit and miss counters per region are
+ * already published by Hibernate's own metrics as {@code hibernate.second.level.cache.requests} and
+ * {@code hibernate.query.cache.requests}.
+ */
+@Component
+public class TaskCategorySecondLevelCacheMetrics implements MeterBinder {
+    private static final String METRIC_NAME = "todo.hibernate.cache.hit.ratio";
+
+    private final Statistics statistics;
+
+    @Autowired
+    public TaskCategorySecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        registerHitRatio(registry, TaskCategory.CACHE_REGION, statistics::getDomainDataRegionStatistics);
+        registerHitRatio(registry, TaskCategory.QUERY_CACHE_REGION, statistics::getQueryRegionStatistics);
+    }
+
+    private static void registerHitRatio(MeterRegistry registry, String region, Function<String, CacheRegionStatistics> regionStatistics) {
+        Gauge.builder(METRIC_NAME, () -> hitRatio(region, regionStatistics))
+                .tag("region", region)
+                .description("Share of lookups in the second-level cache region that were hits since startup")
+                .register(registry);
+    }
+
+    private static double hitRatio(String region, Function<String, CacheRegionStatistics> regionStatistics) {
+        final CacheRegionStatistics statistics;
+        try {
+            // Query regions only exist once the first cacheable query ran.
+            statistics = regionStatistics.apply(region);
+        } catch (IllegalArgumentException e) {
+            return Double.NaN;
+        }
+
+        if (statistics == null) {
+            return Double.NaN;
+        }
+
+        final var requests = statistics.getHitCount() + statistics.getMissCount();
+        return requests == 0 ? Double.NaN : (double) statistics.getHitCount() / requests;
+    }
+}
@@ -0,0 +1,34 @@
+package ch.cern.todo.metrics;
+
+import ch.cern.todo.reminders.TaskReminderScheduler;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class TaskReminderMetrics implements MeterBinder {
+    private static final String METRIC_PREFIX = "todo.reminders";
+
+    private final TaskReminderScheduler taskReminderScheduler;
+
+    @Autowired
+    public TaskReminderMetrics(TaskReminderScheduler taskReminderScheduler) {
+        this.taskReminderScheduler = taskReminderScheduler;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder(METRIC_PREFIX + ".lag", taskReminderScheduler,
+                        TaskReminderScheduler::getFiredReminderCount, TaskReminderScheduler::getTotalLagMillis, TimeUnit.MILLISECONDS)
+                .description("Delay between the time reminders were due and their delivery")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".pending", taskReminderScheduler, TaskReminderScheduler::pendingReminders)
+                .description("Number of scheduled reminders that have not fired yet")
+                .register(registry);
+    }
+}
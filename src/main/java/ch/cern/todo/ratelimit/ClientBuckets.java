@@ -0,0 +1,91 @@
+package ch.cern.todo.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The token buckets of one endpoint group, by client.
+ * <p>
+ * Buckets expire once they refilled completely, since a full bucket behaves exactly like a missing one. The number of
+ * buckets is bounded by {@code maxClients}: a new client that would exceed it first drops the expired buckets and,
+ * if there are still too many, an arbitrary tenth of the others, which lets those clients burst again.
+ */
+final class ClientBuckets {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private final LongAdder admittedRequests = new LongAdder();
+
+    private final LongAdder rejectedRequests = new LongAdder();
+
+    private final long refillIntervalNanos;
+
+    private final long capacityNanos;
+
+    private final int maxClients;
+
+    ClientBuckets(final int capacity, final double refillRate, final int maxClients) {
+        if (capacity < 1 || refillRate <= 0 || maxClients < 1) {
+            throw new IllegalArgumentException("The capacity, the refill rate and the number of clients of a rate limit must be positive.");
+        }
+
+        this.refillIntervalNanos = Math.max((long) (NANOS_PER_SECOND / refillRate), 1);
+        this.capacityNanos = refillIntervalNanos * capacity;
+        this.maxClients = maxClients;
+    }
+
+    long tryAcquire(final String client, final long nowNanos) {
+        var bucket = buckets.get(client);
+        if (bucket == null) {
+            if (buckets.size() >= maxClients) {
+                evict(nowNanos);
+            }
+
+            bucket = buckets.computeIfAbsent(client, key -> new TokenBucket(nowNanos));
+        }
+
+        final var waitNanos = bucket.tryAcquire(nowNanos, refillIntervalNanos, capacityNanos);
+        (waitNanos == 0 ? admittedRequests : rejectedRequests).increment();
+        return waitNanos;
+    }
+
+    void removeExpired(final long nowNanos) {
+        buckets.values().removeIf(bucket -> bucket.isFull(nowNanos));
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    long getAdmittedRequests() {
+        return admittedRequests.sum();
+    }
+
+    long getRejectedRequests() {
+        return rejectedRequests.sum();
+    }
+
+    private void evict(final long nowNanos) {
+        // One thread evicts, the others go ahead and overshoot the bound briefly instead of waiting.
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            removeExpired(nowNanos);
+            final var iterator = buckets.keySet().iterator();
+            final var targetSize = maxClients - Math.max(maxClients / 10, 1);
+            while (buckets.size() > targetSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package ch.cern.todo.ratelimit;
+
+/**
+ * Endpoints that share a rate limit, configured under {@code todo.rate-limit.<name>}.
+ */
+public enum EndpointGroup {
+    /**
+     * Reads of collections, such as pages of tasks, the search, the export and the statistics.
+     */
+    LIST("list"),
+    /**
+     * Reads of a single task or task category by id.
+     */
+    READ("read"),
+    /**
+     * Everything that is not a read.
+     */
+    WRITE("write");
+
+    private final String name;
+
+    public String getName() {
+        return name;
+    }
+
+    EndpointGroup(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Resolves the group of a request from its method and its path below the context path.
+     */
+    public static EndpointGroup of(final String method, final String path) {
+        if (!method.equals("GET") && !method.equals("HEAD")) {
+            return WRITE;
+        }
+
+        return endsWithId(path) ? READ : LIST;
+    }
+
+    private static boolean endsWithId(final String path) {
+        var end = path.length();
+        if (end > 0 && path.charAt(end - 1) == '/') {
+            end--;
+        }
+
+        var start = end;
+        while (start > 0 && Character.isDigit(path.charAt(start - 1))) {
+            start--;
+        }
+
+        return start < end && start > 0 && path.charAt(start - 1) == '/';
+    }
+}
@@ -0,0 +1,89 @@
+package ch.cern.todo.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Rejects requests to the task and task category endpoints with {@code 429 Too Many Requests} once their client
+ * exceeds the rate limit of the endpoint group. Clients are identified by their API key if it is one of the configured
+ * {@code todo.rate-limit.api-keys}, or else by their address; {@code Retry-After} tells them how many seconds to wait.
+ * An unknown key is ignored, so sending random keys neither escapes the limit nor adds clients that would push the
+ * buckets of others out.
+ */
+@Component
+@Profile("!reactive")
+// After the character encoding and request metrics filters, so rejected requests are measured, but before any other.
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final String LIMITED_PATH = "/api/tasks";
+    private static final String API_KEY_CLIENT_PREFIX = "key:";
+    private static final String ADDRESS_CLIENT_PREFIX = "address:";
+    private static final String TOO_MANY_REQUESTS = "Too many requests, please retry later.";
+
+    private final RateLimiter rateLimiter;
+
+    private final boolean enabled;
+
+    private final String apiKeyHeader;
+
+    private final Set<String> apiKeys;
+
+    @Autowired
+    public RateLimitFilter(RateLimiter rateLimiter,
+                           @Value("${todo.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${todo.rate-limit.api-key-header:X-API-Key}") String apiKeyHeader,
+                           @Value("${todo.rate-limit.api-keys:}") Set<String> apiKeys) {
+        this.rateLimiter = rateLimiter;
+        this.enabled = enabled;
+        this.apiKeyHeader = apiKeyHeader;
+        this.apiKeys = apiKeys.stream().map(String::trim).filter(apiKey -> !apiKey.isEmpty()).collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !resolvePath(request).startsWith(LIMITED_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        final var group = EndpointGroup.of(request.getMethod(), resolvePath(request));
+        final var waitNanos = rateLimiter.tryAcquire(group, resolveClient(request));
+        if (waitNanos > 0) {
+            final var retryAfterSeconds = Math.ceilDiv(waitNanos, TimeUnit.SECONDS.toNanos(1));
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), TOO_MANY_REQUESTS);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String resolveClient(HttpServletRequest request) {
+        final var apiKey = request.getHeader(apiKeyHeader);
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return API_KEY_CLIENT_PREFIX + apiKey;
+        }
+
+        return ADDRESS_CLIENT_PREFIX + request.getRemoteAddr();
+    }
+
+    private static String resolvePath(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
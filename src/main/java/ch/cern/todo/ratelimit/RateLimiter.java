@@ -0,0 +1,69 @@
+package ch.cern.todo.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the requests of each client per {@link EndpointGroup} with a token bucket: a client can send up to
+ * {@code capacity} requests at once, and then {@code refill-rate} requests per second.
+ */
+@Component
+public class RateLimiter {
+
+    private final LongSupplier nanoClock;
+
+    private final Map<EndpointGroup, ClientBuckets> buckets;
+
+    @Autowired
+    public RateLimiter(@Value("${todo.rate-limit.list.capacity:20}") int listCapacity,
+                       @Value("${todo.rate-limit.list.refill-rate:10}") double listRefillRate,
+                       @Value("${todo.rate-limit.read.capacity:100}") int readCapacity,
+                       @Value("${todo.rate-limit.read.refill-rate:50}") double readRefillRate,
+                       @Value("${todo.rate-limit.write.capacity:50}") int writeCapacity,
+                       @Value("${todo.rate-limit.write.refill-rate:20}") double writeRefillRate,
+                       @Value("${todo.rate-limit.max-clients:100000}") int maxClients) {
+        this(System::nanoTime, Map.of(
+                EndpointGroup.LIST, new ClientBuckets(listCapacity, listRefillRate, maxClients),
+                EndpointGroup.READ, new ClientBuckets(readCapacity, readRefillRate, maxClients),
+                EndpointGroup.WRITE, new ClientBuckets(writeCapacity, writeRefillRate, maxClients)));
+    }
+
+    RateLimiter(LongSupplier nanoClock, Map<EndpointGroup, ClientBuckets> buckets) {
+        this.nanoClock = nanoClock;
+        this.buckets = new EnumMap<>(buckets);
+    }
+
+    /**
+     * Admits the request and returns 0, or returns the nanoseconds after which the client may try again.
+     */
+    public long tryAcquire(EndpointGroup group, String client) {
+        return buckets.get(group).tryAcquire(client, nanoClock.getAsLong());
+    }
+
+    @Scheduled(fixedDelayString = "${todo.rate-limit.purge-interval:PT1M}")
+    public void removeExpiredBuckets() {
+        final var now = nanoClock.getAsLong();
+        buckets.values().forEach(clientBuckets -> clientBuckets.removeExpired(now));
+    }
+
+    public long getAdmittedRequests(EndpointGroup group) {
+        return buckets.get(group).getAdmittedRequests();
+    }
+
+    public long getRejectedRequests(EndpointGroup group) {
+        return buckets.get(group).getRejectedRequests();
+    }
+
+    /**
+     * The number of clients whose bucket of the group is not full.
+     */
+    public int getClients(EndpointGroup group) {
+        return buckets.get(group).size();
+    }
+}
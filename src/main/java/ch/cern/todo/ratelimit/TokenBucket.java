@@ -0,0 +1,41 @@
+package ch.cern.todo.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket of a single client, kept as the time at which it would be full again (the generic cell rate
+ * algorithm). This single value is updated with compare-and-set, so acquiring a token never blocks.
+ */
+final class TokenBucket {
+
+    private final AtomicLong fullAtNanos;
+
+    TokenBucket(final long nowNanos) {
+        this.fullAtNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes a token and returns 0, or returns the time until a token is available without taking one.
+     */
+    long tryAcquire(final long nowNanos, final long refillIntervalNanos, final long capacityNanos) {
+        while (true) {
+            final var fullAt = fullAtNanos.get();
+            final var nextFullAt = Math.max(fullAt, nowNanos) + refillIntervalNanos;
+            final var waitNanos = nextFullAt - capacityNanos - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+
+            if (fullAtNanos.compareAndSet(fullAt, nextFullAt)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Whether the bucket refilled completely, i.e. it behaves like a new one and can be dropped.
+     */
+    boolean isFull(final long nowNanos) {
+        return fullAtNanos.get() <= nowNanos;
+    }
+}
@@ -0,0 +1,25 @@
+package ch.cern.todo.reminders;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes every reminder as an application event, so in-process components can react to it with an
+ * {@code @EventListener} for {@link TaskReminder}.
+ */
+@Component
+public class ApplicationEventTaskReminderSink implements TaskReminderSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public ApplicationEventTaskReminderSink(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void deliver(TaskReminder reminder) {
+        eventPublisher.publishEvent(reminder);
+    }
+}
@@ -0,0 +1,21 @@
+package ch.cern.todo.reminders;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "todo.reminders.log.enabled", havingValue = "true", matchIfMissing = true)
+public class LoggingTaskReminderSink implements TaskReminderSink {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoggingTaskReminderSink.class);
+
+    @Override
+    public void deliver(TaskReminder reminder) {
+        if (reminder.getType() == TaskReminder.Type.DUE_SOON) {
+            LOGGER.info("Task {} is due at {}", reminder.getTaskId(), reminder.getDeadline());
+        } else {
+            LOGGER.info("Task {} is overdue since {}", reminder.getTaskId(), reminder.getDeadline());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ch.cern.todo.reminders;
+
+import java.time.LocalDateTime;
+
+/**
+ * A reminder about the deadline of a task, fired by the {@link TaskReminderScheduler}.
+ */
+public final class TaskReminder {
+
+    public enum Type {
+        /**
+         * The deadline is less than the configured lead time away.
+         */
+        DUE_SOON,
+        /**
+         * The deadline has passed.
+         */
+        OVERDUE
+    }
+
+    private final Type type;
+
+    private final long taskId;
+
+    private final LocalDateTime deadline;
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getTaskId() {
+        return taskId;
+    }
+
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    public TaskReminder(final Type type, final long taskId, final LocalDateTime deadline) {
+        this.type = type;
+        this.taskId = taskId;
+        this.deadline = deadline;
+    }
+}
@@ -0,0 +1,68 @@
+package ch.cern.todo.reminders;
+
+import ch.cern.todo.repositories.TaskRepository;
+import ch.cern.todo.services.events.TaskChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keeps the {@link TaskReminderScheduler} in sync with the database: schedules the reminders of all tasks with a
+ * deadline in the future when the application starts and reschedules them on every committed task change afterwards.
+ * Deadlines that passed while the application was not running are not reminded of.
+ */
+@Component
+public class TaskReminderMaintainer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskReminderMaintainer.class);
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final TaskReminderScheduler taskReminderScheduler;
+
+    private final TaskRepository taskRepository;
+
+    @Autowired
+    public TaskReminderMaintainer(TaskReminderScheduler taskReminderScheduler, TaskRepository taskRepository) {
+        this.taskReminderScheduler = taskReminderScheduler;
+        this.taskRepository = taskRepository;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() == TaskChangedEvent.Type.DELETED) {
+            taskReminderScheduler.cancel(event.getTaskId());
+            return;
+        }
+
+        // Edits that keep the deadline must not repeat a reminder that was already delivered.
+        final var before = event.getBefore();
+        final var after = event.getAfter();
+        if (before == null || !before.getDeadline().equals(after.getDeadline())) {
+            taskReminderScheduler.schedule(after.getId(), after.getDeadline());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        final var start = System.nanoTime();
+        final var now = LocalDateTime.now();
+        var afterId = 0L;
+        while (true) {
+            final var page = taskRepository.findDeadlinesByIdGreaterThanAndDeadlineAfter(afterId, now, PageRequest.of(0, LOAD_PAGE_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+
+            page.forEach(task -> taskReminderScheduler.scheduleIfAbsent(task.getId(), task.getDeadline()));
+            afterId = page.get(page.size() - 1).getId();
+        }
+
+        LOGGER.info("Scheduled {} task reminders in {} ms", taskReminderScheduler.pendingReminders(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
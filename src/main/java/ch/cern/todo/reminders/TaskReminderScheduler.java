@@ -0,0 +1,161 @@
+package ch.cern.todo.reminders;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Schedules a "due soon" and an "overdue" reminder per task on a {@link TimerWheel} and delivers them to every
+ * {@link TaskReminderSink} when they are due.
+ * <p>
+ * The due soon reminder fires {@code todo.reminders.due-soon-lead} before the deadline, or on the next tick for tasks
+ * that are already that close to it. Rescheduling a task replaces its pending reminders. The wheel advances every
+ * {@code todo.reminders.tick-duration}, so reminders are delivered up to one tick late; the actual delay is recorded
+ * as the lag.
+ */
+@Component
+public class TaskReminderScheduler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskReminderScheduler.class);
+
+    private final Clock clock;
+
+    private final Duration dueSoonLead;
+
+    private final List<TaskReminderSink> sinks;
+
+    private final TimerWheel<TaskReminder> wheel;
+
+    private final Map<Long, TimerWheel.Timeout<TaskReminder>> dueSoonReminders = new HashMap<>();
+
+    private final Map<Long, TimerWheel.Timeout<TaskReminder>> overdueReminders = new HashMap<>();
+
+    private final LongAdder firedReminders = new LongAdder();
+
+    private final LongAdder lagMillis = new LongAdder();
+
+    @Autowired
+    public TaskReminderScheduler(@Value("${todo.reminders.tick-duration:PT1S}") Duration tickDuration,
+                                 @Value("${todo.reminders.due-soon-lead:PT15M}") Duration dueSoonLead,
+                                 List<TaskReminderSink> sinks) {
+        this(Clock.systemDefaultZone(), tickDuration, dueSoonLead, sinks);
+    }
+
+    TaskReminderScheduler(Clock clock, Duration tickDuration, Duration dueSoonLead, List<TaskReminderSink> sinks) {
+        this.clock = clock;
+        this.dueSoonLead = dueSoonLead;
+        this.sinks = sinks;
+        this.wheel = new TimerWheel<>(tickDuration.toMillis(), clock.millis());
+    }
+
+    /**
+     * Schedules the reminders for the task, replacing the pending ones. Tasks whose deadline passed get none.
+     */
+    public void schedule(long taskId, LocalDateTime deadline) {
+        final var deadlineMillis = toMillis(deadline);
+        synchronized (wheel) {
+            cancelPending(taskId);
+            scheduleIfFuture(taskId, deadline, deadlineMillis);
+        }
+    }
+
+    /**
+     * Schedules the reminders for the task unless it already has pending ones.
+     */
+    public void scheduleIfAbsent(long taskId, LocalDateTime deadline) {
+        final var deadlineMillis = toMillis(deadline);
+        synchronized (wheel) {
+            if (!dueSoonReminders.containsKey(taskId) && !overdueReminders.containsKey(taskId)) {
+                scheduleIfFuture(taskId, deadline, deadlineMillis);
+            }
+        }
+    }
+
+    public void cancel(long taskId) {
+        synchronized (wheel) {
+            cancelPending(taskId);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${todo.reminders.tick-duration:PT1S}")
+    public void tick() {
+        final var now = clock.millis();
+        final List<TimerWheel.Timeout<TaskReminder>> expired;
+        synchronized (wheel) {
+            expired = wheel.advance(now);
+            for (final var timeout : expired) {
+                final var reminder = timeout.getPayload();
+                final var reminders = reminder.getType() == TaskReminder.Type.DUE_SOON ? dueSoonReminders : overdueReminders;
+                reminders.remove(reminder.getTaskId(), timeout);
+            }
+        }
+
+        // Deliver outside the lock, so slow sinks delay the next tick but never task writes.
+        for (final var timeout : expired) {
+            firedReminders.increment();
+            lagMillis.add(Math.max(now - timeout.getDeadlineMillis(), 0));
+            for (final var sink : sinks) {
+                try {
+                    sink.deliver(timeout.getPayload());
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Could not deliver a reminder for task {}", timeout.getPayload().getTaskId(), e);
+                }
+            }
+        }
+    }
+
+    public int pendingReminders() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    public long getFiredReminderCount() {
+        return firedReminders.sum();
+    }
+
+    /**
+     * The total time by which the fired reminders were delivered after they were due.
+     */
+    public long getTotalLagMillis() {
+        return lagMillis.sum();
+    }
+
+    private void scheduleIfFuture(long taskId, LocalDateTime deadline, long deadlineMillis) {
+        final var now = clock.millis();
+        if (deadlineMillis <= now) {
+            return;
+        }
+
+        // Tasks created inside the lead time are reminded on the next tick, their lag counts from now.
+        final var dueSoonMillis = Math.max(deadlineMillis - dueSoonLead.toMillis(), now);
+        dueSoonReminders.put(taskId, wheel.schedule(new TaskReminder(TaskReminder.Type.DUE_SOON, taskId, deadline), dueSoonMillis));
+        overdueReminders.put(taskId, wheel.schedule(new TaskReminder(TaskReminder.Type.OVERDUE, taskId, deadline), deadlineMillis));
+    }
+
+    private void cancelPending(long taskId) {
+        final var dueSoonReminder = dueSoonReminders.remove(taskId);
+        if (dueSoonReminder != null) {
+            wheel.cancel(dueSoonReminder);
+        }
+
+        final var overdueReminder = overdueReminders.remove(taskId);
+        if (overdueReminder != null) {
+            wheel.cancel(overdueReminder);
+        }
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,10 @@
+package ch.cern.todo.reminders;
+
+/**
+ * Receives the reminders fired by the {@link TaskReminderScheduler}. Every sink bean gets every reminder, on the
+ * scheduler thread, so implementations must not block.
+ */
+public interface TaskReminderSink {
+
+    void deliver(TaskReminder reminder);
+}
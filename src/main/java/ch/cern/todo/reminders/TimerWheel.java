@@ -0,0 +1,195 @@
+package ch.cern.todo.reminders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timer wheel: schedules and cancels timeouts in constant time, regardless of how many are pending.
+ * <p>
+ * Time advances in ticks. Each of the {@value #LEVELS} levels has {@value #SLOTS} slots, a slot of level {@code n}
+ * spans {@code SLOTS^n} ticks. A timeout goes into the lowest level that reaches its expiry; when the clock enters the
+ * span of a higher level slot, its timeouts are cascaded into the levels below, so a timeout moves down at most
+ * once per level before it expires. Timeouts expire on the first tick at or after their deadline, never before.
+ * <p>
+ * Not thread-safe, callers have to synchronize.
+ */
+public class TimerWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+
+    private final long originMillis;
+
+    private final Timeout<T>[][] slots;
+
+    private long currentTick;
+
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickMillis, long originMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("The tick duration must be positive.");
+        }
+
+        this.tickMillis = tickMillis;
+        this.originMillis = originMillis;
+        this.slots = new Timeout[LEVELS][SLOTS];
+    }
+
+    /**
+     * Schedules the payload to expire at the given time. Deadlines that already passed expire on the next tick.
+     */
+    public Timeout<T> schedule(T payload, long deadlineMillis) {
+        final var expiryTick = Math.max(Math.ceilDiv(deadlineMillis - originMillis, tickMillis), currentTick + 1);
+        final var timeout = new Timeout<>(payload, deadlineMillis, expiryTick);
+        insert(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Returns whether the timeout was still pending.
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (!timeout.isPending()) {
+            return false;
+        }
+
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the given time and returns the timeouts that expired, in the order of their ticks.
+     */
+    public List<Timeout<T>> advance(long nowMillis) {
+        final var targetTick = Math.floorDiv(nowMillis - originMillis, tickMillis);
+        final var expired = new ArrayList<Timeout<T>>();
+        while (currentTick < targetTick) {
+            currentTick++;
+
+            // Level n is cascaded whenever the tick is a multiple of SLOTS^n, lower levels first.
+            for (var level = 1; level < LEVELS; level++) {
+                final var shift = SLOT_BITS * level;
+                if ((currentTick & ((1L << shift) - 1)) != 0) {
+                    break;
+                }
+
+                cascade(level, (int) ((currentTick >>> shift) & SLOT_MASK));
+            }
+
+            final var slot = (int) (currentTick & SLOT_MASK);
+            for (var timeout = slots[0][slot]; timeout != null; ) {
+                final var next = timeout.next;
+                timeout.level = -1;
+                timeout.previous = null;
+                timeout.next = null;
+                expired.add(timeout);
+                size--;
+                timeout = next;
+            }
+
+            slots[0][slot] = null;
+        }
+
+        return expired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void cascade(int level, int slot) {
+        var timeout = slots[level][slot];
+        slots[level][slot] = null;
+        while (timeout != null) {
+            final var next = timeout.next;
+            timeout.previous = null;
+            timeout.next = null;
+            insert(timeout);
+            timeout = next;
+        }
+    }
+
+    private void insert(Timeout<T> timeout) {
+        // Timeouts beyond the range of the wheel are parked in the top level and cascaded until they fit.
+        final var delta = Math.min(timeout.expiryTick - currentTick, MAX_DELTA);
+        final var expiryTick = currentTick + delta;
+
+        var level = 0;
+        while (delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+
+        final var slot = (int) ((expiryTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        final var head = slots[level][slot];
+        timeout.level = level;
+        timeout.slot = slot;
+        timeout.next = head;
+        if (head != null) {
+            head.previous = timeout;
+        }
+
+        slots[level][slot] = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else {
+            slots[timeout.level][timeout.slot] = timeout.next;
+        }
+
+        if (timeout.next != null) {
+            timeout.next.previous = timeout.previous;
+        }
+
+        timeout.level = -1;
+        timeout.previous = null;
+        timeout.next = null;
+    }
+
+    public static final class Timeout<T> {
+
+        private final T payload;
+
+        private final long deadlineMillis;
+
+        private final long expiryTick;
+
+        private int level = -1;
+
+        private int slot;
+
+        private Timeout<T> previous;
+
+        private Timeout<T> next;
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+
+        /**
+         * Whether the timeout neither expired nor was cancelled yet.
+         */
+        public boolean isPending() {
+            return level >= 0;
+        }
+
+        private Timeout(final T payload, final long deadlineMillis, final long expiryTick) {
+            this.payload = payload;
+            this.deadlineMillis = deadlineMillis;
+            this.expiryTick = expiryTick;
+        }
+    }
+}
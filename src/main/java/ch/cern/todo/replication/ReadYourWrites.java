@@ -0,0 +1,66 @@
+package ch.cern.todo.replication;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers when each client last wrote, so that its reads only go to replicas that have replicated the write.
+ * <p>
+ * Replicas lagging more than {@code max-lag} are not read from at all, so a write older than that is on every replica
+ * that is read from and need not be remembered any more.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.replication.enabled", havingValue = "true")
+public class ReadYourWrites {
+
+    private final LongSupplier clock;
+
+    private final long maxLagMillis;
+
+    private final ConcurrentHashMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReadYourWrites(@Value("${todo.replication.max-lag:PT5S}") Duration maxLag) {
+        this(System::currentTimeMillis, maxLag);
+    }
+
+    ReadYourWrites(LongSupplier clock, Duration maxLag) {
+        this.clock = clock;
+        this.maxLagMillis = maxLag.toMillis();
+    }
+
+    /**
+     * Records a write of the client; call it once the write was committed.
+     */
+    public void recordWrite(String client) {
+        lastWrites.merge(client, clock.getAsLong(), Math::max);
+    }
+
+    /**
+     * Returns the epoch milliseconds a replica must have replicated the primary past for the client to see its writes.
+     */
+    public long getRequiredReplicatedUpTo(String client) {
+        final var lastWrite = lastWrites.get(client);
+        return lastWrite != null ? lastWrite : Long.MIN_VALUE;
+    }
+
+    @Scheduled(fixedDelayString = "${todo.replication.purge-interval:PT1M}")
+    public void removeExpiredWrites() {
+        final var expiredBefore = clock.getAsLong() - maxLagMillis;
+        lastWrites.values().removeIf(lastWrite -> lastWrite < expiredBefore);
+    }
+
+    /**
+     * The number of clients whose last write may not have been replicated yet.
+     */
+    public int getClients() {
+        return lastWrites.size();
+    }
+}
@@ -0,0 +1,74 @@
+package ch.cern.todo.replication;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Lets {@code GET} and {@code HEAD} requests read replicas that have replicated the last write of their client, and
+ * records the writes of all other requests, which only use the primary. Clients are identified by their API key, or by
+ * their address if they send none.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "todo.replication.enabled", havingValue = "true")
+// After the rate limiter, so rejected requests are not recorded as writes.
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private static final String API_KEY_CLIENT_PREFIX = "key:";
+    private static final String ADDRESS_CLIENT_PREFIX = "address:";
+
+    private final ReadYourWrites readYourWrites;
+
+    private final String apiKeyHeader;
+
+    @Autowired
+    public ReadYourWritesFilter(ReadYourWrites readYourWrites,
+                                @Value("${todo.replication.api-key-header:${todo.rate-limit.api-key-header:X-API-Key}}") String apiKeyHeader) {
+        this.readYourWrites = readYourWrites;
+        this.apiKeyHeader = apiKeyHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        final var client = resolveClient(request);
+        if (HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())) {
+            ReplicaReads.allow(readYourWrites.getRequiredReplicatedUpTo(client));
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                ReplicaReads.disallow();
+            }
+
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // Recorded even if the request failed, since it may have committed some of its changes.
+            readYourWrites.recordWrite(client);
+        }
+    }
+
+    private String resolveClient(HttpServletRequest request) {
+        final var apiKey = request.getHeader(apiKeyHeader);
+        if (apiKey != null && !apiKey.isBlank()) {
+            return API_KEY_CLIENT_PREFIX + apiKey;
+        }
+
+        return ADDRESS_CLIENT_PREFIX + request.getRemoteAddr();
+    }
+}
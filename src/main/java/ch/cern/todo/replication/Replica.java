@@ -0,0 +1,49 @@
+package ch.cern.todo.replication;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A read replica of the primary database and the time up to which it is known to have replicated the primary, read
+ * from the heartbeat the {@link ReplicationHeartbeat} writes to the primary.
+ */
+public class Replica {
+
+    private final String name;
+
+    private final DataSource dataSource;
+
+    private final LongAdder readConnections = new LongAdder();
+
+    // Epoch milliseconds; the epoch itself until the first heartbeat is read, so the replica counts as lagging.
+    private volatile long replicatedUpTo;
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public long getReadConnections() {
+        return readConnections.sum();
+    }
+
+    public long getReplicatedUpTo() {
+        return replicatedUpTo;
+    }
+
+    public void setReplicatedUpTo(long replicatedUpTo) {
+        this.replicatedUpTo = replicatedUpTo;
+    }
+
+    public Replica(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    void countReadConnection() {
+        readConnections.increment();
+    }
+}
@@ -0,0 +1,149 @@
+package ch.cern.todo.replication;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Stands in for database replication when trying the replicas out locally: copies every table of an H2 primary to the
+ * H2 replicas at a fixed interval, which is then roughly their lag.
+ * <p>
+ * Each copy reads the primary in one snapshot and replaces the rows of the replica in one transaction, so readers of
+ * the replica see either the previous copy or the next one. The schema is copied again whenever the columns differ.
+ * Referential integrity is not checked on the replicas, the rows already satisfied it on the primary.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.replication.copier.enabled", havingValue = "true")
+public class ReplicaCopier {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaCopier.class);
+
+    private static final String SELECT_COLUMNS = "select c.table_name, c.column_name from information_schema.columns c "
+            + "join information_schema.tables t on t.table_schema = c.table_schema and t.table_name = c.table_name "
+            + "where c.table_schema = 'PUBLIC' and t.table_type = 'BASE TABLE' order by c.table_name, c.ordinal_position";
+    private static final int BATCH_SIZE = 500;
+
+    private final ReplicaSet replicaSet;
+
+    @Autowired
+    public ReplicaCopier(ReplicaSet replicaSet) {
+        this.replicaSet = replicaSet;
+    }
+
+    @Scheduled(fixedDelayString = "${todo.replication.copier.interval:PT2S}")
+    public void copyToReplicas() {
+        for (final var replica : replicaSet.getReplicas()) {
+            try {
+                copy(replicaSet.getPrimary(), replica.getDataSource());
+            } catch (SQLException e) {
+                LOGGER.warn("Could not copy the primary to replica {}", replica.getName(), e);
+            }
+        }
+    }
+
+    static void copy(DataSource primary, DataSource replica) throws SQLException {
+        try (final var source = primary.getConnection(); final var target = replica.getConnection()) {
+            source.setAutoCommit(false);
+            source.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            target.setReadOnly(false);
+            try {
+                final var columns = readColumns(source);
+                if (!columns.equals(readColumns(target))) {
+                    copySchema(source, target);
+                }
+
+                target.setAutoCommit(false);
+                for (final var table : tables(columns)) {
+                    copyTable(source, target, table);
+                }
+
+                target.commit();
+            } catch (SQLException e) {
+                if (!target.getAutoCommit()) {
+                    target.rollback();
+                }
+
+                throw e;
+            } finally {
+                // Only ends the snapshot, nothing was written to the primary.
+                source.rollback();
+            }
+        }
+    }
+
+    private static List<String> readColumns(Connection connection) throws SQLException {
+        final var columns = new ArrayList<String>();
+        try (final var statement = connection.createStatement(); final var rows = statement.executeQuery(SELECT_COLUMNS)) {
+            while (rows.next()) {
+                columns.add(rows.getString(1) + "." + rows.getString(2));
+            }
+        }
+
+        return columns;
+    }
+
+    private static Set<String> tables(List<String> columns) {
+        final var tables = new LinkedHashSet<String>();
+        columns.forEach(column -> tables.add(column.substring(0, column.lastIndexOf('.'))));
+        return tables;
+    }
+
+    private static void copySchema(Connection source, Connection target) throws SQLException {
+        try (final var dropStatement = target.createStatement()) {
+            dropStatement.execute("drop all objects");
+        }
+
+        try (final var scriptStatement = source.createStatement(); final var script = scriptStatement.executeQuery("script nodata");
+             final var createStatement = target.createStatement()) {
+            while (script.next()) {
+                createStatement.execute(script.getString(1));
+            }
+
+            createStatement.execute("set referential_integrity false");
+        }
+    }
+
+    private static void copyTable(Connection source, Connection target, String table) throws SQLException {
+        final var quotedTable = "\"" + table.replace("\"", "\"\"") + "\"";
+        try (final var deleteStatement = target.createStatement()) {
+            deleteStatement.executeUpdate("delete from " + quotedTable);
+        }
+
+        try (final var selectStatement = source.createStatement(); final var rows = selectStatement.executeQuery("select * from " + quotedTable)) {
+            final var metaData = rows.getMetaData();
+            final var columnCount = metaData.getColumnCount();
+            final var insertSql = "insert into " + quotedTable + " values (" + "?, ".repeat(columnCount - 1) + "?)";
+            try (final var insert = target.prepareStatement(insertSql)) {
+                var batchedRows = 0;
+                while (rows.next()) {
+                    for (int column = 1; column <= columnCount; column++) {
+                        // Large objects belong to the connection that read them, so their content is copied.
+                        switch (metaData.getColumnType(column)) {
+                            case Types.BLOB -> insert.setBytes(column, rows.getBytes(column));
+                            case Types.CLOB -> insert.setString(column, rows.getString(column));
+                            default -> insert.setObject(column, rows.getObject(column));
+                        }
+                    }
+
+                    insert.addBatch();
+                    if (++batchedRows % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+
+                insert.executeBatch();
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package ch.cern.todo.replication;
+
+/**
+ * Whether the read-only transactions of the current thread may read a replica, and how far that replica must have
+ * replicated the primary.
+ * <p>
+ * Nothing reads a replica unless it was allowed here, which the {@link ReadYourWritesFilter} only does for the
+ * requests that do not change anything. Background work such as recounting the statistics therefore always sees the
+ * latest data, as do requests handed to another thread.
+ * <p>
+ * A read-only transaction that must see the latest data even where replica reads are allowed opens a
+ * {@link #readPrimary()} scope before its first statement.
+ */
+public final class ReplicaReads {
+    private static final ThreadLocal<Long> REQUIRED_REPLICATED_UP_TO = new ThreadLocal<>();
+
+    private ReplicaReads() {
+    }
+
+    /**
+     * Lets the read-only transactions of the current thread read replicas that have replicated the primary past the
+     * given epoch milliseconds.
+     */
+    public static void allow(long requiredReplicatedUpTo) {
+        REQUIRED_REPLICATED_UP_TO.set(requiredReplicatedUpTo);
+    }
+
+    public static void disallow() {
+        REQUIRED_REPLICATED_UP_TO.remove();
+    }
+
+    /**
+     * Disallows replica reads until the returned scope is closed, which allows them again if they were allowed before.
+     * The connection of a transaction is only fetched at its first statement, so a read-only transaction that opens the
+     * scope before then reads the primary.
+     */
+    public static Scope readPrimary() {
+        final var requiredReplicatedUpTo = REQUIRED_REPLICATED_UP_TO.get();
+        REQUIRED_REPLICATED_UP_TO.remove();
+        return () -> {
+            if (requiredReplicatedUpTo != null) {
+                REQUIRED_REPLICATED_UP_TO.set(requiredReplicatedUpTo);
+            }
+        };
+    }
+
+    public static boolean isAllowed() {
+        return REQUIRED_REPLICATED_UP_TO.get() != null;
+    }
+
+    public static long getRequiredReplicatedUpTo() {
+        final var requiredReplicatedUpTo = REQUIRED_REPLICATED_UP_TO.get();
+        return requiredReplicatedUpTo != null ? requiredReplicatedUpTo : Long.MAX_VALUE;
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,45 @@
+package ch.cern.todo.replication;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.sql.SQLException;
+
+/**
+ * Keeps the transactions that may read a replica from putting what they read into the second-level cache. The cache
+ * also serves the transactions on the primary, which would otherwise see the stale entities of a lagging replica.
+ */
+class ReplicaReadsJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+        if (!definition.isReadOnly() || !ReplicaReads.isAllowed()) {
+            return super.beginTransaction(entityManager, definition);
+        }
+
+        final var session = entityManager.unwrap(Session.class);
+        final var previousCacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        return new ReplicaReadsTransactionData(super.beginTransaction(entityManager, definition), session, previousCacheMode);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReplicaReadsTransactionData replicaReadsTransactionData) {
+            replicaReadsTransactionData.session().setCacheMode(replicaReadsTransactionData.previousCacheMode());
+            super.cleanupTransaction(replicaReadsTransactionData.transactionData());
+            return;
+        }
+
+        super.cleanupTransaction(transactionData);
+    }
+
+    private record ReplicaReadsTransactionData(Object transactionData, Session session, CacheMode previousCacheMode) {
+    }
+}
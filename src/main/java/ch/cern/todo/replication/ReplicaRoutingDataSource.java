@@ -0,0 +1,43 @@
+package ch.cern.todo.replication;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Takes the connections of read-only transactions from a replica, if {@link ReplicaReads} allows it on the current
+ * thread, and all others from the primary.
+ * <p>
+ * A transaction is only marked read-only after it began, so this data source must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which takes the connection when the first
+ * statement runs.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final ReplicaSet replicaSet;
+
+    public ReplicaRoutingDataSource(ReplicaSet replicaSet) {
+        this.replicaSet = replicaSet;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return determineTargetDataSource().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return determineTargetDataSource().getConnection(username, password);
+    }
+
+    private DataSource determineTargetDataSource() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && ReplicaReads.isAllowed()) {
+            return replicaSet.routeRead(ReplicaReads.getRequiredReplicatedUpTo());
+        }
+
+        return replicaSet.getPrimary();
+    }
+}
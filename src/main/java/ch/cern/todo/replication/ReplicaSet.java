@@ -0,0 +1,90 @@
+package ch.cern.todo.replication;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * The primary database and its read replicas. Reads are spread over the replicas in turn, skipping those that lag
+ * more than {@code maxLag} behind the primary or have not yet replicated what the reader requires; when none is left
+ * the primary serves the read.
+ */
+public class ReplicaSet implements AutoCloseable {
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final long maxLagMillis;
+
+    private final LongSupplier clock;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final LongAdder primaryReadConnections = new LongAdder();
+
+    public ReplicaSet(DataSource primary, List<Replica> replicas, Duration maxLag) {
+        this(primary, replicas, maxLag, System::currentTimeMillis);
+    }
+
+    ReplicaSet(DataSource primary, List<Replica> replicas, Duration maxLag, LongSupplier clock) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagMillis = maxLag.toMillis();
+        this.clock = clock;
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Returns the data source for a read that must see everything committed before {@code requiredReplicatedUpTo}.
+     */
+    public DataSource routeRead(long requiredReplicatedUpTo) {
+        final var now = clock.getAsLong();
+        final var start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            final var replica = replicas.get((start + i) % replicas.size());
+            final var replicatedUpTo = replica.getReplicatedUpTo();
+            if (now - replicatedUpTo <= maxLagMillis && replicatedUpTo > requiredReplicatedUpTo) {
+                replica.countReadConnection();
+                return replica.getDataSource();
+            }
+        }
+
+        primaryReadConnections.increment();
+        return primary;
+    }
+
+    public long getLagMillis(Replica replica) {
+        return clock.getAsLong() - replica.getReplicatedUpTo();
+    }
+
+    /**
+     * The number of connections for reads that were allowed on a replica but went to the primary.
+     */
+    public long getPrimaryReadConnections() {
+        return primaryReadConnections.sum();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (final var replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package ch.cern.todo.replication;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends the read-only transactions of {@code GET} requests to read replicas when {@code todo.replication.enabled} is
+ * set, and everything else to the primary configured by {@code spring.datasource}.
+ * <p>
+ * The pools are not beans of their own: the application and JPA only see the routing data source, so nothing can
+ * bypass it by injecting a pool.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "todo.replication.enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReplicationConfiguration {
+    private static final String PRIMARY_POOL_NAME = "primary";
+    private static final String REPLICA_POOL_NAME_PREFIX = "replica-";
+
+    @Bean
+    public ReplicaSet replicaSet(DataSourceProperties dataSourceProperties, Environment environment,
+                                 @Value("${todo.replication.replica-urls}") List<String> replicaUrls,
+                                 @Value("${todo.replication.replica-username:${spring.datasource.username:}}") String replicaUsername,
+                                 @Value("${todo.replication.replica-password:${spring.datasource.password:}}") String replicaPassword,
+                                 @Value("${todo.replication.replica-pool-size:10}") int replicaPoolSize,
+                                 @Value("${todo.replication.max-lag:PT5S}") Duration maxLag) {
+        final var primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName(PRIMARY_POOL_NAME);
+
+        final var replicas = new ArrayList<Replica>(replicaUrls.size());
+        for (final var replicaUrl : replicaUrls) {
+            final var replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .url(replicaUrl)
+                    .username(replicaUsername)
+                    .password(replicaPassword)
+                    .build();
+            replica.setPoolName(REPLICA_POOL_NAME_PREFIX + replicas.size());
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            replicas.add(new Replica(replica.getPoolName(), replica));
+        }
+
+        return new ReplicaSet(primary, replicas, maxLag);
+    }
+
+    /**
+     * A transaction is only marked read-only after it began, so the connection is taken lazily, when the first statement
+     * runs, to be routed by then.
+     */
+    @Bean
+    public DataSource dataSource(ReplicaSet replicaSet) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(replicaSet));
+    }
+
+    @Bean
+    public static BeanPostProcessor replicaReadsJpaDialectPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                // After initialization, which would replace the dialect with the one of the entity manager factory.
+                if (bean instanceof JpaTransactionManager transactionManager) {
+                    transactionManager.setJpaDialect(new ReplicaReadsJpaDialect());
+                }
+
+                return bean;
+            }
+        };
+    }
+}
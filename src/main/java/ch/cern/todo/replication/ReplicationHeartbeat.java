@@ -0,0 +1,74 @@
+package ch.cern.todo.replication;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Measures how far each replica has replicated the primary: writes the current time to a heartbeat row on the primary
+ * and reads the row back from every replica. Everything committed on the primary before the time a replica returns is
+ * on that replica, whatever replicates it, as long as it replicates the heartbeat table like any other.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.replication.enabled", havingValue = "true")
+public class ReplicationHeartbeat {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicationHeartbeat.class);
+
+    private static final String CREATE_TABLE = "create table if not exists replication_heartbeat (id int primary key, beat_at bigint not null)";
+    private static final String UPDATE_BEAT = "update replication_heartbeat set beat_at = ? where id = 1";
+    private static final String INSERT_BEAT = "insert into replication_heartbeat (id, beat_at) values (1, ?)";
+    private static final String SELECT_BEAT = "select beat_at from replication_heartbeat where id = 1";
+
+    private final ReplicaSet replicaSet;
+
+    private final JdbcTemplate primary;
+
+    private final LongSupplier clock;
+
+    private volatile boolean tableCreated;
+
+    @Autowired
+    public ReplicationHeartbeat(ReplicaSet replicaSet) {
+        this(replicaSet, System::currentTimeMillis);
+    }
+
+    ReplicationHeartbeat(ReplicaSet replicaSet, LongSupplier clock) {
+        this.replicaSet = replicaSet;
+        this.primary = new JdbcTemplate(replicaSet.getPrimary());
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${todo.replication.heartbeat-interval:PT1S}")
+    public void beat() {
+        if (!tableCreated) {
+            primary.execute(CREATE_TABLE);
+            tableCreated = true;
+        }
+
+        final var now = clock.getAsLong();
+        if (primary.update(UPDATE_BEAT, now) == 0) {
+            primary.update(INSERT_BEAT, now);
+        }
+
+        replicaSet.getReplicas().forEach(this::readBeat);
+    }
+
+    private void readBeat(Replica replica) {
+        try {
+            final var beats = new JdbcTemplate(replica.getDataSource()).queryForList(SELECT_BEAT, Long.class);
+            if (!beats.isEmpty()) {
+                replica.setReplicatedUpTo(beats.get(0));
+            }
+        } catch (DataAccessException e) {
+            // The lag keeps growing, so reads stop going to the replica once it exceeds the maximum.
+            LOGGER.debug("Could not read the heartbeat of replica {}", replica.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package ch.cern.todo.repositories;
+
+/**
+ * Projection of the number of tasks per category.
+ */
+public interface TaskCategoryCount {
+
+    long getCategoryId();
+
+    long getTasks();
+}
@@ -1,13 +1,28 @@
 package ch.cern.todo.repositories;
 
 import ch.cern.todo.core.TaskCategory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 @Repository
 public interface TaskCategoryRepository extends JpaRepository<TaskCategory, Long> {
 
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = TaskCategory.QUERY_CACHE_REGION)})
     TaskCategory findByName(String name);
 
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = TaskCategory.QUERY_CACHE_REGION)})
     boolean existsByName(String name);
+
+    List<TaskCategory> findByNameIn(Collection<String> names);
+
+    List<TaskCategory> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
 }
@@ -0,0 +1,13 @@
+package ch.cern.todo.repositories;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the deadline of a task.
+ */
+public interface TaskDeadline {
+
+    long getId();
+
+    LocalDateTime getDeadline();
+}
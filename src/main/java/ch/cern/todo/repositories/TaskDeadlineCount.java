@@ -0,0 +1,15 @@
+package ch.cern.todo.repositories;
+
+/**
+ * Projection of the number of tasks per deadline day.
+ */
+public interface TaskDeadlineCount {
+
+    int getYear();
+
+    int getMonth();
+
+    int getDay();
+
+    long getTasks();
+}
@@ -0,0 +1,74 @@
+package ch.cern.todo.repositories;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A field of a task that can be selected on its own, with its path in the API and its expression in JPQL.
+ */
+public enum TaskField {
+    ID("id", "t.id", false),
+    NAME("name", "t.name", false),
+    DESCRIPTION("description", "t.description", false),
+    DEADLINE("deadline", "t.deadline", false),
+    // The foreign key is a column of the task, only the other category fields need the join.
+    CATEGORY_ID("category.id", "t.category.id", false),
+    CATEGORY_NAME("category.name", "c.name", true),
+    CATEGORY_DESCRIPTION("category.description", "c.description", true);
+
+    private static final String CATEGORY = "category";
+    private static final String UNKNOWN_FIELD = "Unknown task field '%s', tasks have the fields id, name, description, deadline, "
+            + "category.id, category.name and category.description.";
+
+    private final String path;
+
+    private final String expression;
+
+    private final boolean joinsCategory;
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public boolean joinsCategory() {
+        return joinsCategory;
+    }
+
+    TaskField(final String path, final String expression, final boolean joinsCategory) {
+        this.path = path;
+        this.expression = expression;
+        this.joinsCategory = joinsCategory;
+    }
+
+    /**
+     * Parses a comma separated list of field paths; {@code category} selects all fields of the category.
+     */
+    public static Set<TaskField> parse(final String fields) {
+        final var parsedFields = EnumSet.noneOf(TaskField.class);
+        for (final var path : fields.split(",")) {
+            final var trimmedPath = path.trim();
+            if (trimmedPath.equals(CATEGORY)) {
+                parsedFields.addAll(EnumSet.of(CATEGORY_ID, CATEGORY_NAME, CATEGORY_DESCRIPTION));
+                continue;
+            }
+
+            parsedFields.add(ofPath(trimmedPath));
+        }
+
+        return parsedFields;
+    }
+
+    private static TaskField ofPath(final String path) {
+        for (final var field : values()) {
+            if (field.path.equals(path)) {
+                return field;
+            }
+        }
+
+        throw new IllegalArgumentException(String.format(UNKNOWN_FIELD, path));
+    }
+}
@@ -0,0 +1,38 @@
+package ch.cern.todo.repositories;
+
+import java.time.LocalDateTime;
+
+/**
+ * Restricts a task query. Every criterion is optional; {@code dueAfter} is inclusive and {@code dueBefore} exclusive.
+ */
+public final class TaskFilter {
+    private static final TaskFilter NONE = new TaskFilter(null, null, null);
+
+    private final LocalDateTime dueAfter;
+
+    private final LocalDateTime dueBefore;
+
+    private final Long categoryId;
+
+    public LocalDateTime getDueAfter() {
+        return dueAfter;
+    }
+
+    public LocalDateTime getDueBefore() {
+        return dueBefore;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public TaskFilter(final LocalDateTime dueAfter, final LocalDateTime dueBefore, final Long categoryId) {
+        this.dueAfter = dueAfter;
+        this.dueBefore = dueBefore;
+        this.categoryId = categoryId;
+    }
+
+    public static TaskFilter none() {
+        return NONE;
+    }
+}
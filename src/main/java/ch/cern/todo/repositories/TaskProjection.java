@@ -0,0 +1,43 @@
+package ch.cern.todo.repositories;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The selected fields of a task, read without loading the entity.
+ */
+public final class TaskProjection {
+
+    private final Map<TaskField, Object> values;
+
+    /**
+     * The selected fields, in declaration order.
+     */
+    public Set<TaskField> getFields() {
+        return values.keySet();
+    }
+
+    public Object get(final TaskField field) {
+        return values.get(field);
+    }
+
+    /**
+     * The id, which is selected for every projection.
+     */
+    public long getId() {
+        return (Long) values.get(TaskField.ID);
+    }
+
+    /**
+     * The deadline, if it was selected.
+     */
+    public LocalDateTime getDeadline() {
+        return (LocalDateTime) values.get(TaskField.DEADLINE);
+    }
+
+    public TaskProjection(final Map<TaskField, Object> values) {
+        this.values = new EnumMap<>(values);
+    }
+}
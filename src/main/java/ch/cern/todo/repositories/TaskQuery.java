@@ -0,0 +1,52 @@
+package ch.cern.todo.repositories;
+
+import java.time.LocalDateTime;
+
+/**
+ * A keyset page of tasks: the tasks matching {@code filter} that follow the task identified by
+ * {@code afterId} (and {@code afterDeadline} when sorting by deadline) in {@code sort} order.
+ */
+public final class TaskQuery {
+
+    private final TaskFilter filter;
+
+    private final TaskSort sort;
+
+    private final long afterId;
+
+    private final LocalDateTime afterDeadline;
+
+    private final int limit;
+
+    public TaskFilter getFilter() {
+        return filter;
+    }
+
+    public TaskSort getSort() {
+        return sort;
+    }
+
+    public long getAfterId() {
+        return afterId;
+    }
+
+    public LocalDateTime getAfterDeadline() {
+        return afterDeadline;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public TaskQuery(final TaskFilter filter, final TaskSort sort, final long afterId, final LocalDateTime afterDeadline, final int limit) {
+        this.filter = filter;
+        this.sort = sort;
+        this.afterId = afterId;
+        this.afterDeadline = afterDeadline;
+        this.limit = limit;
+    }
+
+    public static TaskQuery firstPage(final int limit) {
+        return new TaskQuery(TaskFilter.none(), TaskSort.ID, 0, null, limit);
+    }
+}
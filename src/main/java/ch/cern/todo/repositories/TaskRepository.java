@@ -1,9 +1,61 @@
 package ch.cern.todo.repositories;
 
 import ch.cern.todo.core.Task;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+    String STREAM_FETCH_SIZE = "1000";
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Task> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Optional<Task> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Task> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(attributePaths = "category")
+    List<Task> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+    @Query("select t.id as id, t.name as name, t.description as description from Task t where t.id > :afterId order by t.id")
+    List<TaskText> findTextByIdGreaterThan(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("select t.id as id, t.deadline as deadline from Task t where t.id > :afterId and t.deadline > :deadline order by t.id")
+    List<TaskDeadline> findDeadlinesByIdGreaterThanAndDeadlineAfter(@Param("afterId") long afterId, @Param("deadline") LocalDateTime deadline, Pageable pageable);
+
+    @Query("select t.category.id as categoryId, count(t) as tasks from Task t group by t.category.id")
+    List<TaskCategoryCount> countPerCategory();
+
+    @Query("select year(t.deadline) as year, month(t.deadline) as month, day(t.deadline) as day, count(t) as tasks from Task t "
+            + "where t.deadline >= :from group by year(t.deadline), month(t.deadline), day(t.deadline)")
+    List<TaskDeadlineCount> countPerDeadlineDayFrom(@Param("from") LocalDateTime from);
+
+    long countByDeadlineBefore(LocalDateTime deadline);
+
+    /**
+     * Streams all tasks with their categories through a single cursor. Must be consumed inside a transaction.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select t from Task t join fetch t.category order by t.id")
+    Stream<Task> streamAll();
 }
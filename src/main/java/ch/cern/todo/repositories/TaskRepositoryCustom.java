@@ -0,0 +1,33 @@
+package ch.cern.todo.repositories;
+
+import ch.cern.todo.core.Task;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface TaskRepositoryCustom {
+
+    List<Task> findPage(TaskQuery query);
+
+    /**
+     * Returns the same page as {@link #findPage(TaskQuery)}, but reads only the given fields instead of the entities.
+     * The id, and the deadline when sorting by it, are always read to build the cursor of the next page.
+     */
+    List<TaskProjection> findPage(TaskQuery query, Set<TaskField> fields);
+
+    /**
+     * Reads the given fields and the id of the tasks with the given ids, in no particular order.
+     */
+    List<TaskProjection> findByIds(Collection<Long> ids, Set<TaskField> fields);
+
+    /**
+     * Moves every task matching the filter to the given category in a single bulk update and returns the number of
+     * tasks moved out of each category. Tasks already in that category are left alone. The moved tasks are counted by a
+     * grouped count over the same filter right before the update, so the counts can only be off by the tasks that
+     * concurrent transactions commit in between. The update bypasses the persistence context, so tasks loaded before in
+     * the same transaction are stale afterwards.
+     */
+    Map<Long, Long> moveToCategory(TaskFilter filter, long categoryId);
+}
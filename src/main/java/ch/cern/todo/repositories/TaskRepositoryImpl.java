@@ -0,0 +1,173 @@
+package ch.cern.todo.repositories;
+
+import ch.cern.todo.core.Task;
+import ch.cern.todo.core.TaskCategory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the task page query from only the criteria that are set, so that each combination of filters reaches the
+ * database as a plain range condition that can use the deadline indexes declared on {@link Task}. Queries restricted to
+ * a set of {@link TaskField}s select only their columns, and join the category only if one of its columns is requested.
+ */
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public TaskRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Task> findPage(TaskQuery query) {
+        final var conditions = new ArrayList<String>();
+        final var parameters = new HashMap<String, Object>();
+        addFilterConditions(query.getFilter(), conditions, parameters);
+        final var orderBy = addKeysetConditions(query, conditions, parameters);
+
+        final var jpql = "select t from Task t join fetch t.category" + where(conditions) + orderBy;
+        final var typedQuery = entityManager.createQuery(jpql, Task.class).setMaxResults(query.getLimit());
+        parameters.forEach(typedQuery::setParameter);
+
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public List<TaskProjection> findPage(TaskQuery query, Set<TaskField> fields) {
+        final var conditions = new ArrayList<String>();
+        final var parameters = new HashMap<String, Object>();
+        addFilterConditions(query.getFilter(), conditions, parameters);
+        final var orderBy = addKeysetConditions(query, conditions, parameters);
+
+        // The cursor of the next page is built from the sort key, so it is read even if it was not requested.
+        final var selectedFields = EnumSet.copyOf(fields);
+        selectedFields.add(TaskField.ID);
+        if (query.getSort() == TaskSort.DEADLINE) {
+            selectedFields.add(TaskField.DEADLINE);
+        }
+
+        final var jpql = select(selectedFields) + where(conditions) + orderBy;
+        final var tupleQuery = entityManager.createQuery(jpql, Tuple.class).setMaxResults(query.getLimit());
+        parameters.forEach(tupleQuery::setParameter);
+
+        return toProjections(tupleQuery.getResultList(), selectedFields);
+    }
+
+    @Override
+    public List<TaskProjection> findByIds(Collection<Long> ids, Set<TaskField> fields) {
+        final var selectedFields = EnumSet.copyOf(fields);
+        selectedFields.add(TaskField.ID);
+
+        final var jpql = select(selectedFields) + " where t.id in :ids";
+        final var tupleQuery = entityManager.createQuery(jpql, Tuple.class).setParameter("ids", ids);
+
+        return toProjections(tupleQuery.getResultList(), selectedFields);
+    }
+
+    @Override
+    public Map<Long, Long> moveToCategory(TaskFilter filter, long categoryId) {
+        final var conditions = new ArrayList<String>();
+        final var parameters = new HashMap<String, Object>();
+        addFilterConditions(filter, conditions, parameters);
+        conditions.add("t.category.id <> :targetCategoryId");
+        parameters.put("targetCategoryId", categoryId);
+
+        final var countJpql = "select t.category.id, count(t) from Task t" + where(conditions) + " group by t.category.id";
+        final var countQuery = entityManager.createQuery(countJpql, Tuple.class);
+        parameters.forEach(countQuery::setParameter);
+        final var movedTasks = new HashMap<Long, Long>();
+        for (final var count : countQuery.getResultList()) {
+            movedTasks.put(count.get(0, Long.class), count.get(1, Long.class));
+        }
+
+        if (movedTasks.isEmpty()) {
+            return movedTasks;
+        }
+
+        // Bulk updates skip optimistic locking, so the version is bumped here to invalidate the entity tags of the moved tasks.
+        final var jpql = "update Task t set t.category = :targetCategory, t.version = t.version + 1" + where(conditions);
+        final var updateQuery = entityManager.createQuery(jpql);
+        parameters.forEach(updateQuery::setParameter);
+        updateQuery.setParameter("targetCategory", entityManager.getReference(TaskCategory.class, categoryId));
+        updateQuery.executeUpdate();
+
+        return movedTasks;
+    }
+
+    static void addFilterConditions(TaskFilter filter, List<String> conditions, Map<String, Object> parameters) {
+        if (filter.getCategoryId() != null) {
+            conditions.add("t.category.id = :categoryId");
+            parameters.put("categoryId", filter.getCategoryId());
+        }
+
+        if (filter.getDueAfter() != null) {
+            conditions.add("t.deadline >= :dueAfter");
+            parameters.put("dueAfter", filter.getDueAfter());
+        }
+
+        if (filter.getDueBefore() != null) {
+            conditions.add("t.deadline < :dueBefore");
+            parameters.put("dueBefore", filter.getDueBefore());
+        }
+    }
+
+    /**
+     * Adds the condition that starts the page after the cursor of the query and returns the matching order by clause.
+     */
+    static String addKeysetConditions(TaskQuery query, List<String> conditions, Map<String, Object> parameters) {
+        if (query.getSort() == TaskSort.DEADLINE) {
+            if (query.getAfterDeadline() != null) {
+                // The redundant 'deadline >=' keeps the keyset condition usable as an index range.
+                conditions.add("t.deadline >= :afterDeadline and (t.deadline > :afterDeadline or t.id > :afterId)");
+                parameters.put("afterDeadline", query.getAfterDeadline());
+                parameters.put("afterId", query.getAfterId());
+            }
+            return " order by t.deadline, t.id";
+        }
+
+        if (query.getAfterId() > 0) {
+            conditions.add("t.id > :afterId");
+            parameters.put("afterId", query.getAfterId());
+        }
+        return " order by t.id";
+    }
+
+    /**
+     * Selects only the expressions of the given fields, joining the category only if one of them is read from it.
+     */
+    static String select(Set<TaskField> fields) {
+        final var expressions = fields.stream().map(TaskField::getExpression).collect(Collectors.joining(", "));
+        final var joinsCategory = fields.stream().anyMatch(TaskField::joinsCategory);
+        return "select " + expressions + " from Task t" + (joinsCategory ? " join t.category c" : "");
+    }
+
+    private static List<TaskProjection> toProjections(List<Tuple> tuples, Set<TaskField> fields) {
+        final var projections = new ArrayList<TaskProjection>(tuples.size());
+        for (final var tuple : tuples) {
+            final var values = new EnumMap<TaskField, Object>(TaskField.class);
+            var position = 0;
+            for (final var field : fields) {
+                values.put(field, tuple.get(position++));
+            }
+            projections.add(new TaskProjection(values));
+        }
+
+        return projections;
+    }
+
+    static String where(List<String> conditions) {
+        return conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+    }
+}
@@ -0,0 +1,6 @@
+package ch.cern.todo.repositories;
+
+public enum TaskSort {
+    ID,
+    DEADLINE
+}
@@ -0,0 +1,13 @@
+package ch.cern.todo.repositories;
+
+/**
+ * Projection of the searchable text of a task.
+ */
+public interface TaskText {
+
+    long getId();
+
+    String getName();
+
+    String getDescription();
+}
@@ -0,0 +1,48 @@
+package ch.cern.todo.repositories.reactive;
+
+import ch.cern.todo.core.TaskCategory;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of the read methods of {@link ch.cern.todo.repositories.TaskCategoryRepository}.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveTaskCategoryRepository {
+    private static final String SELECT_TASK_CATEGORIES = "select c.id, c.name, c.description, c.version from task_category c";
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ReactiveTaskCategoryRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<TaskCategory> findById(long id) {
+        return databaseClient.sql(SELECT_TASK_CATEGORIES + " where c.id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> mapToTaskCategory(row))
+                .one();
+    }
+
+    public Flux<TaskCategory> findByIdGreaterThanOrderByIdAsc(long id, int limit) {
+        return databaseClient.sql(SELECT_TASK_CATEGORIES + " where c.id > :id order by c.id limit :limit")
+                .bind("id", id)
+                .bind("limit", limit)
+                .map((row, metadata) -> mapToTaskCategory(row))
+                .all();
+    }
+
+    private static TaskCategory mapToTaskCategory(Row row) {
+        final var taskCategory = new TaskCategory(row.get("name", String.class), row.get("description", String.class));
+        taskCategory.setId(row.get("id", Long.class));
+        taskCategory.setVersion(row.get("version", Long.class));
+        return taskCategory;
+    }
+}
@@ -0,0 +1,58 @@
+package ch.cern.todo.repositories.reactive;
+
+import ch.cern.todo.core.Task;
+import ch.cern.todo.core.TaskCategory;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking counterpart of the read methods of {@link ch.cern.todo.repositories.TaskRepository}. Tasks are always
+ * read together with their category, like the entity graph of the JPA repository does.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveTaskRepository {
+    private static final String SELECT_TASKS = "select t.id, t.name, t.description, t.deadline, t.version,"
+            + " c.id as category_id, c.name as category_name, c.description as category_description, c.version as category_version"
+            + " from task t join task_category c on c.id = t.category_id";
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ReactiveTaskRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Task> findById(long id) {
+        return databaseClient.sql(SELECT_TASKS + " where t.id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> mapToTask(row))
+                .one();
+    }
+
+    public Flux<Task> findByIdGreaterThanOrderByIdAsc(long id, int limit) {
+        return databaseClient.sql(SELECT_TASKS + " where t.id > :id order by t.id limit :limit")
+                .bind("id", id)
+                .bind("limit", limit)
+                .map((row, metadata) -> mapToTask(row))
+                .all();
+    }
+
+    private static Task mapToTask(Row row) {
+        final var taskCategory = new TaskCategory(row.get("category_name", String.class), row.get("category_description", String.class));
+        taskCategory.setId(row.get("category_id", Long.class));
+        taskCategory.setVersion(row.get("category_version", Long.class));
+
+        final var task = new Task(row.get("name", String.class), row.get("description", String.class), row.get("deadline", LocalDateTime.class), taskCategory);
+        task.setId(row.get("id", Long.class));
+        task.setVersion(row.get("version", Long.class));
+        return task;
+    }
+}
@@ -0,0 +1,352 @@
+package ch.cern.todo.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the name and description of tasks.
+ * <p>
+ * Every token maps to the ids of the tasks containing it together with a term weight, where occurrences in the name
+ * count more than occurrences in the description. A weight saturates at one occurrence in each, so that a token
+ * repeated within a task does not outrank a task matching more tokens. The postings of a token are kept as primitive
+ * arrays sorted by task id, see {@link TermPostings}.
+ * <p>
+ * A search ranks the tasks by TF-IDF and only visits the postings of the query tokens, so its cost grows with the
+ * number of tasks containing them. It walks the postings of all query tokens in task id order and keeps the best
+ * tasks in a bounded heap. Once the heap is full, a token whose highest possible contribution cannot lift a task above
+ * the worst kept one, alone or together with the other such tokens, is no longer walked but only probed for the tasks
+ * found through the remaining tokens (MaxScore). Thanks to the saturated weights, the postings of a common token
+ * quickly yield enough tasks with its highest weight, so such a token is mostly probed instead of walked. In the worst
+ * case a search still visits every posting of its tokens.
+ * <p>
+ * Searches share a read lock, changes take the write lock only for updating the postings.
+ */
+@Component
+public class TaskSearchIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int MAX_TERM_WEIGHT = NAME_WEIGHT + DESCRIPTION_WEIGHT;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, TermPostings> postings = new HashMap<>();
+
+    private final Map<Long, String[]> documentTerms = new HashMap<>();
+
+    public void index(long taskId, String name, String description) {
+        final var terms = weightedTerms(name, description);
+        lock.writeLock().lock();
+        try {
+            final var previousTerms = documentTerms.get(taskId);
+            if (previousTerms != null) {
+                removePostings(taskId, previousTerms);
+            }
+
+            documentTerms.put(taskId, addPostings(taskId, terms));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes the task unless it is already indexed, so that a rebuild never overwrites newer incremental updates.
+     */
+    public void indexIfAbsent(long taskId, String name, String description) {
+        final var terms = weightedTerms(name, description);
+        lock.writeLock().lock();
+        try {
+            if (!documentTerms.containsKey(taskId)) {
+                documentTerms.put(taskId, addPostings(taskId, terms));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long taskId) {
+        lock.writeLock().lock();
+        try {
+            final var previousTerms = documentTerms.remove(taskId);
+            if (previousTerms != null) {
+                removePostings(taskId, previousTerms);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documentTerms.clear();
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the best matching tasks, best match first.
+     */
+    public List<Long> search(String query, int limit) {
+        final var queryTerms = new LinkedHashSet<>(tokenize(query));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            final var numberOfDocuments = Math.max(documentTerms.size(), 1);
+            final var cursors = new ArrayList<TermCursor>(queryTerms.size());
+            for (final var term : queryTerms) {
+                final var termPostings = postings.get(term);
+                if (termPostings != null) {
+                    cursors.add(new TermCursor(termPostings, Math.log(1 + (double) numberOfDocuments / termPostings.documentFrequency())));
+                }
+            }
+
+            return bestTasks(cursors, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<Long> bestTasks(List<TermCursor> cursors, int limit) {
+        cursors.sort(Comparator.comparingDouble(cursor -> cursor.maxScore));
+        final var maxScoreUpTo = new double[cursors.size()];
+        var maxScoreSum = 0.0;
+        for (var i = 0; i < cursors.size(); i++) {
+            maxScoreSum += cursors.get(i).maxScore;
+            maxScoreUpTo[i] = maxScoreSum;
+        }
+
+        // The cursors before the first essential one only contribute to tasks found through the essential ones.
+        final var best = new BestTasks(limit);
+        var firstEssential = 0;
+        while (firstEssential < cursors.size()) {
+            var taskId = Long.MAX_VALUE;
+            for (var i = firstEssential; i < cursors.size(); i++) {
+                final var cursor = cursors.get(i);
+                if (!cursor.isExhausted()) {
+                    taskId = Math.min(taskId, cursor.taskId());
+                }
+            }
+            if (taskId == Long.MAX_VALUE) {
+                break;
+            }
+
+            var score = 0.0;
+            for (var i = firstEssential; i < cursors.size(); i++) {
+                final var cursor = cursors.get(i);
+                if (!cursor.isExhausted() && cursor.taskId() == taskId) {
+                    score += cursor.score();
+                    cursor.position++;
+                }
+            }
+            for (var i = firstEssential - 1; i >= 0 && score + maxScoreUpTo[i] > best.threshold(); i--) {
+                final var cursor = cursors.get(i);
+                cursor.position = cursor.postings.advance(cursor.position, taskId);
+                if (!cursor.isExhausted() && cursor.taskId() == taskId) {
+                    score += cursor.score();
+                }
+            }
+
+            if (score > 0 && best.offer(taskId, score)) {
+                while (firstEssential < cursors.size() && maxScoreUpTo[firstEssential] <= best.threshold()) {
+                    firstEssential++;
+                }
+            }
+        }
+
+        return best.toList();
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        final var tokens = new ArrayList<String>();
+        for (final var token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Map<String, Integer> weightedTerms(String name, String description) {
+        final var terms = new HashMap<String, Integer>();
+        tokenize(name).forEach(token -> terms.merge(token, NAME_WEIGHT, Integer::sum));
+        tokenize(description).forEach(token -> terms.merge(token, DESCRIPTION_WEIGHT, Integer::sum));
+        terms.replaceAll((token, weight) -> Math.min(weight, MAX_TERM_WEIGHT));
+        return Map.copyOf(terms);
+    }
+
+    /**
+     * Returns the terms of the task, sharing the strings with the keys of the postings.
+     */
+    private String[] addPostings(long taskId, Map<String, Integer> terms) {
+        final var indexedTerms = new String[terms.size()];
+        var i = 0;
+        for (final var term : terms.entrySet()) {
+            final var termPostings = postings.computeIfAbsent(term.getKey(), TermPostings::new);
+            termPostings.put(taskId, term.getValue());
+            indexedTerms[i++] = termPostings.term;
+        }
+        return indexedTerms;
+    }
+
+    private void removePostings(long taskId, String[] terms) {
+        for (final var term : terms) {
+            final var termPostings = postings.get(term);
+            if (termPostings != null && !termPostings.remove(taskId)) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static final class TermCursor {
+        final TermPostings postings;
+
+        final double inverseDocumentFrequency;
+
+        final double maxScore;
+
+        int position;
+
+        TermCursor(TermPostings postings, double inverseDocumentFrequency) {
+            this.postings = postings;
+            this.inverseDocumentFrequency = inverseDocumentFrequency;
+            this.maxScore = postings.maxWeight() * inverseDocumentFrequency;
+        }
+
+        boolean isExhausted() {
+            return position >= postings.size();
+        }
+
+        long taskId() {
+            return postings.taskId(position);
+        }
+
+        double score() {
+            return postings.weight(position) * inverseDocumentFrequency;
+        }
+    }
+
+    /**
+     * A bounded min-heap of task ids and scores. Tasks are offered in ascending id order, so a task scoring the same as
+     * the worst kept one ranks below it and is not kept.
+     */
+    private static final class BestTasks {
+        private final long[] taskIds;
+
+        private final double[] scores;
+
+        private int size;
+
+        BestTasks(int capacity) {
+            taskIds = new long[capacity];
+            scores = new double[capacity];
+        }
+
+        /**
+         * The score a task has to exceed to be kept.
+         */
+        double threshold() {
+            return size < scores.length ? 0 : scores[0];
+        }
+
+        boolean offer(long taskId, double score) {
+            if (size < scores.length) {
+                taskIds[size] = taskId;
+                scores[size] = score;
+                siftUp(size++);
+                return true;
+            }
+            if (score <= scores[0]) {
+                return false;
+            }
+
+            taskIds[0] = taskId;
+            scores[0] = score;
+            siftDown(0, size);
+            return true;
+        }
+
+        List<Long> toList() {
+            // Heap sort in place: each step moves the worst remaining task behind the heap.
+            for (var end = size - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+
+            final var result = new ArrayList<Long>(size);
+            for (var i = 0; i < size; i++) {
+                result.add(taskIds[i]);
+            }
+            return result;
+        }
+
+        private boolean isWorse(int a, int b) {
+            return scores[a] < scores[b] || (scores[a] == scores[b] && taskIds[a] > taskIds[b]);
+        }
+
+        private void siftUp(int position) {
+            while (position > 0) {
+                final var parent = (position - 1) / 2;
+                if (!isWorse(position, parent)) {
+                    return;
+                }
+                swap(position, parent);
+                position = parent;
+            }
+        }
+
+        private void siftDown(int position, int end) {
+            while (true) {
+                final var left = 2 * position + 1;
+                if (left >= end) {
+                    return;
+                }
+
+                final var right = left + 1;
+                final var worstChild = right < end && isWorse(right, left) ? right : left;
+                if (!isWorse(worstChild, position)) {
+                    return;
+                }
+                swap(position, worstChild);
+                position = worstChild;
+            }
+        }
+
+        private void swap(int a, int b) {
+            final var taskId = taskIds[a];
+            taskIds[a] = taskIds[b];
+            taskIds[b] = taskId;
+            final var score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
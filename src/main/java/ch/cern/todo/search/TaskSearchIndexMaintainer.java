@@ -0,0 +1,60 @@
+package ch.cern.todo.search;
+
+import ch.cern.todo.repositories.TaskRepository;
+import ch.cern.todo.services.events.TaskChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the {@link TaskSearchIndex} in sync with the database: rebuilds it when the application starts and applies
+ * every committed task change afterwards.
+ */
+@Component
+public class TaskSearchIndexMaintainer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskSearchIndexMaintainer.class);
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+
+    private final TaskSearchIndex taskSearchIndex;
+
+    private final TaskRepository taskRepository;
+
+    @Autowired
+    public TaskSearchIndexMaintainer(TaskSearchIndex taskSearchIndex, TaskRepository taskRepository) {
+        this.taskSearchIndex = taskSearchIndex;
+        this.taskRepository = taskRepository;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() == TaskChangedEvent.Type.DELETED) {
+            taskSearchIndex.remove(event.getTaskId());
+        } else {
+            final var task = event.getAfter();
+            taskSearchIndex.index(task.getId(), task.getName(), task.getDescription());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        final var start = System.nanoTime();
+        var afterId = 0L;
+        while (true) {
+            final var page = taskRepository.findTextByIdGreaterThan(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+
+            // Tokenizing dominates the rebuild, so each page is indexed on all cores.
+            page.parallelStream().forEach(task -> taskSearchIndex.indexIfAbsent(task.getId(), task.getName(), task.getDescription()));
+            afterId = page.get(page.size() - 1).getId();
+        }
+
+        LOGGER.info("Indexed {} tasks for search in {} ms", taskSearchIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
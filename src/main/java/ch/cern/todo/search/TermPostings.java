@@ -0,0 +1,134 @@
+package ch.cern.todo.search;
+
+import java.util.Arrays;
+
+/**
+ * The tasks containing one term, as parallel primitive arrays sorted by task id.
+ * <p>
+ * A removed task keeps its slot with a weight of zero until more than half of the slots are removed, so that a removal
+ * does not shift the arrays. Tasks are mostly indexed in the order of their ids, which appends to the arrays. Not
+ * thread-safe, the {@link TaskSearchIndex} guards all access.
+ */
+final class TermPostings {
+    private static final int INITIAL_CAPACITY = 4;
+
+    final String term;
+
+    private long[] taskIds = new long[INITIAL_CAPACITY];
+
+    private int[] weights = new int[INITIAL_CAPACITY];
+
+    private int size;
+
+    private int removed;
+
+    private int maxWeight;
+
+    TermPostings(String term) {
+        this.term = term;
+    }
+
+    void put(long taskId, int weight) {
+        final var position = Arrays.binarySearch(taskIds, 0, size, taskId);
+        if (position >= 0) {
+            if (weights[position] == 0) {
+                removed--;
+            }
+            weights[position] = weight;
+        } else {
+            insert(-position - 1, taskId, weight);
+        }
+
+        maxWeight = Math.max(maxWeight, weight);
+    }
+
+    /**
+     * Returns whether any task still contains the term.
+     */
+    boolean remove(long taskId) {
+        final var position = Arrays.binarySearch(taskIds, 0, size, taskId);
+        if (position >= 0 && weights[position] != 0) {
+            weights[position] = 0;
+            removed++;
+            if (removed * 2 > size) {
+                compact();
+            }
+        }
+
+        return documentFrequency() > 0;
+    }
+
+    int documentFrequency() {
+        return size - removed;
+    }
+
+    /**
+     * An upper bound of the weights, which is only tightened when the postings are compacted.
+     */
+    int maxWeight() {
+        return maxWeight;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long taskId(int position) {
+        return taskIds[position];
+    }
+
+    int weight(int position) {
+        return weights[position];
+    }
+
+    /**
+     * Returns the first position from {@code from} on whose task id is not smaller than the given one, or the size.
+     */
+    int advance(int from, long taskId) {
+        if (from >= size || taskIds[from] >= taskId) {
+            return from;
+        }
+
+        // Gallop first, the target is usually close to the current position.
+        var bound = 1;
+        while (from + bound < size && taskIds[from + bound] < taskId) {
+            bound <<= 1;
+        }
+
+        final var position = Arrays.binarySearch(taskIds, from + (bound >> 1), Math.min(from + bound + 1, size), taskId);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    private void insert(int position, long taskId, int weight) {
+        if (size == taskIds.length) {
+            final var capacity = size + (size >> 1) + 1;
+            taskIds = Arrays.copyOf(taskIds, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+
+        System.arraycopy(taskIds, position, taskIds, position + 1, size - position);
+        System.arraycopy(weights, position, weights, position + 1, size - position);
+        taskIds[position] = taskId;
+        weights[position] = weight;
+        size++;
+    }
+
+    private void compact() {
+        var kept = 0;
+        maxWeight = 0;
+        for (var i = 0; i < size; i++) {
+            if (weights[i] != 0) {
+                taskIds[kept] = taskIds[i];
+                weights[kept] = weights[i];
+                maxWeight = Math.max(maxWeight, weights[i]);
+                kept++;
+            }
+        }
+
+        size = kept;
+        removed = 0;
+        final var capacity = Math.max(size + (size >> 1), INITIAL_CAPACITY);
+        taskIds = Arrays.copyOf(taskIds, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+    }
+}
@@ -0,0 +1,282 @@
+package ch.cern.todo.seeding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the database with {@code todo.seed.categories} task categories and {@code todo.seed.tasks} tasks before the
+ * application starts serving, see {@link SyntheticTasks} for their distributions. It is started as a lifecycle of an
+ * earlier phase than the web server, which therefore only starts once the data is in.
+ * <p>
+ * The tasks bypass JPA: they are written by {@code todo.seed.threads} connections in parallel, with multi-row inserts
+ * of {@value #ROWS_PER_STATEMENT} rows that are sent in JDBC batches and committed once per chunk. Every chunk is
+ * generated from its own seed, so the same settings produce the same data regardless of the number of threads. The ids
+ * continue after the largest existing one, and the task sequence is moved past them so that tasks created through the
+ * API afterwards do not collide. No other instance may write tasks to the database while it is seeded.
+ */
+@Component
+@Profile("seed")
+public class DatasetGenerator implements SmartLifecycle {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatasetGenerator.class);
+    private static final int ROWS_PER_STATEMENT = 100;
+    private static final int STATEMENTS_PER_BATCH = 10;
+    private static final int ROWS_PER_CHUNK = ROWS_PER_STATEMENT * STATEMENTS_PER_BATCH * 10;
+    private static final long PROGRESS_INTERVAL = 1_000_000;
+    // Must match the allocation size of the task id generator, see Task.
+    private static final int TASK_ID_ALLOCATION_SIZE = 50;
+    // The web server starts in phase Integer.MAX_VALUE - 1.
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 1024;
+
+    private final DataSource dataSource;
+
+    private final ConfigurableApplicationContext context;
+
+    private final int categories;
+
+    private final long tasks;
+
+    private final double categorySkew;
+
+    private final LocalDate firstDeadlineDay;
+
+    private final LocalDate lastDeadlineDay;
+
+    private final int threads;
+
+    private final long seed;
+
+    private final boolean exitAfterSeeding;
+
+    private volatile boolean running;
+
+    @Autowired
+    public DatasetGenerator(DataSource dataSource, ConfigurableApplicationContext context,
+                            @Value("${todo.seed.categories:1000}") int categories,
+                            @Value("${todo.seed.tasks:1000000}") long tasks,
+                            @Value("${todo.seed.category-skew:1.1}") double categorySkew,
+                            @Value("${todo.seed.deadline-years-before:3}") int deadlineYearsBefore,
+                            @Value("${todo.seed.deadline-years-after:2}") int deadlineYearsAfter,
+                            @Value("${todo.seed.threads:4}") int threads,
+                            @Value("${todo.seed.seed:42}") long seed,
+                            @Value("${todo.seed.exit-after-seeding:false}") boolean exitAfterSeeding) {
+        this.dataSource = dataSource;
+        this.context = context;
+        this.categories = categories;
+        this.tasks = tasks;
+        this.categorySkew = categorySkew;
+        this.firstDeadlineDay = LocalDate.now().minusYears(deadlineYearsBefore);
+        this.lastDeadlineDay = LocalDate.now().plusYears(deadlineYearsAfter);
+        this.threads = threads;
+        this.seed = seed;
+        this.exitAfterSeeding = exitAfterSeeding;
+    }
+
+    @Override
+    public void start() {
+        try {
+            seed();
+        } catch (SQLException | ExecutionException e) {
+            throw new IllegalStateException("Seeding the database failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Seeding the database was interrupted", e);
+        }
+
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Runs once the context has been refreshed, before the seeded tasks are loaded on {@code ApplicationReadyEvent}.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void exitIfRequested() {
+        if (exitAfterSeeding) {
+            // Skip loading the seeded tasks into the in-memory search index, statistics and reminders.
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private void seed() throws SQLException, InterruptedException, ExecutionException {
+        final var start = System.nanoTime();
+        final var categoryIds = insertCategories();
+        final var firstTaskId = queryLong("select coalesce(max(id), 0) from task") + 1;
+        insertTasks(categoryIds, firstTaskId);
+        execute("alter sequence task_seq restart with " + (firstTaskId + tasks - 1 + TASK_ID_ALLOCATION_SIZE));
+
+        final var seconds = (System.nanoTime() - start) / 1e9;
+        LOGGER.info("Seeded {} task categories and {} tasks in {} s ({} tasks/s)", categories, tasks,
+                String.format("%.1f", seconds), String.format("%.0f", tasks / seconds));
+    }
+
+    private long[] insertCategories() throws SQLException {
+        // Prefixed per run, so that seeding an already seeded database does not violate the unique category names.
+        final var prefix = "Category " + Long.toString(System.currentTimeMillis(), Character.MAX_RADIX) + "-";
+        try (final var connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (final var statement = connection.prepareStatement("insert into task_category (name, description, version) values (?, ?, 0)")) {
+                final var random = new SplittableRandom(seed);
+                final var syntheticTasks = new SyntheticTasks(1, 0, firstDeadlineDay, lastDeadlineDay);
+                for (var i = 0; i < categories; i++) {
+                    statement.setString(1, prefix + i);
+                    statement.setString(2, syntheticTasks.description(random));
+                    statement.addBatch();
+                }
+
+                statement.executeBatch();
+            }
+
+            final var categoryIds = new long[categories];
+            try (final var statement = connection.prepareStatement("select id from task_category where name like ? order by id")) {
+                statement.setString(1, prefix + "%");
+                try (final var resultSet = statement.executeQuery()) {
+                    for (var i = 0; resultSet.next(); i++) {
+                        categoryIds[i] = resultSet.getLong(1);
+                    }
+                }
+            }
+
+            connection.commit();
+            return categoryIds;
+        }
+    }
+
+    private void insertTasks(long[] categoryIds, long firstTaskId) throws InterruptedException, ExecutionException {
+        final var syntheticTasks = new SyntheticTasks(categories, categorySkew, firstDeadlineDay, lastDeadlineDay);
+        final var chunks = Math.ceilDiv(tasks, ROWS_PER_CHUNK);
+        final var nextChunk = new AtomicLong();
+        final var insertedTasks = new AtomicLong();
+        final var executor = Executors.newFixedThreadPool(threads);
+        try {
+            final var workers = new ArrayList<Future<Void>>();
+            for (var i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    try (final var connection = dataSource.getConnection()) {
+                        connection.setAutoCommit(false);
+                        for (var chunk = nextChunk.getAndIncrement(); chunk < chunks; chunk = nextChunk.getAndIncrement()) {
+                            final var chunkStart = chunk * ROWS_PER_CHUNK;
+                            final var chunkRows = (int) Math.min(ROWS_PER_CHUNK, tasks - chunkStart);
+                            insertChunk(connection, syntheticTasks, categoryIds, new SplittableRandom(seed + chunk), firstTaskId + chunkStart, chunkRows);
+                            connection.commit();
+
+                            final var inserted = insertedTasks.addAndGet(chunkRows);
+                            if (inserted / PROGRESS_INTERVAL != (inserted - chunkRows) / PROGRESS_INTERVAL) {
+                                LOGGER.info("Inserted {} of {} tasks", inserted, tasks);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            for (final var worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private static void insertChunk(Connection connection, SyntheticTasks syntheticTasks, long[] categoryIds, SplittableRandom random,
+                                    long firstId, int rows) throws SQLException {
+        final var fullStatements = rows / ROWS_PER_STATEMENT;
+        final var remainingRows = rows % ROWS_PER_STATEMENT;
+        var id = firstId;
+        if (fullStatements > 0) {
+            try (final var statement = connection.prepareStatement(insertTasksSql(ROWS_PER_STATEMENT))) {
+                for (var i = 0; i < fullStatements; i++) {
+                    bindTasks(statement, syntheticTasks, categoryIds, random, id, ROWS_PER_STATEMENT);
+                    id += ROWS_PER_STATEMENT;
+                    statement.addBatch();
+                    if ((i + 1) % STATEMENTS_PER_BATCH == 0) {
+                        statement.executeBatch();
+                    }
+                }
+
+                statement.executeBatch();
+            }
+        }
+
+        if (remainingRows > 0) {
+            try (final var statement = connection.prepareStatement(insertTasksSql(remainingRows))) {
+                bindTasks(statement, syntheticTasks, categoryIds, random, id, remainingRows);
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    private static void bindTasks(PreparedStatement statement, SyntheticTasks syntheticTasks, long[] categoryIds, SplittableRandom random,
+                                  long firstId, int rows) throws SQLException {
+        var parameter = 1;
+        for (var row = 0; row < rows; row++) {
+            statement.setLong(parameter++, firstId + row);
+            statement.setString(parameter++, syntheticTasks.name(random));
+            statement.setString(parameter++, syntheticTasks.description(random));
+            statement.setTimestamp(parameter++, Timestamp.valueOf(syntheticTasks.deadline(random)));
+            statement.setLong(parameter++, categoryIds[syntheticTasks.category(random)]);
+        }
+    }
+
+    private static String insertTasksSql(int rows) {
+        final var sql = new StringBuilder("insert into task (id, name, description, deadline, category_id, version) values ");
+        for (var row = 0; row < rows; row++) {
+            sql.append(row == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, 0)");
+        }
+
+        return sql.toString();
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.createStatement();
+             final var resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package ch.cern.todo.seeding;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Generates task fields with the shape of real data rather than of test fixtures.
+ * <p>
+ * Category sizes follow a Zipf distribution, so a few categories hold most of the tasks and most categories only a
+ * few. Deadlines are spread uniformly over a range of days spanning years, at quarter hours during working hours.
+ * Descriptions are sentences of common words whose length is skewed towards short texts but reaches the column limit.
+ */
+public final class SyntheticTasks {
+    public static final int MAX_DESCRIPTION_LENGTH = 255;
+
+    private static final String[] VERBS = {"review", "update", "prepare", "schedule", "fix", "check", "write", "clean",
+            "deploy", "migrate", "document", "test", "plan", "order", "archive", "renew", "measure", "calibrate", "install", "replace"};
+    private static final String[] NOUNS = {"report", "budget", "magnet", "detector", "cable", "proposal", "contract", "server",
+            "backup", "invoice", "meeting", "schedule", "badge", "license", "dataset", "pipeline", "cryostat", "beam", "valve", "presentation"};
+    private static final String[] WORDS = {"the", "a", "for", "with", "before", "after", "and", "of", "to", "in", "next",
+            "team", "week", "shift", "run", "access", "safety", "request", "review", "notes", "draft", "final", "urgent",
+            "check", "update", "tunnel", "site", "control", "room", "power", "supply", "cooling", "vacuum", "data", "logs"};
+
+    private final double[] cumulativeCategoryWeights;
+
+    private final LocalDate firstDeadlineDay;
+
+    private final int deadlineDays;
+
+    /**
+     * @param categories the number of categories to distribute the tasks over
+     * @param categorySkew the exponent of the Zipf distribution, 0 for categories of equal size
+     * @param firstDeadlineDay the earliest day of a deadline
+     * @param lastDeadlineDay the latest day of a deadline
+     */
+    public SyntheticTasks(final int categories, final double categorySkew, final LocalDate firstDeadlineDay, final LocalDate lastDeadlineDay) {
+        if (categories < 1 || categorySkew < 0 || lastDeadlineDay.isBefore(firstDeadlineDay)) {
+            throw new IllegalArgumentException("Tasks need at least one category, a non-negative skew and a deadline range.");
+        }
+
+        this.cumulativeCategoryWeights = new double[categories];
+        var totalWeight = 0.0;
+        for (var rank = 0; rank < categories; rank++) {
+            totalWeight += 1 / Math.pow(rank + 1, categorySkew);
+            cumulativeCategoryWeights[rank] = totalWeight;
+        }
+
+        for (var rank = 0; rank < categories; rank++) {
+            cumulativeCategoryWeights[rank] /= totalWeight;
+        }
+
+        this.firstDeadlineDay = firstDeadlineDay;
+        this.deadlineDays = (int) ChronoUnit.DAYS.between(firstDeadlineDay, lastDeadlineDay) + 1;
+    }
+
+    /**
+     * Returns the index of the category of a task, 0 being the largest category.
+     */
+    public int category(final SplittableRandom random) {
+        final var index = Arrays.binarySearch(cumulativeCategoryWeights, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulativeCategoryWeights.length - 1);
+    }
+
+    public String name(final SplittableRandom random) {
+        return capitalize(pick(VERBS, random)) + " " + pick(NOUNS, random) + " " + pick(NOUNS, random);
+    }
+
+    public String description(final SplittableRandom random) {
+        // Exponentially distributed lengths: half of the descriptions are shorter than about 60 characters.
+        final var length = Math.min((int) (-Math.log(1 - random.nextDouble()) * 90) + 20, MAX_DESCRIPTION_LENGTH);
+        final var description = new StringBuilder(length + 16);
+        description.append(capitalize(pick(WORDS, random)));
+        while (description.length() < length) {
+            description.append(' ').append(pick(WORDS, random));
+        }
+
+        description.setLength(Math.min(description.length(), length - 1));
+        return description.append('.').toString();
+    }
+
+    public LocalDateTime deadline(final SplittableRandom random) {
+        final var day = firstDeadlineDay.plusDays(random.nextInt(deadlineDays));
+        return day.atTime(8 + random.nextInt(10), 15 * random.nextInt(4));
+    }
+
+    private static String pick(final String[] words, final SplittableRandom random) {
+        return words[random.nextInt(words.length)];
+    }
+
+    private static String capitalize(final String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
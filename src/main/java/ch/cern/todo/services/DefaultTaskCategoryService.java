@@ -1,50 +1,133 @@
 package ch.cern.todo.services;
 
 import ch.cern.todo.core.TaskCategory;
+import ch.cern.todo.replication.ReplicaReads;
 import ch.cern.todo.repositories.TaskCategoryRepository;
+import ch.cern.todo.repositories.TaskFilter;
+import ch.cern.todo.repositories.TaskRepository;
+import ch.cern.todo.services.events.TaskCategoryChangedEvent;
+import ch.cern.todo.services.events.TaskCategorySnapshot;
+import ch.cern.todo.services.events.TasksReassignedEvent;
 import ch.cern.todo.services.exceptions.DuplicateTaskCategoryNameException;
+import ch.cern.todo.services.exceptions.StaleVersionException;
 import ch.cern.todo.services.exceptions.TaskCategoryNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Every operation runs in a single transaction, read-only unless it writes. Task category names are unique in the
+ * database, so duplicates are reported from the failed insert rather than looked up beforehand.
+ */
 @Service
+@Transactional(readOnly = true)
 public class DefaultTaskCategoryService implements TaskCategoryService {
+    private static final String TASK_CATEGORY_CANNOT_BE_MERGED_INTO_ITSELF = "A task category cannot be merged into itself.";
 
     private final TaskCategoryRepository taskCategoryRepository;
 
+    private final TaskRepository taskRepository;
+
+    private final TaskCategoryNameCache taskCategoryNameCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     @Autowired
-    public DefaultTaskCategoryService(TaskCategoryRepository taskCategoryRepository) {
+    public DefaultTaskCategoryService(TaskCategoryRepository taskCategoryRepository, TaskRepository taskRepository, TaskCategoryNameCache taskCategoryNameCache,
+                                      ApplicationEventPublisher eventPublisher) {
         this.taskCategoryRepository = taskCategoryRepository;
+        this.taskRepository = taskRepository;
+        this.taskCategoryNameCache = taskCategoryNameCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional(rollbackFor = DuplicateTaskCategoryNameException.class)
     public TaskCategory createTaskCategory(TaskCategory taskCategory) throws DuplicateTaskCategoryNameException {
-        if (taskCategoryRepository.existsByName(taskCategory.getName())) {
+        final TaskCategory createdTaskCategory;
+        try {
+            // Identity ids are only known after the insert, so it is executed right away and a duplicate fails here.
+            createdTaskCategory = taskCategoryRepository.save(taskCategory);
+        } catch (DataIntegrityViolationException e) {
             throw new DuplicateTaskCategoryNameException();
         }
 
-        return taskCategoryRepository.save(taskCategory);
+        eventPublisher.publishEvent(new TaskCategoryChangedEvent(TaskCategoryChangedEvent.Type.CREATED, TaskCategorySnapshot.of(taskCategory)));
+
+        return createdTaskCategory;
     }
 
     @Override
     public TaskCategory getTaskCategoryById(Long id) throws TaskCategoryNotFoundException {
-        final var taskCategory = taskCategoryRepository.findById(id);
-        if (taskCategory.isEmpty()) {
+        return taskCategoryRepository.findById(id).orElseThrow(TaskCategoryNotFoundException::new);
+    }
+
+    /**
+     * Reads from the primary: the name cache is shared with the writes, so it must not be filled from a replica that
+     * has not yet seen a rename or a deletion. The lookups are the first statements of the transaction, which therefore
+     * gets a connection to the primary.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskCategory getTaskCategoryByName(String name) throws TaskCategoryNotFoundException {
+        final var cachedTaskCategory = taskCategoryNameCache.get(name);
+        if (cachedTaskCategory != null) {
+            return cachedTaskCategory;
+        }
+
+        final var generation = taskCategoryNameCache.currentGeneration();
+        final TaskCategory taskCategory;
+        try (var ignored = ReplicaReads.readPrimary()) {
+            taskCategory = taskCategoryRepository.findByName(name);
+        }
+        if (taskCategory == null) {
             throw new TaskCategoryNotFoundException();
         }
 
-        return taskCategory.get();
+        taskCategoryNameCache.put(taskCategory, generation);
+        return taskCategory;
     }
 
     @Override
-    public TaskCategory getTaskCategoryByName(String name) throws TaskCategoryNotFoundException {
-        if (!taskCategoryRepository.existsByName(name)) {
-            throw new TaskCategoryNotFoundException();
+    @Transactional(readOnly = true)
+    public Map<String, TaskCategory> getTaskCategoriesByNames(Collection<String> names) {
+        final var taskCategories = new HashMap<String, TaskCategory>();
+        final var uncachedNames = new ArrayList<String>();
+        for (final var name : names) {
+            final var cachedTaskCategory = taskCategoryNameCache.get(name);
+            if (cachedTaskCategory != null) {
+                taskCategories.put(name, cachedTaskCategory);
+            } else {
+                uncachedNames.add(name);
+            }
+        }
+
+        if (!uncachedNames.isEmpty()) {
+            final var generation = taskCategoryNameCache.currentGeneration();
+            final List<TaskCategory> foundTaskCategories;
+            try (var ignored = ReplicaReads.readPrimary()) {
+                foundTaskCategories = taskCategoryRepository.findByNameIn(uncachedNames);
+            }
+
+            for (final var taskCategory : foundTaskCategories) {
+                taskCategoryNameCache.put(taskCategory, generation);
+                taskCategories.put(taskCategory.getName(), taskCategory);
+            }
         }
 
-        return taskCategoryRepository.findByName(name);
+        return taskCategories;
     }
 
     @Override
@@ -53,20 +136,96 @@ public class DefaultTaskCategoryService implements TaskCategoryService {
     }
 
     @Override
-    public TaskCategory updateTaskCategory(Long id, TaskCategory taskCategory) throws TaskCategoryNotFoundException {
+    public List<TaskCategory> getTaskCategories(long afterId, int limit) {
+        return taskCategoryRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional(rollbackFor = StaleVersionException.class)
+    public TaskCategory updateTaskCategory(Long id, TaskCategory taskCategory, Long expectedVersion) throws TaskCategoryNotFoundException, StaleVersionException {
         final var taskCategoryToUpdate = getTaskCategoryById(id);
+        if (expectedVersion != null && taskCategoryToUpdate.getVersion() != expectedVersion) {
+            throw new StaleVersionException();
+        }
+
         taskCategoryToUpdate.setName(taskCategory.getName());
         taskCategoryToUpdate.setDescription(taskCategory.getDescription());
 
-        return taskCategoryRepository.save(taskCategoryToUpdate);
+        final TaskCategory updatedTaskCategory;
+        try {
+            // The task category is managed, so the save writes nothing by itself and the flush surfaces a concurrent write here.
+            updatedTaskCategory = taskCategoryRepository.save(taskCategoryToUpdate);
+            taskCategoryRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            throw new StaleVersionException();
+        }
+
+        // Evict by id rather than by name, so that a rename also drops the entry under the old name.
+        invalidateCachedName(id);
+        eventPublisher.publishEvent(new TaskCategoryChangedEvent(TaskCategoryChangedEvent.Type.UPDATED, TaskCategorySnapshot.of(taskCategoryToUpdate)));
+
+        return updatedTaskCategory;
     }
 
     @Override
-    public void deleteTaskCategory(Long id) throws TaskCategoryNotFoundException {
-        if (!taskCategoryRepository.existsById(id)) {
-            throw new TaskCategoryNotFoundException();
+    @Transactional(rollbackFor = StaleVersionException.class)
+    public void deleteTaskCategory(Long id, Long expectedVersion) throws TaskCategoryNotFoundException, StaleVersionException {
+        final var taskCategoryToDelete = getTaskCategoryById(id);
+        if (expectedVersion != null && taskCategoryToDelete.getVersion() != expectedVersion) {
+            throw new StaleVersionException();
+        }
+
+        try {
+            taskCategoryRepository.delete(taskCategoryToDelete);
+            taskCategoryRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            throw new StaleVersionException();
         }
 
-        taskCategoryRepository.deleteById(id);
+        invalidateCachedName(id);
+        eventPublisher.publishEvent(new TaskCategoryChangedEvent(TaskCategoryChangedEvent.Type.DELETED, TaskCategorySnapshot.of(taskCategoryToDelete)));
+    }
+
+    @Override
+    @Transactional
+    public int mergeTaskCategory(Long id, Long targetId, boolean deleteTaskCategory) throws TaskCategoryNotFoundException {
+        if (id.equals(targetId)) {
+            throw new IllegalArgumentException(TASK_CATEGORY_CANNOT_BE_MERGED_INTO_ITSELF);
+        }
+
+        final var taskCategoryToMerge = getTaskCategoryById(id);
+        getTaskCategoryById(targetId);
+
+        final var movedTasksPerCategory = taskRepository.moveToCategory(new TaskFilter(null, null, id), targetId);
+        var movedTasks = 0;
+        if (!movedTasksPerCategory.isEmpty()) {
+            final var event = new TasksReassignedEvent(targetId, movedTasksPerCategory);
+            eventPublisher.publishEvent(event);
+            movedTasks = event.getMovedTasks();
+        }
+
+        if (deleteTaskCategory) {
+            taskCategoryRepository.delete(taskCategoryToMerge);
+            invalidateCachedName(id);
+            eventPublisher.publishEvent(new TaskCategoryChangedEvent(TaskCategoryChangedEvent.Type.DELETED, TaskCategorySnapshot.of(taskCategoryToMerge)));
+        }
+
+        return movedTasks;
+    }
+
+    /**
+     * Evicts the task category from the name cache now and again once the transaction completed. Until the commit, a
+     * concurrent lookup still reads the old row and may cache it under the generation the first eviction started.
+     */
+    private void invalidateCachedName(long id) {
+        taskCategoryNameCache.invalidateById(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    taskCategoryNameCache.invalidateById(id);
+                }
+            });
+        }
     }
 }
@@ -1,45 +1,112 @@
 package ch.cern.todo.services;
 
 import ch.cern.todo.core.Task;
+import ch.cern.todo.repositories.TaskField;
+import ch.cern.todo.repositories.TaskFilter;
+import ch.cern.todo.repositories.TaskProjection;
+import ch.cern.todo.repositories.TaskQuery;
 import ch.cern.todo.repositories.TaskRepository;
+import ch.cern.todo.search.TaskSearchIndex;
+import ch.cern.todo.statistics.TaskStatistics;
+import ch.cern.todo.statistics.TaskStatisticsSnapshot;
+import ch.cern.todo.services.events.TaskChangedEvent;
+import ch.cern.todo.services.events.TaskSnapshot;
+import ch.cern.todo.services.events.TasksReassignedEvent;
+import ch.cern.todo.services.exceptions.StaleVersionException;
 import ch.cern.todo.services.exceptions.TaskCategoryNotFoundException;
 import ch.cern.todo.services.exceptions.TaskNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
-
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Every operation runs in a single transaction, read-only unless it writes, so Hibernate neither takes snapshots of the
+ * tasks it reads nor flushes them.
+ */
 @Service
+@Transactional(readOnly = true)
 public class DefaultTaskService implements TaskService {
+    private static final int EXPORT_CLEAR_INTERVAL = 1000;
 
     private final TaskRepository taskRepository;
 
     private final TaskCategoryService taskCategoryService;
 
+    private final EntityManager entityManager;
+
+    private final TaskSearchIndex taskSearchIndex;
+
+    private final TaskStatistics taskStatistics;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     @Autowired
-    public DefaultTaskService(TaskRepository taskRepository, TaskCategoryService taskCategoryService) {
+    public DefaultTaskService(TaskRepository taskRepository, TaskCategoryService taskCategoryService, EntityManager entityManager,
+                              TaskSearchIndex taskSearchIndex, TaskStatistics taskStatistics, ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
         this.taskCategoryService = taskCategoryService;
+        this.entityManager = entityManager;
+        this.taskSearchIndex = taskSearchIndex;
+        this.taskStatistics = taskStatistics;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional
     public Task createTask(Task task) throws TaskCategoryNotFoundException {
         String taskCategoryName = task.getCategory().getName();
         final var taskCategory = taskCategoryService.getTaskCategoryByName(taskCategoryName);
 
         task.setCategory(taskCategory);
 
-        return taskRepository.save(task);
+        final var createdTask = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.created(TaskSnapshot.of(task)));
+
+        return createdTask;
     }
 
     @Override
-    public Task getTaskById(Long id) throws TaskNotFoundException {
-        final var task = taskRepository.findById(id);
-        if (task.isEmpty()) {
-            throw new TaskNotFoundException();
+    @Transactional
+    public List<TaskCreationResult> createTasks(List<Task> tasks) {
+        final var taskCategoryNames = tasks.stream().map(task -> task.getCategory().getName()).collect(Collectors.toSet());
+        final var taskCategories = taskCategoryService.getTaskCategoriesByNames(taskCategoryNames);
+
+        final var results = new ArrayList<TaskCreationResult>(tasks.size());
+        final var tasksToSave = new ArrayList<Task>(tasks.size());
+        for (final var task : tasks) {
+            final var taskCategory = taskCategories.get(task.getCategory().getName());
+            if (taskCategory == null) {
+                results.add(TaskCreationResult.failed(new TaskCategoryNotFoundException()));
+                continue;
+            }
+
+            task.setCategory(taskCategory);
+            tasksToSave.add(task);
+            results.add(TaskCreationResult.created(task));
         }
 
-        return task.get();
+        // Ids come from a pooled sequence, so Hibernate can send these inserts as JDBC batches.
+        taskRepository.saveAll(tasksToSave);
+        tasksToSave.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.created(TaskSnapshot.of(task))));
+
+        return results;
+    }
+
+    @Override
+    public Task getTaskById(Long id) throws TaskNotFoundException {
+        return taskRepository.findById(id).orElseThrow(TaskNotFoundException::new);
     }
 
     @Override
@@ -48,8 +115,86 @@ public class DefaultTaskService implements TaskService {
     }
 
     @Override
-    public Task updateTask(Long id, Task task) throws TaskNotFoundException, TaskCategoryNotFoundException {
+    public List<Task> getTasks(TaskQuery query) {
+        return taskRepository.findPage(query);
+    }
+
+    @Override
+    public List<TaskProjection> getTasks(TaskQuery query, Set<TaskField> fields) {
+        return taskRepository.findPage(query, fields);
+    }
+
+    @Override
+    public List<Task> searchTasks(String query, int limit) {
+        final var taskIds = taskSearchIndex.search(query, limit);
+        if (taskIds.isEmpty()) {
+            return List.of();
+        }
+
+        final var tasksById = taskRepository.findAllById(taskIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        // Keep the ranking of the index; tasks deleted in the meantime are skipped.
+        return taskIds.stream().map(tasksById::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public List<TaskProjection> searchTasks(String query, int limit, Set<TaskField> fields) {
+        final var taskIds = taskSearchIndex.search(query, limit);
+        if (taskIds.isEmpty()) {
+            return List.of();
+        }
+
+        final var tasksById = taskRepository.findByIds(taskIds, fields).stream()
+                .collect(Collectors.toMap(TaskProjection::getId, Function.identity()));
+
+        return taskIds.stream().map(tasksById::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public TaskStatisticsSnapshot getTaskStatistics() {
+        return taskStatistics.snapshot();
+    }
+
+    @Override
+    public void exportTasks(Consumer<Task> consumer) {
+        try (final var tasks = taskRepository.streamAll()) {
+            var exportedTasks = 0;
+            for (final var iterator = tasks.iterator(); iterator.hasNext(); ) {
+                consumer.accept(iterator.next());
+
+                // Detach what was already written, otherwise the persistence context grows with the table.
+                if (++exportedTasks % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    @Override
+    @Transactional
+    public int moveTasksToCategory(TaskFilter filter, Long categoryId) throws TaskCategoryNotFoundException {
+        taskCategoryService.getTaskCategoryById(categoryId);
+        final var movedTasksPerCategory = taskRepository.moveToCategory(filter, categoryId);
+        if (movedTasksPerCategory.isEmpty()) {
+            return 0;
+        }
+
+        final var event = new TasksReassignedEvent(categoryId, movedTasksPerCategory);
+        eventPublisher.publishEvent(event);
+        return event.getMovedTasks();
+    }
+
+    @Override
+    @Transactional(rollbackFor = StaleVersionException.class)
+    public Task updateTask(Long id, Task task, Long expectedVersion) throws TaskNotFoundException, TaskCategoryNotFoundException, StaleVersionException {
         final var taskToUpdate = getTaskById(id);
+        if (expectedVersion != null && taskToUpdate.getVersion() != expectedVersion) {
+            throw new StaleVersionException();
+        }
+
+        final var taskBeforeUpdate = TaskSnapshot.of(taskToUpdate);
 
         String taskCategoryName = task.getCategory().getName();
         final var taskCategory = taskCategoryService.getTaskCategoryByName(taskCategoryName);
@@ -59,14 +204,35 @@ public class DefaultTaskService implements TaskService {
         taskToUpdate.setDeadline(task.getDeadline());
         taskToUpdate.setCategory(taskCategory);
 
-        return taskRepository.save(taskToUpdate);
+        try {
+            // The task is managed, so flushing writes it without a merge; the update compares the version read above
+            // with the row, so a concurrent write cannot be overwritten.
+            taskRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            throw new StaleVersionException();
+        }
+
+        eventPublisher.publishEvent(TaskChangedEvent.updated(taskBeforeUpdate, TaskSnapshot.of(taskToUpdate)));
+
+        return taskToUpdate;
     }
 
     @Override
-    public void deleteTask(Long id) throws TaskNotFoundException {
-        if (!taskRepository.existsById(id)) {
-            throw new TaskNotFoundException();
+    @Transactional(rollbackFor = StaleVersionException.class)
+    public void deleteTask(Long id, Long expectedVersion) throws TaskNotFoundException, StaleVersionException {
+        final var taskToDelete = getTaskById(id);
+        if (expectedVersion != null && taskToDelete.getVersion() != expectedVersion) {
+            throw new StaleVersionException();
         }
-        taskRepository.deleteById(id);
+
+        try {
+            // Flush so that a concurrent write surfaces here instead of at commit.
+            taskRepository.delete(taskToDelete);
+            taskRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            throw new StaleVersionException();
+        }
+
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(TaskSnapshot.of(taskToDelete)));
     }
 }
@@ -0,0 +1,129 @@
+package ch.cern.todo.services;
+
+import ch.cern.todo.core.TaskCategory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, least-recently-used cache of task categories by name.
+ * <p>
+ * Entries are stored as immutable snapshots and every hit returns a fresh, detached {@link TaskCategory}, so callers
+ * can never modify what other threads read. Loads that raced with an invalidation are discarded instead of cached.
+ */
+@Component
+public class TaskCategoryNameCache {
+
+    private final int maximumSize;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private long generation;
+
+    @Autowired
+    public TaskCategoryNameCache(@Value("${todo.task-category-cache.maximum-size:1024}") int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public TaskCategory get(String name) {
+        final Entry entry;
+        synchronized (entries) {
+            entry = entries.get(name);
+        }
+
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return entry.toTaskCategory();
+    }
+
+    /**
+     * Returns the token to pass to {@link #put(TaskCategory, long)} for a value that is about to be loaded.
+     */
+    public long currentGeneration() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    public void put(TaskCategory taskCategory, long loadGeneration) {
+        synchronized (entries) {
+            if (loadGeneration != generation) {
+                return;
+            }
+
+            entries.put(taskCategory.getName(), new Entry(taskCategory));
+            if (entries.size() > maximumSize) {
+                final var eldest = entries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    public void invalidateById(long id) {
+        synchronized (entries) {
+            generation++;
+            entries.values().removeIf(entry -> entry.id == id);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private static final class Entry {
+        private final long id;
+        private final String name;
+        private final String description;
+        private final long version;
+
+        private Entry(TaskCategory taskCategory) {
+            this.id = taskCategory.getId();
+            this.name = taskCategory.getName();
+            this.description = taskCategory.getDescription();
+            this.version = taskCategory.getVersion();
+        }
+
+        private TaskCategory toTaskCategory() {
+            final var taskCategory = new TaskCategory(name, description);
+            taskCategory.setId(id);
+            taskCategory.setVersion(version);
+            return taskCategory;
+        }
+    }
+}
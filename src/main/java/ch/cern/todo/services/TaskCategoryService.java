@@ -2,9 +2,12 @@ package ch.cern.todo.services;
 
 import ch.cern.todo.core.TaskCategory;
 import ch.cern.todo.services.exceptions.DuplicateTaskCategoryNameException;
+import ch.cern.todo.services.exceptions.StaleVersionException;
 import ch.cern.todo.services.exceptions.TaskCategoryNotFoundException;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface TaskCategoryService {
     TaskCategory createTaskCategory(TaskCategory taskCategory) throws DuplicateTaskCategoryNameException;
@@ -13,9 +16,25 @@ public interface TaskCategoryService {
 
     TaskCategory getTaskCategoryByName(String name) throws TaskCategoryNotFoundException;
 
+    Map<String, TaskCategory> getTaskCategoriesByNames(Collection<String> names);
+
     List<TaskCategory> getTaskCategories();
 
-    TaskCategory updateTaskCategory(Long id, TaskCategory taskCategory) throws TaskCategoryNotFoundException;
+    List<TaskCategory> getTaskCategories(long afterId, int limit);
+
+    /**
+     * Updates the task category, provided it is still at {@code expectedVersion}; pass {@code null} to update unconditionally.
+     */
+    TaskCategory updateTaskCategory(Long id, TaskCategory taskCategory, Long expectedVersion) throws TaskCategoryNotFoundException, StaleVersionException;
+
+    /**
+     * Deletes the task category, provided it is still at {@code expectedVersion}; pass {@code null} to delete unconditionally.
+     */
+    void deleteTaskCategory(Long id, Long expectedVersion) throws TaskCategoryNotFoundException, StaleVersionException;
 
-    void deleteTaskCategory(Long id) throws TaskCategoryNotFoundException;
+    /**
+     * Moves all tasks of the task category to the target task category, optionally deletes the then empty task category,
+     * and returns the number of tasks moved.
+     */
+    int mergeTaskCategory(Long id, Long targetId, boolean deleteTaskCategory) throws TaskCategoryNotFoundException;
 }
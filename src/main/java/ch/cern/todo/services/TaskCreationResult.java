@@ -0,0 +1,38 @@
+package ch.cern.todo.services;
+
+import ch.cern.todo.core.Task;
+
+/**
+ * Outcome of creating a single task as part of a batch: either the created task or the reason it was rejected.
+ */
+public final class TaskCreationResult {
+
+    private final Task task;
+
+    private final Exception error;
+
+    public Task getTask() {
+        return task;
+    }
+
+    public Exception getError() {
+        return error;
+    }
+
+    public boolean isCreated() {
+        return error == null;
+    }
+
+    private TaskCreationResult(final Task task, final Exception error) {
+        this.task = task;
+        this.error = error;
+    }
+
+    public static TaskCreationResult created(final Task task) {
+        return new TaskCreationResult(task, null);
+    }
+
+    public static TaskCreationResult failed(final Exception error) {
+        return new TaskCreationResult(null, error);
+    }
+}
@@ -1,19 +1,61 @@
 package ch.cern.todo.services;
 
 import ch.cern.todo.core.Task;
+import ch.cern.todo.repositories.TaskField;
+import ch.cern.todo.repositories.TaskFilter;
+import ch.cern.todo.repositories.TaskProjection;
+import ch.cern.todo.repositories.TaskQuery;
 import ch.cern.todo.services.exceptions.TaskCategoryNotFoundException;
+import ch.cern.todo.services.exceptions.StaleVersionException;
 import ch.cern.todo.services.exceptions.TaskNotFoundException;
+import ch.cern.todo.statistics.TaskStatisticsSnapshot;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface TaskService {
     Task createTask(Task task) throws TaskCategoryNotFoundException;
 
+    List<TaskCreationResult> createTasks(List<Task> tasks);
+
     Task getTaskById(Long id) throws TaskNotFoundException;
 
     List<Task> getTasks();
 
-    Task updateTask(Long id, Task task) throws TaskNotFoundException, TaskCategoryNotFoundException;
+    List<Task> getTasks(TaskQuery query);
+
+    /**
+     * Returns the page of tasks with only the given fields read from the database.
+     */
+    List<TaskProjection> getTasks(TaskQuery query, Set<TaskField> fields);
+
+    List<Task> searchTasks(String query, int limit);
+
+    /**
+     * Returns the best matches for the query with only the given fields read from the database.
+     */
+    List<TaskProjection> searchTasks(String query, int limit, Set<TaskField> fields);
+
+    /**
+     * Returns the task counts per category and by deadline, read from counters instead of the database.
+     */
+    TaskStatisticsSnapshot getTaskStatistics();
+
+    void exportTasks(Consumer<Task> consumer);
+
+    /**
+     * Moves every task matching the filter to the given category and returns the number of tasks moved.
+     */
+    int moveTasksToCategory(TaskFilter filter, Long categoryId) throws TaskCategoryNotFoundException;
+
+    /**
+     * Updates the task, provided it is still at {@code expectedVersion}; pass {@code null} to update unconditionally.
+     */
+    Task updateTask(Long id, Task task, Long expectedVersion) throws TaskNotFoundException, TaskCategoryNotFoundException, StaleVersionException;
 
-    void deleteTask(Long id) throws TaskNotFoundException;
+    /**
+     * Deletes the task, provided it is still at {@code expectedVersion}; pass {@code null} to delete unconditionally.
+     */
+    void deleteTask(Long id, Long expectedVersion) throws TaskNotFoundException, StaleVersionException;
 }
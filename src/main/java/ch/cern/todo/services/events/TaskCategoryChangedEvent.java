@@ -0,0 +1,33 @@
+package ch.cern.todo.services.events;
+
+/**
+ * Published by the task category service whenever a task category is created, updated or deleted.
+ */
+public final class TaskCategoryChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+
+    private final TaskCategorySnapshot taskCategory;
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * The state after the change, or the last state for deleted task categories.
+     */
+    public TaskCategorySnapshot getTaskCategory() {
+        return taskCategory;
+    }
+
+    public TaskCategoryChangedEvent(final Type type, final TaskCategorySnapshot taskCategory) {
+        this.type = type;
+        this.taskCategory = taskCategory;
+    }
+}
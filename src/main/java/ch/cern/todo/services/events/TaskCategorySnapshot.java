@@ -0,0 +1,37 @@
+package ch.cern.todo.services.events;
+
+import ch.cern.todo.core.TaskCategory;
+
+/**
+ * Immutable copy of the state of a task category at the time an event was published.
+ */
+public final class TaskCategorySnapshot {
+
+    private final long id;
+
+    private final String name;
+
+    private final String description;
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public TaskCategorySnapshot(final long id, final String name, final String description) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+    }
+
+    public static TaskCategorySnapshot of(final TaskCategory taskCategory) {
+        return new TaskCategorySnapshot(taskCategory.getId(), taskCategory.getName(), taskCategory.getDescription());
+    }
+}
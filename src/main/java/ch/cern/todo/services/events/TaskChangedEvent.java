@@ -0,0 +1,60 @@
+package ch.cern.todo.services.events;
+
+/**
+ * Published by the task service whenever a task is created, updated or deleted. Listeners that keep derived state
+ * in memory should use {@code @TransactionalEventListener} so they only observe committed changes.
+ */
+public final class TaskChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+
+    private final TaskSnapshot before;
+
+    private final TaskSnapshot after;
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * The state before the change, {@code null} for created tasks.
+     */
+    public TaskSnapshot getBefore() {
+        return before;
+    }
+
+    /**
+     * The state after the change, {@code null} for deleted tasks.
+     */
+    public TaskSnapshot getAfter() {
+        return after;
+    }
+
+    public long getTaskId() {
+        return after != null ? after.getId() : before.getId();
+    }
+
+    private TaskChangedEvent(final Type type, final TaskSnapshot before, final TaskSnapshot after) {
+        this.type = type;
+        this.before = before;
+        this.after = after;
+    }
+
+    public static TaskChangedEvent created(final TaskSnapshot after) {
+        return new TaskChangedEvent(Type.CREATED, null, after);
+    }
+
+    public static TaskChangedEvent updated(final TaskSnapshot before, final TaskSnapshot after) {
+        return new TaskChangedEvent(Type.UPDATED, before, after);
+    }
+
+    public static TaskChangedEvent deleted(final TaskSnapshot before) {
+        return new TaskChangedEvent(Type.DELETED, before, null);
+    }
+}
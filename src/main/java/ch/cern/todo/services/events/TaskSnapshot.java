@@ -0,0 +1,53 @@
+package ch.cern.todo.services.events;
+
+import ch.cern.todo.core.Task;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of the state of a task at the time an event was published, safe to read after the transaction ended.
+ */
+public final class TaskSnapshot {
+
+    private final long id;
+
+    private final String name;
+
+    private final String description;
+
+    private final LocalDateTime deadline;
+
+    private final long categoryId;
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    public long getCategoryId() {
+        return categoryId;
+    }
+
+    public TaskSnapshot(final long id, final String name, final String description, final LocalDateTime deadline, final long categoryId) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.deadline = deadline;
+        this.categoryId = categoryId;
+    }
+
+    public static TaskSnapshot of(final Task task) {
+        return new TaskSnapshot(task.getId(), task.getName(), task.getDescription(), task.getDeadline(), task.getCategory().getId());
+    }
+}
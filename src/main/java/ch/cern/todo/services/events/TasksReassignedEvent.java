@@ -0,0 +1,37 @@
+package ch.cern.todo.services.events;
+
+import java.util.Map;
+
+/**
+ * Published when tasks were moved to another category by a bulk update, which does not load the moved tasks and
+ * therefore cannot publish a {@link TaskChangedEvent} per task.
+ */
+public final class TasksReassignedEvent {
+
+    private final long categoryId;
+
+    private final Map<Long, Long> movedTasksPerCategory;
+
+    /**
+     * The category the tasks were moved to.
+     */
+    public long getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * The number of tasks moved out of each category.
+     */
+    public Map<Long, Long> getMovedTasksPerCategory() {
+        return movedTasksPerCategory;
+    }
+
+    public int getMovedTasks() {
+        return Math.toIntExact(movedTasksPerCategory.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    public TasksReassignedEvent(final long categoryId, final Map<Long, Long> movedTasksPerCategory) {
+        this.categoryId = categoryId;
+        this.movedTasksPerCategory = Map.copyOf(movedTasksPerCategory);
+    }
+}
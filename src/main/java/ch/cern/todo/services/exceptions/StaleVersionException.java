@@ -0,0 +1,10 @@
+package ch.cern.todo.services.exceptions;
+
+public class StaleVersionException extends Exception {
+
+    private static final String VERSION_IS_STALE = "The resource was modified in the meantime, reload it and try again.";
+
+    public StaleVersionException() {
+        super(VERSION_IS_STALE);
+    }
+}
@@ -0,0 +1,32 @@
+package ch.cern.todo.services.reactive;
+
+import ch.cern.todo.core.TaskCategory;
+import ch.cern.todo.repositories.reactive.ReactiveTaskCategoryRepository;
+import ch.cern.todo.services.exceptions.TaskCategoryNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+public class DefaultReactiveTaskCategoryService implements ReactiveTaskCategoryService {
+
+    private final ReactiveTaskCategoryRepository taskCategoryRepository;
+
+    @Autowired
+    public DefaultReactiveTaskCategoryService(ReactiveTaskCategoryRepository taskCategoryRepository) {
+        this.taskCategoryRepository = taskCategoryRepository;
+    }
+
+    @Override
+    public Mono<TaskCategory> getTaskCategoryById(long id) {
+        return taskCategoryRepository.findById(id).switchIfEmpty(Mono.error(TaskCategoryNotFoundException::new));
+    }
+
+    @Override
+    public Flux<TaskCategory> getTaskCategories(long afterId, int limit) {
+        return taskCategoryRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit);
+    }
+}
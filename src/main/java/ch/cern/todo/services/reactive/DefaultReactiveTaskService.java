@@ -0,0 +1,49 @@
+package ch.cern.todo.services.reactive;
+
+import ch.cern.todo.core.Task;
+import ch.cern.todo.repositories.reactive.ReactiveTaskRepository;
+import ch.cern.todo.services.exceptions.TaskNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Service
+@Profile("reactive")
+public class DefaultReactiveTaskService implements ReactiveTaskService {
+    private static final int EXPORT_PAGE_SIZE = 1000;
+
+    private final ReactiveTaskRepository taskRepository;
+
+    @Autowired
+    public DefaultReactiveTaskService(ReactiveTaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @Override
+    public Mono<Task> getTaskById(long id) {
+        return taskRepository.findById(id).switchIfEmpty(Mono.error(TaskNotFoundException::new));
+    }
+
+    @Override
+    public Flux<Task> getTasks(long afterId, int limit) {
+        return taskRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit);
+    }
+
+    @Override
+    public Flux<Task> exportTasks() {
+        // Keyset pages keep every query short; expand() only fetches the next page when the previous one was emitted,
+        // so a slow client holds at most two pages in memory instead of an open cursor over the whole table.
+        return readPage(0)
+                .expand(page -> page.size() < EXPORT_PAGE_SIZE ? Mono.empty() : readPage(page.get(page.size() - 1).getId()))
+                .flatMapIterable(Function.identity());
+    }
+
+    private Mono<List<Task>> readPage(long afterId) {
+        return taskRepository.findByIdGreaterThanOrderByIdAsc(afterId, EXPORT_PAGE_SIZE).collectList();
+    }
+}
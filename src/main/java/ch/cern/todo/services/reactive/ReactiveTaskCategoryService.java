@@ -0,0 +1,14 @@
+package ch.cern.todo.services.reactive;
+
+import ch.cern.todo.core.TaskCategory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTaskCategoryService {
+    /**
+     * Emits the task category or fails with a {@link ch.cern.todo.services.exceptions.TaskCategoryNotFoundException}.
+     */
+    Mono<TaskCategory> getTaskCategoryById(long id);
+
+    Flux<TaskCategory> getTaskCategories(long afterId, int limit);
+}
@@ -0,0 +1,19 @@
+package ch.cern.todo.services.reactive;
+
+import ch.cern.todo.core.Task;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTaskService {
+    /**
+     * Emits the task or fails with a {@link ch.cern.todo.services.exceptions.TaskNotFoundException}.
+     */
+    Mono<Task> getTaskById(long id);
+
+    Flux<Task> getTasks(long afterId, int limit);
+
+    /**
+     * Emits every task in id order, reading the next page only once the subscriber requested the current one.
+     */
+    Flux<Task> exportTasks();
+}
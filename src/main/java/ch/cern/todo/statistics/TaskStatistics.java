@@ -0,0 +1,177 @@
+package ch.cern.todo.statistics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Task counts that are maintained incrementally as tasks change, so reading them does not depend on the number of
+ * tasks.
+ * <p>
+ * Tasks are counted per category and per deadline day. Deadlines are tracked with a resolution of a day: a task is
+ * overdue from the day after its deadline on. Days that have passed are folded into the overdue counter the first
+ * time the counters are touched on a new day, so a read visits at most the categories and the days of the current
+ * week. The counters are striped {@link LongAdder}s, concurrent updates only contend on the read side of a lock that
+ * is taken exclusively for the daily roll over and for replacing the counters with a recount.
+ */
+@Component
+public class TaskStatistics {
+
+    private final Clock clock;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, LongAdder> tasksPerCategory = new ConcurrentHashMap<>();
+
+    /**
+     * Tasks due today or later, by deadline day.
+     */
+    private final ConcurrentSkipListMap<LocalDate, LongAdder> tasksPerDeadline = new ConcurrentSkipListMap<>();
+
+    private final LongAdder overdueTasks = new LongAdder();
+
+    private volatile LocalDate today;
+
+    @Autowired
+    public TaskStatistics() {
+        this(Clock.systemDefaultZone());
+    }
+
+    TaskStatistics(Clock clock) {
+        this.clock = clock;
+        this.today = LocalDate.now(clock);
+    }
+
+    public void add(long categoryId, LocalDateTime deadline) {
+        update(categoryId, deadline, 1);
+    }
+
+    public void remove(long categoryId, LocalDateTime deadline) {
+        update(categoryId, deadline, -1);
+    }
+
+    /**
+     * Moves tasks between categories, which leaves their deadlines alone.
+     *
+     * @param movedTasksPerCategory the number of tasks moved out of each category
+     */
+    public void move(Map<Long, Long> movedTasksPerCategory, long targetCategoryId) {
+        lock.readLock().lock();
+        try {
+            var movedTasks = 0L;
+            for (final var moved : movedTasksPerCategory.entrySet()) {
+                tasksPerCategory.computeIfAbsent(moved.getKey(), id -> new LongAdder()).add(-moved.getValue());
+                movedTasks += moved.getValue();
+            }
+
+            tasksPerCategory.computeIfAbsent(targetCategoryId, id -> new LongAdder()).add(movedTasks);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void update(long categoryId, LocalDateTime deadline, long delta) {
+        rollOver();
+        lock.readLock().lock();
+        try {
+            tasksPerCategory.computeIfAbsent(categoryId, id -> new LongAdder()).add(delta);
+
+            final var deadlineDay = deadline.toLocalDate();
+            if (deadlineDay.isBefore(today)) {
+                overdueTasks.add(delta);
+            } else {
+                tasksPerDeadline.computeIfAbsent(deadlineDay, day -> new LongAdder()).add(delta);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces all counters with the given counts, e.g. taken from the database. Returns whether they differed from
+     * the counters maintained so far.
+     *
+     * @param tasksPerDeadline the number of tasks per deadline day, from {@code today} on
+     * @param overdueTasks     the number of tasks with a deadline before {@code today}
+     */
+    public boolean replace(LocalDate today, Map<Long, Long> tasksPerCategory, Map<LocalDate, Long> tasksPerDeadline, long overdueTasks) {
+        rollOver();
+        lock.writeLock().lock();
+        try {
+            final var previousTasksPerCategory = sums(this.tasksPerCategory);
+            final var previousTasksPerDeadline = sums(this.tasksPerDeadline);
+            final var changed = this.overdueTasks.sum() != overdueTasks
+                    || !previousTasksPerCategory.equals(tasksPerCategory)
+                    || !previousTasksPerDeadline.equals(tasksPerDeadline);
+
+            this.today = today;
+            this.tasksPerCategory.clear();
+            tasksPerCategory.forEach((categoryId, tasks) -> this.tasksPerCategory.computeIfAbsent(categoryId, id -> new LongAdder()).add(tasks));
+            this.tasksPerDeadline.clear();
+            tasksPerDeadline.forEach((day, tasks) -> this.tasksPerDeadline.computeIfAbsent(day, d -> new LongAdder()).add(tasks));
+            this.overdueTasks.reset();
+            this.overdueTasks.add(overdueTasks);
+            return changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public TaskStatisticsSnapshot snapshot() {
+        rollOver();
+        lock.readLock().lock();
+        try {
+            final var endOfWeek = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+            final var dueToday = tasksPerDeadline.getOrDefault(today, new LongAdder()).sum();
+            final var dueThisWeek = tasksPerDeadline.subMap(today, true, endOfWeek, true).values().stream().mapToLong(LongAdder::sum).sum();
+            return new TaskStatisticsSnapshot(today, sums(tasksPerCategory), overdueTasks.sum(), dueToday, dueThisWeek);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Folds the deadline days that have passed into the overdue counter.
+     */
+    private void rollOver() {
+        final var currentDay = LocalDate.now(clock);
+        if (!currentDay.isAfter(today)) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (currentDay.isAfter(today)) {
+                final var passedDays = tasksPerDeadline.headMap(currentDay);
+                passedDays.values().forEach(tasks -> overdueTasks.add(tasks.sum()));
+                passedDays.clear();
+                today = currentDay;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static <K> Map<K, Long> sums(Map<K, LongAdder> counters) {
+        final var sums = new HashMap<K, Long>();
+        counters.forEach((key, counter) -> {
+            final var sum = counter.sum();
+            if (sum != 0) {
+                sums.put(key, sum);
+            }
+        });
+        return sums;
+    }
+}
@@ -0,0 +1,87 @@
+package ch.cern.todo.statistics;
+
+import ch.cern.todo.repositories.TaskRepository;
+import ch.cern.todo.services.events.TaskChangedEvent;
+import ch.cern.todo.services.events.TasksReassignedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+
+/**
+ * Keeps the {@link TaskStatistics} in sync with the database: counts the tasks when the application starts, applies
+ * every committed task change afterwards and recounts periodically.
+ * <p>
+ * The recount runs a few aggregate queries and replaces the counters at once, changes committed while it runs may be
+ * missed and are corrected by the next recount.
+ */
+@Component
+public class TaskStatisticsMaintainer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskStatisticsMaintainer.class);
+
+    private final TaskStatistics taskStatistics;
+
+    private final TaskRepository taskRepository;
+
+    @Autowired
+    public TaskStatisticsMaintainer(TaskStatistics taskStatistics, TaskRepository taskRepository) {
+        this.taskStatistics = taskStatistics;
+        this.taskRepository = taskRepository;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        final var before = event.getBefore();
+        if (before != null) {
+            taskStatistics.remove(before.getCategoryId(), before.getDeadline());
+        }
+
+        final var after = event.getAfter();
+        if (after != null) {
+            taskStatistics.add(after.getCategoryId(), after.getDeadline());
+        }
+    }
+
+    /**
+     * Bulk moves only change the counts per category, which the event carries.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksReassigned(TasksReassignedEvent event) {
+        taskStatistics.move(event.getMovedTasksPerCategory(), event.getCategoryId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        final var start = System.nanoTime();
+        recount();
+        LOGGER.info("Counted {} tasks for the statistics in {} ms", taskStatistics.snapshot().getTotalTasks(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Scheduled(initialDelayString = "${todo.statistics.reconcile-interval}", fixedDelayString = "${todo.statistics.reconcile-interval}")
+    public void reconcile() {
+        if (recount()) {
+            LOGGER.warn("The task statistics drifted from the database and were recounted");
+        }
+    }
+
+    private boolean recount() {
+        final var today = LocalDate.now();
+
+        final var tasksPerCategory = new HashMap<Long, Long>();
+        taskRepository.countPerCategory().forEach(count -> tasksPerCategory.put(count.getCategoryId(), count.getTasks()));
+
+        final var tasksPerDeadline = new HashMap<LocalDate, Long>();
+        taskRepository.countPerDeadlineDayFrom(today.atStartOfDay())
+                .forEach(count -> tasksPerDeadline.put(LocalDate.of(count.getYear(), count.getMonth(), count.getDay()), count.getTasks()));
+
+        final var overdueTasks = taskRepository.countByDeadlineBefore(today.atStartOfDay());
+        return taskStatistics.replace(today, tasksPerCategory, tasksPerDeadline, overdueTasks);
+    }
+}
@@ -0,0 +1,59 @@
+package ch.cern.todo.statistics;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * The task counts at the time they were read.
+ */
+public final class TaskStatisticsSnapshot {
+
+    private final LocalDate today;
+
+    private final Map<Long, Long> tasksPerCategory;
+
+    private final long overdueTasks;
+
+    private final long tasksDueToday;
+
+    private final long tasksDueThisWeek;
+
+    public LocalDate getToday() {
+        return today;
+    }
+
+    /**
+     * The number of tasks by category id, categories without tasks are left out.
+     */
+    public Map<Long, Long> getTasksPerCategory() {
+        return tasksPerCategory;
+    }
+
+    public long getTotalTasks() {
+        return tasksPerCategory.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long getOverdueTasks() {
+        return overdueTasks;
+    }
+
+    public long getTasksDueToday() {
+        return tasksDueToday;
+    }
+
+    /**
+     * The number of tasks due from today until the end of the week, which ends on Sunday.
+     */
+    public long getTasksDueThisWeek() {
+        return tasksDueThisWeek;
+    }
+
+    public TaskStatisticsSnapshot(final LocalDate today, final Map<Long, Long> tasksPerCategory, final long overdueTasks,
+                                  final long tasksDueToday, final long tasksDueThisWeek) {
+        this.today = today;
+        this.tasksPerCategory = Map.copyOf(tasksPerCategory);
+        this.overdueTasks = overdueTasks;
+        this.tasksDueToday = tasksDueToday;
+        this.tasksDueThisWeek = tasksDueThisWeek;
+    }
+}
@@ -0,0 +1,119 @@
+package ch.cern.todo;
+
+import ch.cern.todo.api.models.PageResponseModel;
+import ch.cern.todo.api.models.TaskResponseModel;
+import ch.cern.todo.core.Task;
+import ch.cern.todo.core.TaskCategory;
+import ch.cern.todo.services.TaskCategoryService;
+import ch.cern.todo.services.TaskService;
+import ch.cern.todo.services.exceptions.DuplicateTaskCategoryNameException;
+import ch.cern.todo.services.exceptions.TaskCategoryNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("reactive")
+class ReactiveTodoApplicationTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCategoryService taskCategoryService;
+
+    @Test
+    void When_TaskWrittenThroughJpaIsRequested_Then_ReactiveEndpointReturnsIt() throws DuplicateTaskCategoryNameException, TaskCategoryNotFoundException {
+        // Arrange
+        final var deadline = LocalDateTime.parse("2023-09-22T10:42:50.63");
+        final var taskCategory = taskCategoryService.createTaskCategory(new TaskCategory("some_reactive_category", "some_category_description"));
+        final var task = taskService.createTask(new Task("some_name", "some_description", deadline, new TaskCategory("some_reactive_category", null)));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/tasks/{id}", task.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TaskResponseModel.class)
+                .value(response -> {
+                    assertEquals(response.getId(), task.getId());
+                    assertEquals(response.getName(), "some_name");
+                    assertEquals(response.getDeadline(), deadline);
+                    assertEquals(response.getCategory().getId(), taskCategory.getId());
+                    assertEquals(response.getCategory().getName(), "some_reactive_category");
+                });
+    }
+
+    @Test
+    void When_MissingTaskIsRequested_Then_NotFoundIsReturned() {
+        // Act & Assert
+        webTestClient.get().uri("/api/tasks/{id}", Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void When_TasksArePagedAndExported_Then_AllTasksAreReturnedInIdOrder() throws DuplicateTaskCategoryNameException, TaskCategoryNotFoundException {
+        // Arrange
+        final var deadline = LocalDateTime.parse("2023-09-22T10:42:50.63");
+        taskCategoryService.createTaskCategory(new TaskCategory("some_paged_category", null));
+        for (var i = 0; i < 3; i++) {
+            taskService.createTask(new Task("some_name_" + i, null, deadline, new TaskCategory("some_paged_category", null)));
+        }
+
+        // Act
+        final var firstPage = webTestClient.get().uri("/api/tasks?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<PageResponseModel<TaskResponseModel>>() {})
+                .returnResult()
+                .getResponseBody();
+        final var exportedTasks = webTestClient.get().uri("/api/tasks/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TaskResponseModel.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // Assert
+        assertEquals(Objects.requireNonNull(firstPage).getItems().size(), 2);
+        assertTrue(firstPage.getNextCursor() != null);
+        assertTrue(Objects.requireNonNull(exportedTasks).size() >= 3);
+        for (var i = 1; i < exportedTasks.size(); i++) {
+            assertTrue(exportedTasks.get(i - 1).getId() < exportedTasks.get(i).getId());
+        }
+    }
+
+    @Test
+    void When_CborIsAccepted_Then_TaskIsReturnedAsCbor() throws DuplicateTaskCategoryNameException, TaskCategoryNotFoundException {
+        // Arrange
+        taskCategoryService.createTaskCategory(new TaskCategory("some_cbor_category", null));
+        final var task = taskService.createTask(new Task("some_name", null, LocalDateTime.now(), new TaskCategory("some_cbor_category", null)));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/tasks/{id}", task.getId())
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR)
+                .expectBody(TaskResponseModel.class)
+                .value(response -> assertEquals(response.getName(), "some_name"));
+    }
+}
@@ -7,17 +7,31 @@ import ch.cern.todo.api.models.TaskResponseModel;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMetrics
 class TodoApplicationTests {
 
     @Value(value = "${local.server.port}")
@@ -59,10 +73,87 @@ class TodoApplicationTests {
         assertEquals(response.getCategory().getDescription(), "some_category_description");
     }
 
+    @Test
+    void When_TaskEndpointIsCalled_Then_LatencyAndDatabaseMetricsAreExposedForPrometheus() {
+        // Arrange
+        final var tasksResourceLocation = "http://localhost:" + port + "/api/tasks/";
+        final var prometheusLocation = "http://localhost:" + port + "/actuator/prometheus";
+        restTemplate.getForEntity(tasksResourceLocation, String.class);
+
+        // Act
+        final var responseEntity = restTemplate.getForEntity(prometheusLocation, String.class);
+
+        // Assert
+        assertEquals(responseEntity.getStatusCode(), HttpStatus.OK);
+        final var metrics = Objects.requireNonNull(responseEntity.getBody());
+        assertTrue(metrics.contains("http_server_requests_seconds_bucket"));
+        assertTrue(metrics.contains("handler=\"TaskController.getTasks\""));
+        assertTrue(metrics.contains("hibernate_"));
+        assertTrue(metrics.contains("todo_hibernate_cache_hit_ratio"));
+        assertTrue(metrics.contains("hikaricp_connections"));
+        assertTrue(metrics.contains("todo_reminders_pending"));
+    }
+
     @Test
     void When_DeleteTaskCategoryIsCalledAndTaskCategoryIsStillInUseByTask_Then_ExceptionIsThrow() {
         // TODO: Implement
     }
 
     // TODO: Continue adding integration tests
+
+    @Test
+    void When_TaskCategoryIsPostedTwiceWithSameIdempotencyKey_Then_FirstResponseIsReplayed() {
+        // Arrange
+        final var tasksCategoriesResourceLocation = "http://localhost:" + port + "/api/tasks/categories";
+        final var headers = new HttpHeaders();
+        headers.set("Idempotency-Key", "some_idempotency_key");
+        final var request = new HttpEntity<>(new TaskCategoryRequestModel("some_idempotent_category_name", "some_description"), headers);
+
+        // Act
+        final var first = restTemplate.postForEntity(tasksCategoriesResourceLocation, request, TaskCategoryResponseModel.class);
+        final var second = restTemplate.postForEntity(tasksCategoriesResourceLocation, request, TaskCategoryResponseModel.class);
+
+        // Assert
+        assertEquals(first.getStatusCode(), HttpStatus.OK);
+        assertEquals(second.getStatusCode(), HttpStatus.OK);
+        assertEquals(second.getHeaders().getFirst("Idempotent-Replayed"), "true");
+        assertEquals(Objects.requireNonNull(second.getBody()).getId(), Objects.requireNonNull(first.getBody()).getId());
+    }
+
+    @Test
+    void When_CborIsAccepted_Then_TaskCategoriesAreReturnedAsCbor() {
+        // Arrange
+        final var tasksCategoriesResourceLocation = "http://localhost:" + port + "/api/tasks/categories";
+        restTemplate.postForEntity(tasksCategoriesResourceLocation, new TaskCategoryRequestModel("some_cbor_category_name", "some_description"), TaskCategoryResponseModel.class);
+        final var headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_CBOR));
+
+        // Act
+        final var responseEntity = restTemplate.exchange(tasksCategoriesResourceLocation, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+        // Assert
+        assertEquals(responseEntity.getStatusCode(), HttpStatus.OK);
+        assertTrue(MediaType.APPLICATION_CBOR.isCompatibleWith(responseEntity.getHeaders().getContentType()));
+        assertTrue(Objects.requireNonNull(responseEntity.getBody()).length > 0);
+    }
+
+    @Test
+    void When_TaskCategoryIsCreatedWhileFollowingChanges_Then_ChangeIsStreamed() throws Exception {
+        // Arrange
+        final var tasksCategoriesResourceLocation = "http://localhost:" + port + "/api/tasks/categories";
+        final var eventsRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks/events")).build();
+        final var eventsResponse = HttpClient.newHttpClient().send(eventsRequest, HttpResponse.BodyHandlers.ofLines());
+
+        // Act
+        restTemplate.postForEntity(tasksCategoriesResourceLocation, new TaskCategoryRequestModel("some_followed_category_name", "some_description"), TaskCategoryResponseModel.class);
+
+        // Assert
+        assertEquals(eventsResponse.statusCode(), HttpStatus.OK.value());
+        assertTrue(eventsResponse.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElseThrow().startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+        final var event = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> eventsResponse.body()
+                .takeWhile(line -> !line.isEmpty())
+                .collect(Collectors.joining("\n")));
+        assertTrue(event.contains("\nevent:category.created\n"));
+        assertTrue(event.contains("\"name\":\"some_followed_category_name\""));
+    }
 }
@@ -0,0 +1,203 @@
+package ch.cern.todo.api.events;
+
+import ch.cern.todo.changes.ChangeFeed;
+import ch.cern.todo.services.events.TaskCategoryChangedEvent;
+import ch.cern.todo.services.events.TaskCategorySnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChangeFeedSubscriptionsTests {
+
+    private static void appendChanges(ChangeFeed changeFeed, int count) {
+        for (var i = 0; i < count; i++) {
+            changeFeed.onTaskCategoryChanged(new TaskCategoryChangedEvent(TaskCategoryChangedEvent.Type.CREATED,
+                    new TaskCategorySnapshot(i, "some_name_" + i, "some_description")));
+        }
+    }
+
+    /**
+     * Fan-outs run on the calling thread, so every write has happened when a change was appended.
+     */
+    private static ChangeFeedSubscriptions subscriptions(ChangeFeed changeFeed, Duration sendTimeout) {
+        return new ChangeFeedSubscriptions(changeFeed, new ObjectMapper(), sendTimeout, Runnable::run);
+    }
+
+    private static MockHttpServletRequest subscribe(ChangeFeedSubscriptions subscriptions, FakeOutputStream outputStream, String lastEventId) throws IOException {
+        final var request = new MockHttpServletRequest("GET", "/api/tasks/events");
+        request.setAsyncSupported(true);
+        final var response = new HttpServletResponseWrapper(new MockHttpServletResponse()) {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return outputStream;
+            }
+        };
+        subscriptions.subscribe(request, response, lastEventId);
+        return request;
+    }
+
+    @Test
+    void When_SubscriberResumesWithLastEventId_Then_OnlyLaterChangesAreSent() throws IOException {
+        // Arrange
+        final var changeFeed = new ChangeFeed(16);
+        final var subscriptions = subscriptions(changeFeed, Duration.ofSeconds(10));
+        final var outputStream = new FakeOutputStream();
+        appendChanges(changeFeed, 5);
+
+        // Act
+        subscribe(subscriptions, outputStream, changeFeed.eventId(3));
+
+        // Assert
+        final var events = outputStream.events();
+        assertEquals(events.size(), 2);
+        assertEquals(events.get(0), "id:" + changeFeed.eventId(4) + "\nevent:category.created\ndata:{\"id\":3,\"name\":\"some_name_3\",\"description\":\"some_description\"}");
+        assertTrue(events.get(1).startsWith("id:" + changeFeed.eventId(5) + "\n"));
+    }
+
+    @Test
+    void When_ChangeIsAppended_Then_ItIsSentToEverySubscriber() throws IOException {
+        // Arrange
+        final var changeFeed = new ChangeFeed(16);
+        final var subscriptions = subscriptions(changeFeed, Duration.ofSeconds(10));
+        final var firstOutputStream = new FakeOutputStream();
+        final var secondOutputStream = new FakeOutputStream();
+        subscribe(subscriptions, firstOutputStream, null);
+        subscribe(subscriptions, secondOutputStream, null);
+
+        // Act
+        appendChanges(changeFeed, 1);
+
+        // Assert
+        assertEquals(firstOutputStream.events().size(), 1);
+        assertEquals(secondOutputStream.events(), firstOutputStream.events());
+    }
+
+    @Test
+    void When_SubscriberResumesWithUnknownEventId_Then_ResetIsSent() throws IOException {
+        // Arrange
+        final var changeFeed = new ChangeFeed(16);
+        final var subscriptions = subscriptions(changeFeed, Duration.ofSeconds(10));
+        final var outputStream = new FakeOutputStream();
+        appendChanges(changeFeed, 2);
+
+        // Act
+        subscribe(subscriptions, outputStream, "some_unknown_event_id");
+        appendChanges(changeFeed, 1);
+
+        // Assert
+        final var events = outputStream.events();
+        assertEquals(events.size(), 2);
+        assertEquals(events.get(0), "id:" + changeFeed.eventId(2) + "\nevent:reset\ndata:");
+        assertTrue(events.get(1).startsWith("id:" + changeFeed.eventId(3) + "\n"));
+    }
+
+    @Test
+    void When_SubscriberFallsFurtherBehindThanTheFeedHolds_Then_ResetIsSent() throws IOException {
+        // Arrange
+        final var changeFeed = new ChangeFeed(4);
+        final var subscriptions = subscriptions(changeFeed, Duration.ofSeconds(10));
+        final var outputStream = new FakeOutputStream();
+        subscribe(subscriptions, outputStream, null);
+        outputStream.ready = false;
+        appendChanges(changeFeed, 10);
+
+        // Act
+        outputStream.becomeReady();
+
+        // Assert
+        assertEquals(outputStream.events(), List.of("id:" + changeFeed.eventId(10) + "\nevent:reset\ndata:"));
+    }
+
+    @Test
+    void When_SubscriberDoesNotReadForLongerThanTheSendTimeout_Then_ItIsClosed() throws IOException {
+        // Arrange
+        final var changeFeed = new ChangeFeed(16);
+        final var subscriptions = subscriptions(changeFeed, Duration.ZERO);
+        final var stalledOutputStream = new FakeOutputStream();
+        final var stalledRequest = subscribe(subscriptions, stalledOutputStream, null);
+        final var readingRequest = subscribe(subscriptions, new FakeOutputStream(), null);
+        stalledOutputStream.ready = false;
+        appendChanges(changeFeed, 1);
+
+        // Act
+        subscriptions.closeStalledSubscriptions();
+
+        // Assert
+        assertEquals(subscriptions.size(), 1);
+        assertFalse(stalledRequest.isAsyncStarted());
+        assertTrue(readingRequest.isAsyncStarted());
+    }
+
+    @Test
+    void When_HeartbeatIsDue_Then_CommentIsSent() throws IOException {
+        // Arrange
+        final var changeFeed = new ChangeFeed(16);
+        final var subscriptions = subscriptions(changeFeed, Duration.ofSeconds(10));
+        final var outputStream = new FakeOutputStream();
+        subscribe(subscriptions, outputStream, null);
+
+        // Act
+        subscriptions.heartbeat();
+
+        // Assert
+        assertEquals(outputStream.events(), List.of(":"));
+    }
+
+    /**
+     * An output stream that accepts writes only while it is ready and, like a container, calls the write listener
+     * once it becomes ready.
+     */
+    private static final class FakeOutputStream extends ServletOutputStream {
+
+        private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+
+        private WriteListener writeListener;
+
+        private boolean ready = true;
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            this.writeListener = writeListener;
+            becomeReady();
+        }
+
+        @Override
+        public void write(int b) {
+            assertTrue(ready);
+            written.write(b);
+        }
+
+        private void becomeReady() {
+            ready = true;
+            try {
+                writeListener.onWritePossible();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private List<String> events() {
+            final var stream = written.toString(StandardCharsets.UTF_8);
+            return Arrays.stream(stream.split("\n\n")).filter(event -> !event.isEmpty()).toList();
+        }
+    }
+}
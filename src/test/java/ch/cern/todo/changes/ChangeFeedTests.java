@@ -0,0 +1,61 @@
+package ch.cern.todo.changes;
+
+import ch.cern.todo.services.events.TaskCategoryChangedEvent;
+import ch.cern.todo.services.events.TaskCategorySnapshot;
+import ch.cern.todo.services.events.TaskChangedEvent;
+import ch.cern.todo.services.events.TaskSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChangeFeedTests {
+
+    @Test
+    void When_TaskAndTaskCategoryChange_Then_ChangesAreAppendedWithTheirType() {
+        // Arrange
+        final var changeFeed = new ChangeFeed(16);
+        final var task = new TaskSnapshot(42, "some_name", "some_description", LocalDateTime.now(), 73);
+        final var taskCategory = new TaskCategorySnapshot(73, "some_name", "some_description");
+
+        // Act
+        changeFeed.onTaskChanged(TaskChangedEvent.deleted(task));
+        changeFeed.onTaskCategoryChanged(new TaskCategoryChangedEvent(TaskCategoryChangedEvent.Type.CREATED, taskCategory));
+
+        // Assert
+        final var changes = changeFeed.readAfter(0, 10);
+        assertEquals(changes.size(), 2);
+        assertEquals(changes.get(0).getValue().getType(), "task.deleted");
+        assertSame(changes.get(0).getValue().getData(), task);
+        assertEquals(changes.get(1).getValue().getType(), "category.created");
+    }
+
+    @Test
+    void When_ChangeIsAppended_Then_ListenersAreNotified() {
+        // Arrange
+        final var changeFeed = new ChangeFeed(16);
+        final var notifications = new AtomicInteger();
+        changeFeed.addListener(notifications::incrementAndGet);
+
+        // Act
+        changeFeed.onTaskChanged(TaskChangedEvent.created(new TaskSnapshot(42, "some_name", null, LocalDateTime.now(), 73)));
+
+        // Assert
+        assertEquals(notifications.get(), 1);
+    }
+
+    @Test
+    void When_EventIdIsResolved_Then_OnlyIdsOfThisFeedAreAccepted() {
+        // Arrange
+        final var changeFeed = new ChangeFeed(16);
+        changeFeed.onTaskChanged(TaskChangedEvent.created(new TaskSnapshot(42, "some_name", null, LocalDateTime.now(), 73)));
+
+        // Act & Assert
+        assertEquals(changeFeed.resolveSequence(changeFeed.eventId(1)), 1);
+        assertEquals(changeFeed.resolveSequence(changeFeed.eventId(2)), -1);
+        assertEquals(changeFeed.resolveSequence("1-1"), -1);
+        assertEquals(changeFeed.resolveSequence("garbage"), -1);
+    }
+}
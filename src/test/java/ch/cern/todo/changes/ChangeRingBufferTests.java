@@ -0,0 +1,95 @@
+package ch.cern.todo.changes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChangeRingBufferTests {
+
+    @Test
+    void When_ValuesAreAppended_Then_TheyAreReadInOrderAfterTheGivenSequence() {
+        // Arrange
+        final var buffer = new ChangeRingBuffer<String>(4);
+        buffer.append("a");
+        buffer.append("b");
+        buffer.append("c");
+
+        // Act
+        final var entries = buffer.readAfter(1, 10);
+
+        // Assert
+        assertEquals(entries.stream().map(ChangeRingBuffer.Entry::getValue).toList(), List.of("b", "c"));
+        assertEquals(entries.get(0).getSequence(), 2);
+        assertEquals(buffer.lastSequence(), 3);
+    }
+
+    @Test
+    void When_ReadIsLimited_Then_OnlyTheFirstValuesAreReturned() {
+        // Arrange
+        final var buffer = new ChangeRingBuffer<String>(4);
+        buffer.append("a");
+        buffer.append("b");
+
+        // Act & Assert
+        assertEquals(buffer.readAfter(0, 1).size(), 1);
+    }
+
+    @Test
+    void When_ValuesWereOverwritten_Then_ReadReturnsNull() {
+        // Arrange
+        final var buffer = new ChangeRingBuffer<String>(4);
+        for (var i = 0; i < 6; i++) {
+            buffer.append("value " + i);
+        }
+
+        // Act & Assert
+        assertNull(buffer.readAfter(1, 10));
+        assertEquals(buffer.readAfter(2, 10).size(), 4);
+    }
+
+    @Test
+    void When_SequenceIsAheadOfTheBuffer_Then_ReadReturnsNull() {
+        // Arrange
+        final var buffer = new ChangeRingBuffer<String>(4);
+        buffer.append("a");
+
+        // Act & Assert
+        assertNull(buffer.readAfter(5, 10));
+    }
+
+    @Test
+    void When_CapacityIsNotAPowerOfTwo_Then_IllegalArgumentExceptionIsThrown() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new ChangeRingBuffer<String>(3));
+    }
+
+    @Test
+    void When_ValuesAreAppendedConcurrently_Then_EverySequenceIsReadOnce() throws InterruptedException {
+        // Arrange
+        final var buffer = new ChangeRingBuffer<Integer>(1 << 14);
+        final var executor = Executors.newFixedThreadPool(4);
+
+        // Act
+        for (var thread = 0; thread < 4; thread++) {
+            executor.execute(() -> {
+                for (var i = 0; i < 1000; i++) {
+                    buffer.append(i);
+                }
+            });
+        }
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        final var entries = buffer.readAfter(0, Integer.MAX_VALUE);
+        assertEquals(entries.size(), 4000);
+        for (var i = 0; i < entries.size(); i++) {
+            assertEquals(entries.get(i).getSequence(), i + 1);
+        }
+    }
+}
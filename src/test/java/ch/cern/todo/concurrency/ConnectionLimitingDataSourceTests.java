@@ -0,0 +1,75 @@
+package ch.cern.todo.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ConnectionLimitingDataSourceTests {
+
+    @Test
+    void When_ConnectionIsTaken_Then_PermitIsHeldUntilItIsClosed() throws SQLException {
+        // Arrange
+        final var targetDataSource = mock(DataSource.class);
+        final var targetConnection = mock(Connection.class);
+        when(targetDataSource.getConnection()).thenReturn(targetConnection);
+        final var dataSource = new ConnectionLimitingDataSource(targetDataSource, 2, Duration.ofMillis(10));
+
+        // Act
+        final var connection = dataSource.getConnection();
+        final var permitsWhileOpen = dataSource.getAvailablePermits();
+        connection.close();
+
+        // Assert
+        assertEquals(permitsWhileOpen, 1);
+        assertEquals(dataSource.getAvailablePermits(), 2);
+        verify(targetConnection, times(1)).close();
+    }
+
+    @Test
+    void When_ConnectionIsClosedTwice_Then_PermitIsReleasedOnce() throws SQLException {
+        // Arrange
+        final var targetDataSource = mock(DataSource.class);
+        when(targetDataSource.getConnection()).thenReturn(mock(Connection.class));
+        final var dataSource = new ConnectionLimitingDataSource(targetDataSource, 1, Duration.ofMillis(10));
+
+        // Act
+        final var connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        // Assert
+        assertEquals(dataSource.getAvailablePermits(), 1);
+    }
+
+    @Test
+    void When_AllPermitsAreTaken_Then_SQLTransientConnectionExceptionIsThrownAfterTimeout() throws SQLException {
+        // Arrange
+        final var targetDataSource = mock(DataSource.class);
+        when(targetDataSource.getConnection()).thenReturn(mock(Connection.class));
+        final var dataSource = new ConnectionLimitingDataSource(targetDataSource, 1, Duration.ofMillis(10));
+        dataSource.getConnection();
+
+        // Act & Assert
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(targetDataSource, times(1)).getConnection();
+    }
+
+    @Test
+    void When_TargetDataSourceFails_Then_PermitIsReleased() throws SQLException {
+        // Arrange
+        final var targetDataSource = mock(DataSource.class);
+        when(targetDataSource.getConnection()).thenThrow(new SQLException());
+        final var dataSource = new ConnectionLimitingDataSource(targetDataSource, 1, Duration.ofMillis(10));
+
+        // Act & Assert
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(dataSource.getAvailablePermits(), 1);
+    }
+}
@@ -3,10 +3,12 @@ package ch.cern.todo.controllers;
 import ch.cern.todo.api.controllers.TaskCategoryController;
 import ch.cern.todo.api.models.TaskCategoryRequestModel;
 import ch.cern.todo.api.models.TaskCategoryResponseModel;
+import ch.cern.todo.api.pagination.Pagination;
 import ch.cern.todo.core.TaskCategory;
 import ch.cern.todo.mappers.TaskCategoryMapper;
 import ch.cern.todo.services.TaskCategoryService;
 import ch.cern.todo.services.exceptions.DuplicateTaskCategoryNameException;
+import ch.cern.todo.services.exceptions.StaleVersionException;
 import ch.cern.todo.services.exceptions.TaskCategoryNotFoundException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,11 +17,16 @@ import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest
@@ -92,14 +99,14 @@ public class TaskCategoryControllerTests {
         when(taskCategoryMapper.mapToTaskCategoryResponseModel(taskCategory)).thenReturn(taskCategoryResponse);
 
         // Act
-        final var response = taskCategoryController.getTaskCategory(42L);
+        final var response = taskCategoryController.getTaskCategory(42L, newWebRequest());
 
         // Assert
         assertEquals(response, taskCategoryResponse);
     }
 
     @Test
-    void When_GetTaskCategoriesIsCalled_Then_AllTaskCategoriesAreReturned() {
+    void When_GetTaskCategoriesIsCalled_Then_PageOfTaskCategoriesIsReturned() {
         // Arrange
         final var taskCategoryA = new TaskCategory("some_name", "some_description");
         final var taskCategoryB = new TaskCategory("some_other_name", "some_other_description");
@@ -107,58 +114,148 @@ public class TaskCategoryControllerTests {
         final var taskCategoryResponseA = new TaskCategoryResponseModel(42, "some_name", "some_description");
         final var taskCategoryResponseB = new TaskCategoryResponseModel(73, "some_other_name", "some_other_description");
 
-        when(taskCategoryService.getTaskCategories()).thenReturn(List.of(taskCategoryA, taskCategoryB));
+        when(taskCategoryService.getTaskCategories(0L, Pagination.DEFAULT_LIMIT)).thenReturn(List.of(taskCategoryA, taskCategoryB));
         when(taskCategoryMapper.mapToTaskCategoryResponseModel(taskCategoryA)).thenReturn(taskCategoryResponseA);
         when(taskCategoryMapper.mapToTaskCategoryResponseModel(taskCategoryB)).thenReturn(taskCategoryResponseB);
 
         // Act
-        final var response = taskCategoryController.getTaskCategories();
+        final var response = taskCategoryController.getTaskCategories(null, null, newWebRequest());
 
         // Assert
-        assertEquals(response.size(), 2);
-        assertTrue(response.contains(taskCategoryResponseA));
-        assertTrue(response.contains(taskCategoryResponseB));
+        assertEquals(response.getItems().size(), 2);
+        assertTrue(response.getItems().contains(taskCategoryResponseA));
+        assertTrue(response.getItems().contains(taskCategoryResponseB));
+        assertNull(response.getNextCursor());
     }
 
     @Test
-    void When_UpdateTaskCategoryIsCalled_Then_UpdatedTaskCategoryResponseIsReturned() throws TaskCategoryNotFoundException {
+    void When_GetTaskCategoriesIsCalledWithCurrentEntityTag_Then_NotModifiedIsReturnedWithoutMapping() {
+        // Arrange
+        final var taskCategory = new TaskCategory("some_name", "some_description");
+        taskCategory.setId(42);
+        taskCategory.setVersion(3);
+
+        when(taskCategoryService.getTaskCategories(0L, Pagination.DEFAULT_LIMIT)).thenReturn(List.of(taskCategory));
+
+        final var firstResponse = new MockHttpServletResponse();
+        taskCategoryController.getTaskCategories(null, null, new ServletWebRequest(new MockHttpServletRequest("GET", "/api/tasks/categories"), firstResponse));
+        clearInvocations(taskCategoryMapper);
+
+        final var servletRequest = new MockHttpServletRequest("GET", "/api/tasks/categories");
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, firstResponse.getHeader(HttpHeaders.ETAG));
+        final var servletResponse = new MockHttpServletResponse();
+
+        // Act
+        final var response = taskCategoryController.getTaskCategories(null, null, new ServletWebRequest(servletRequest, servletResponse));
+
+        // Assert
+        assertNull(response);
+        assertEquals(servletResponse.getStatus(), HttpStatus.NOT_MODIFIED.value());
+        verify(taskCategoryMapper, never()).mapToTaskCategoryResponseModel(any());
+    }
+
+    @Test
+    void When_GetTaskCategoriesIsCalledAfterAnUpdate_Then_EntityTagChanges() {
+        // Arrange
+        final var taskCategory = new TaskCategory("some_name", "some_description");
+        taskCategory.setId(42);
+
+        when(taskCategoryService.getTaskCategories(0L, Pagination.DEFAULT_LIMIT)).thenReturn(List.of(taskCategory));
+
+        final var firstResponse = new MockHttpServletResponse();
+        taskCategoryController.getTaskCategories(null, null, new ServletWebRequest(new MockHttpServletRequest("GET", "/api/tasks/categories"), firstResponse));
+        taskCategory.setVersion(1);
+        final var secondResponse = new MockHttpServletResponse();
+
+        // Act
+        taskCategoryController.getTaskCategories(null, null, new ServletWebRequest(new MockHttpServletRequest("GET", "/api/tasks/categories"), secondResponse));
+
+        // Assert
+        assertNotEquals(firstResponse.getHeader(HttpHeaders.ETAG), secondResponse.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void When_UpdateTaskCategoryIsCalled_Then_UpdatedTaskCategoryResponseIsReturned() throws TaskCategoryNotFoundException, StaleVersionException {
         // Arrange
         final var taskCategoryRequest = new TaskCategoryRequestModel("some_new_name", "some_new_description");
         final var taskCategory = new TaskCategory("some_new_name", "some_new_description");
         final var taskCategoryResponse = new TaskCategoryResponseModel(42, "some_new_name", "some_new_description");
 
         when(taskCategoryMapper.mapToTaskCategory(taskCategoryRequest)).thenReturn(taskCategory);
-        when(taskCategoryService.updateTaskCategory(42L, taskCategory)).thenReturn(taskCategory);
+        when(taskCategoryService.updateTaskCategory(42L, taskCategory, null)).thenReturn(taskCategory);
         when(taskCategoryMapper.mapToTaskCategoryResponseModel(taskCategory)).thenReturn(taskCategoryResponse);
 
         // Act
-        final var response = taskCategoryController.updateTaskCategory(42L, taskCategoryRequest);
+        final var response = taskCategoryController.updateTaskCategory(42L, null, taskCategoryRequest);
 
         // Assert
-        assertEquals(response, taskCategoryResponse);
+        assertEquals(response.getBody(), taskCategoryResponse);
+        assertEquals(response.getHeaders().getETag(), "\"0\"");
     }
 
     @Test
-    void When_UpdateTaskCategoryIsCalled_Then_TaskCategoryServiceUpdatedTaskCategoryIsCalledOnce() throws TaskCategoryNotFoundException {
+    void When_UpdateTaskCategoryIsCalled_Then_TaskCategoryServiceUpdatedTaskCategoryIsCalledOnce() throws TaskCategoryNotFoundException, StaleVersionException {
         // Arrange
         final var taskCategoryRequest = new TaskCategoryRequestModel("some_new_name", "some_new_description");
         final var taskCategory = new TaskCategory("some_new_name", "some_new_description");
 
         when(taskCategoryMapper.mapToTaskCategory(taskCategoryRequest)).thenReturn(taskCategory);
+        when(taskCategoryService.updateTaskCategory(42L, taskCategory, 3L)).thenReturn(taskCategory);
 
         // Act
-        taskCategoryController.updateTaskCategory(42L, taskCategoryRequest);
+        taskCategoryController.updateTaskCategory(42L, "\"3\"", taskCategoryRequest);
 
         // Assert
-        verify(taskCategoryService, times(1)).updateTaskCategory(42L, taskCategory);
+        verify(taskCategoryService, times(1)).updateTaskCategory(42L, taskCategory, 3L);
     }
 
     @Test
-    void When_DeleteTaskCategoryIsCalled_Then_TaskServiceDeleteTaskCategoryIsCalled() throws TaskCategoryNotFoundException {
+    void When_UpdateTaskCategoryIsCalledWithStaleEntityTag_Then_ResponseStatusExceptionIsThrown() throws TaskCategoryNotFoundException, StaleVersionException {
+        // Arrange
+        final var taskCategoryRequest = new TaskCategoryRequestModel("some_new_name", "some_new_description");
+        final var taskCategory = new TaskCategory("some_new_name", "some_new_description");
+
+        when(taskCategoryMapper.mapToTaskCategory(taskCategoryRequest)).thenReturn(taskCategory);
+        when(taskCategoryService.updateTaskCategory(42L, taskCategory, 2L)).thenThrow(new StaleVersionException());
+
+        // Act & Assert
+        final var exception = assertThrows(ResponseStatusException.class,
+                () -> taskCategoryController.updateTaskCategory(42L, "\"2\"", taskCategoryRequest));
+        assertEquals(exception.getStatus(), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    void When_DeleteTaskCategoryIsCalled_Then_TaskServiceDeleteTaskCategoryIsCalled() throws TaskCategoryNotFoundException, StaleVersionException {
+        // Act
+        taskCategoryController.deleteTaskCategory(42L, "*");
+
+        // Assert
+        verify(taskCategoryService, times(1)).deleteTaskCategory(42L, null);
+    }
+
+    @Test
+    void When_MergeTaskCategoryIsCalled_Then_NumberOfMovedTasksIsReturned() throws TaskCategoryNotFoundException {
+        // Arrange
+        when(taskCategoryService.mergeTaskCategory(42L, 73L, true)).thenReturn(5);
+
         // Act
-        taskCategoryController.deleteTaskCategory(42L);
+        final var response = taskCategoryController.mergeTaskCategory(42L, 73L, true);
 
         // Assert
-        verify(taskCategoryService, times(1)).deleteTaskCategory(42L);
+        assertEquals(response.getMovedTasks(), 5);
+    }
+
+    @Test
+    void When_MergeTaskCategoryIsCalledWithMissingTaskCategory_Then_ResponseStatusExceptionIsThrown() throws TaskCategoryNotFoundException {
+        // Arrange
+        when(taskCategoryService.mergeTaskCategory(42L, 73L, true)).thenThrow(new TaskCategoryNotFoundException());
+
+        // Act & Assert
+        final var exception = assertThrows(ResponseStatusException.class, () -> taskCategoryController.mergeTaskCategory(42L, 73L, true));
+        assertEquals(exception.getStatus(), HttpStatus.NOT_FOUND);
+    }
+
+    private static ServletWebRequest newWebRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
     }
 }
@@ -5,30 +5,53 @@ import ch.cern.todo.api.models.TaskCategoryRequestModel;
 import ch.cern.todo.api.models.TaskCategoryResponseModel;
 import ch.cern.todo.api.models.TaskRequestModel;
 import ch.cern.todo.api.models.TaskResponseModel;
+import ch.cern.todo.api.pagination.PageCursor;
+import ch.cern.todo.api.pagination.Pagination;
 import ch.cern.todo.core.Task;
 import ch.cern.todo.core.TaskCategory;
 import ch.cern.todo.mappers.TaskMapper;
+import ch.cern.todo.repositories.TaskField;
+import ch.cern.todo.repositories.TaskQuery;
+import ch.cern.todo.repositories.TaskSort;
+import ch.cern.todo.services.TaskCategoryService;
+import ch.cern.todo.services.TaskCreationResult;
 import ch.cern.todo.services.TaskService;
+import ch.cern.todo.services.exceptions.StaleVersionException;
 import ch.cern.todo.services.exceptions.TaskCategoryNotFoundException;
 import ch.cern.todo.services.exceptions.TaskNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest
 public class TaskControllerTests {
-    @InjectMocks
+    private static final Duration EXPORT_TIMEOUT = Duration.ofMinutes(42);
+
     private TaskController taskController;
 
     @Spy
@@ -37,11 +60,18 @@ public class TaskControllerTests {
     @Spy
     private TaskService taskService;
 
+    @Spy
+    private TaskCategoryService taskCategoryService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     private AutoCloseable closeable;
 
     @BeforeEach
     public void openMocks() {
         closeable = MockitoAnnotations.openMocks(this);
+        taskController = new TaskController(taskService, taskCategoryService, taskMapper, objectMapper, EXPORT_TIMEOUT);
     }
 
     @AfterEach
@@ -107,6 +137,49 @@ public class TaskControllerTests {
         verify(taskService, times(1)).createTask(task);
     }
 
+    @Test
+    void When_CreateTasksIsCalled_Then_OneResultPerRequestIsReturnedInOrder() {
+        // Arrange
+        final var deadline = LocalDateTime.now();
+        final var taskCategoryRequest = new TaskCategoryRequestModel("some_category_name", "some_category_description");
+        final var taskRequestA = new TaskRequestModel("some_name", "some_description", deadline, taskCategoryRequest);
+        final var invalidTaskRequest = new TaskRequestModel(" ", "some_description", deadline, taskCategoryRequest);
+        final var taskRequestB = new TaskRequestModel("some_other_name", "some_description", deadline, taskCategoryRequest);
+        final var taskCategory = new TaskCategory("some_category_name", "some_category_description");
+        final var taskA = new Task("some_name", "some_description", deadline, taskCategory);
+        final var taskB = new Task("some_other_name", "some_description", deadline, taskCategory);
+        final var taskCategoryResponse = new TaskCategoryResponseModel(73, "some_category_name", "some_category_description");
+        final var taskResponseA = new TaskResponseModel(42L, "some_name", "some_description", deadline, taskCategoryResponse);
+
+        when(taskMapper.mapToTask(taskRequestA)).thenReturn(taskA);
+        when(taskMapper.mapToTask(invalidTaskRequest)).thenThrow(new IllegalArgumentException("some_error"));
+        when(taskMapper.mapToTask(taskRequestB)).thenReturn(taskB);
+        when(taskService.createTasks(List.of(taskA, taskB))).thenReturn(List.of(
+                TaskCreationResult.created(taskA),
+                TaskCreationResult.failed(new TaskCategoryNotFoundException())));
+        when(taskMapper.mapToTaskResponse(taskA)).thenReturn(taskResponseA);
+
+        // Act
+        final var response = taskController.createTasks(List.of(taskRequestA, invalidTaskRequest, taskRequestB));
+
+        // Assert
+        assertEquals(response.size(), 3);
+        assertEquals(response.get(0).getTask(), taskResponseA);
+        assertEquals(response.get(1).getError(), "some_error");
+        assertNull(response.get(2).getTask());
+        assertNotNull(response.get(2).getError());
+    }
+
+    @Test
+    void When_CreateTasksIsCalledWithTooManyTasks_Then_ResponseStatusExceptionIsThrown() {
+        // Arrange
+        final var taskRequest = new TaskRequestModel("some_name", "some_description", LocalDateTime.now(), null);
+        final var taskRequests = Collections.nCopies(1001, taskRequest);
+
+        // Act & Assert
+        assertThrows(ResponseStatusException.class, () -> taskController.createTasks(taskRequests));
+    }
+
     @Test
     void When_GetTaskIsCalled_Then_ResponseIsReturned() throws TaskNotFoundException {
         // Arrange
@@ -120,14 +193,63 @@ public class TaskControllerTests {
         when(taskMapper.mapToTaskResponse(task)).thenReturn(taskResponse);
 
         // Act
-        final var response = taskController.getTask(42L);
+        final var response = taskController.getTask(42L, newWebRequest());
+
+        // Assert
+        assertEquals(response, taskResponse);
+    }
+
+    @Test
+    void When_GetTaskIsCalledWithCurrentEntityTag_Then_NotModifiedIsReturnedWithoutMapping() throws TaskNotFoundException {
+        // Arrange
+        final var taskCategory = new TaskCategory("some_category_name", "some_category_description");
+        taskCategory.setVersion(1);
+        final var task = new Task("some_name", "some_description", LocalDateTime.now(), taskCategory);
+        task.setVersion(3);
+
+        final var servletRequest = new MockHttpServletRequest("GET", "/api/tasks/42");
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"3.1\"");
+        final var servletResponse = new MockHttpServletResponse();
+
+        when(taskService.getTaskById(42L)).thenReturn(task);
+
+        // Act
+        final var response = taskController.getTask(42L, new ServletWebRequest(servletRequest, servletResponse));
+
+        // Assert
+        assertNull(response);
+        assertEquals(servletResponse.getStatus(), HttpStatus.NOT_MODIFIED.value());
+        verify(taskMapper, never()).mapToTaskResponse(any());
+    }
+
+    @Test
+    void When_GetTaskIsCalledWithOutdatedEntityTag_Then_ResponseIsReturnedWithCurrentEntityTag() throws TaskNotFoundException {
+        // Arrange
+        final var deadline = LocalDateTime.now();
+        final var taskCategory = new TaskCategory("some_category_name", "some_category_description");
+        taskCategory.setVersion(2);
+        final var task = new Task("some_name", "some_description", deadline, taskCategory);
+        task.setVersion(3);
+        final var taskCategoryResponse = new TaskCategoryResponseModel(73, "some_category_name", "some_category_description");
+        final var taskResponse = new TaskResponseModel(42L, "some_name", "some_description", deadline, taskCategoryResponse);
+
+        final var servletRequest = new MockHttpServletRequest("GET", "/api/tasks/42");
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"3.1\"");
+        final var servletResponse = new MockHttpServletResponse();
+
+        when(taskService.getTaskById(42L)).thenReturn(task);
+        when(taskMapper.mapToTaskResponse(task)).thenReturn(taskResponse);
+
+        // Act
+        final var response = taskController.getTask(42L, new ServletWebRequest(servletRequest, servletResponse));
 
         // Assert
         assertEquals(response, taskResponse);
+        assertEquals(servletResponse.getHeader(HttpHeaders.ETAG), "\"3.2\"");
     }
 
     @Test
-    void When_GetTasksIsCalled_Then_AllTasksAreReturned() {
+    void When_GetTasksIsCalled_Then_PageOfTasksIsReturned() {
         // Arrange
         final var deadline = LocalDateTime.now();
         final var taskCategory = new TaskCategory("some_category_name", "some_category_description");
@@ -139,21 +261,173 @@ public class TaskControllerTests {
         final var taskResponseA = new TaskResponseModel(42L, "some_name", "some_description", deadline, taskCategoryResponse);
         final var taskResponseB = new TaskResponseModel(6L, "some_name", "some_description", deadline, taskCategoryResponse);
 
-        when(taskService.getTasks()).thenReturn(List.of(taskA, taskB));
+        when(taskService.getTasks(any())).thenReturn(List.of(taskA, taskB));
         when(taskMapper.mapToTaskResponse(taskA)).thenReturn(taskResponseA);
         when(taskMapper.mapToTaskResponse(taskB)).thenReturn(taskResponseB);
 
         // Act
-        final var response = taskController.getTasks();
+        final var response = taskController.getTasks(null, null, null, null, null, null);
+
+        // Assert
+        assertEquals(response.getItems().size(), 2);
+        assertTrue(response.getItems().contains(taskResponseA));
+        assertTrue(response.getItems().contains(taskResponseB));
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    void When_GetTasksReturnsFullPage_Then_NextCursorPointsAfterLastTask() {
+        // Arrange
+        final var deadline = LocalDateTime.now();
+        final var taskCategory = new TaskCategory("some_category_name", "some_category_description");
+
+        final var taskA = new Task("some_name", "some_description", deadline, taskCategory);
+        taskA.setId(6);
+        final var taskB = new Task("some_other_name", "some_other_description", deadline, taskCategory);
+        taskB.setId(42);
+
+        final var after = new PageCursor(5).encode();
+        when(taskService.getTasks(any())).thenReturn(List.of(taskA, taskB));
+
+        // Act
+        final var response = taskController.getTasks(after, 2, null, null, null, null);
+
+        // Assert
+        final var queryCaptor = ArgumentCaptor.forClass(TaskQuery.class);
+        verify(taskService).getTasks(queryCaptor.capture());
+        assertEquals(queryCaptor.getValue().getAfterId(), 5);
+        assertEquals(queryCaptor.getValue().getLimit(), 2);
+        assertEquals(PageCursor.decode(response.getNextCursor()).getId(), 42);
+    }
+
+    @Test
+    void When_GetTasksIsSortedByDeadline_Then_NextCursorContainsDeadlineOfLastTask() {
+        // Arrange
+        final var deadline = LocalDateTime.parse("2023-09-22T10:42:50.63");
+        final var taskCategory = new TaskCategory("some_category_name", "some_category_description");
+        final var task = new Task("some_name", "some_description", deadline, taskCategory);
+        task.setId(42);
+
+        when(taskService.getTasks(any())).thenReturn(List.of(task));
+
+        // Act
+        final var response = taskController.getTasks(null, 1, null, null, null, "deadline");
+
+        // Assert
+        final var nextCursor = PageCursor.decode(response.getNextCursor());
+        assertEquals(nextCursor.getId(), 42);
+        assertEquals(nextCursor.getDeadline(), deadline);
+    }
+
+    @Test
+    void When_GetTasksIsFiltered_Then_FilterIsPassedToTaskService() throws TaskCategoryNotFoundException {
+        // Arrange
+        final var dueAfter = LocalDateTime.parse("2023-09-22T00:00:00");
+        final var dueBefore = dueAfter.plusDays(7);
+        final var taskCategory = new TaskCategory("some_category_name", "some_category_description");
+        taskCategory.setId(73);
+
+        when(taskCategoryService.getTaskCategoryByName("some_category_name")).thenReturn(taskCategory);
+
+        // Act
+        taskController.getTasks(null, null, dueAfter, dueBefore, "some_category_name", "deadline");
+
+        // Assert
+        final var queryCaptor = ArgumentCaptor.forClass(TaskQuery.class);
+        verify(taskService).getTasks(queryCaptor.capture());
+        final var query = queryCaptor.getValue();
+        assertEquals(query.getSort(), TaskSort.DEADLINE);
+        assertEquals(query.getFilter().getDueAfter(), dueAfter);
+        assertEquals(query.getFilter().getDueBefore(), dueBefore);
+        assertEquals(query.getFilter().getCategoryId(), 73L);
+    }
+
+    @Test
+    void When_GetTasksIsFilteredByUnknownCategory_Then_ResponseStatusExceptionIsThrown() throws TaskCategoryNotFoundException {
+        // Arrange
+        when(taskCategoryService.getTaskCategoryByName("some_category_name")).thenThrow(new TaskCategoryNotFoundException());
+
+        // Act & Assert
+        assertThrows(ResponseStatusException.class, () -> taskController.getTasks(null, null, null, null, "some_category_name", null));
+    }
+
+    @Test
+    void When_GetTaskFieldsIsCalledWithUnknownField_Then_ResponseStatusExceptionIsThrown() {
+        // Act & Assert
+        final var exception = assertThrows(ResponseStatusException.class,
+                () -> taskController.getTaskFields(null, null, null, null, null, null, "id,owner"));
+        assertEquals(exception.getStatus(), HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void When_GetTaskFieldsIsCalledWithCategory_Then_AllCategoryFieldsAreRead() {
+        // Act
+        taskController.getTaskFields(null, null, null, null, null, null, "name, category");
 
         // Assert
-        assertEquals(response.size(), 2);
-        assertTrue(response.contains(taskResponseA));
-        assertTrue(response.contains(taskResponseB));
+        verify(taskService).getTasks(any(TaskQuery.class),
+                eq(EnumSet.of(TaskField.NAME, TaskField.CATEGORY_ID, TaskField.CATEGORY_NAME, TaskField.CATEGORY_DESCRIPTION)));
+    }
+
+    @Test
+    void When_GetTasksIsCalledWithLimitAboveMaximum_Then_LimitIsCapped() {
+        // Act
+        taskController.getTasks(null, Pagination.MAX_LIMIT + 1, null, null, null, null);
+
+        // Assert
+        final var queryCaptor = ArgumentCaptor.forClass(TaskQuery.class);
+        verify(taskService).getTasks(queryCaptor.capture());
+        assertEquals(queryCaptor.getValue().getLimit(), Pagination.MAX_LIMIT);
+    }
+
+    @Test
+    void When_GetTasksIsCalledWithInvalidCursor_Then_ResponseStatusExceptionIsThrown() {
+        // Act & Assert
+        assertThrows(ResponseStatusException.class, () -> taskController.getTasks("not_a_cursor", null, null, null, null, null));
+    }
+
+    @Test
+    void When_GetTasksIsCalledWithUnknownSort_Then_ResponseStatusExceptionIsThrown() {
+        // Act & Assert
+        assertThrows(ResponseStatusException.class, () -> taskController.getTasks(null, null, null, null, null, "name"));
+    }
+
+    @Test
+    void When_GetTasksIsSortedByDeadlineWithIdCursor_Then_ResponseStatusExceptionIsThrown() {
+        // Arrange
+        final var after = new PageCursor(5).encode();
+
+        // Act & Assert
+        assertThrows(ResponseStatusException.class, () -> taskController.getTasks(after, null, null, null, null, "deadline"));
+    }
+
+    @Test
+    void When_SearchTasksIsCalled_Then_RankedTaskResponsesAreReturned() {
+        // Arrange
+        final var deadline = LocalDateTime.now();
+        final var taskCategory = new TaskCategory("some_category_name", "some_category_description");
+        final var task = new Task("some_name", "some_description", deadline, taskCategory);
+        final var taskCategoryResponse = new TaskCategoryResponseModel(73, "some_category_name", "some_category_description");
+        final var taskResponse = new TaskResponseModel(42L, "some_name", "some_description", deadline, taskCategoryResponse);
+
+        when(taskService.searchTasks("some_name", Pagination.DEFAULT_LIMIT)).thenReturn(List.of(task));
+        when(taskMapper.mapToTaskResponse(task)).thenReturn(taskResponse);
+
+        // Act
+        final var response = taskController.searchTasks("some_name", null);
+
+        // Assert
+        assertEquals(response, List.of(taskResponse));
+    }
+
+    @Test
+    void When_SearchTasksIsCalledWithBlankQuery_Then_ResponseStatusExceptionIsThrown() {
+        // Act & Assert
+        assertThrows(ResponseStatusException.class, () -> taskController.searchTasks(" ", null));
     }
 
     @Test
-    void When_UpdateTaskIsCalled_Then_UpdatedTaskIsReturned() throws TaskNotFoundException, TaskCategoryNotFoundException {
+    void When_UpdateTaskIsCalled_Then_UpdatedTaskIsReturned() throws TaskNotFoundException, TaskCategoryNotFoundException, StaleVersionException {
         // Arrange
         final var deadline = LocalDateTime.now();
         final var taskCategoryRequest = new TaskCategoryRequestModel("some_category_name", "some_category_description");
@@ -164,18 +438,19 @@ public class TaskControllerTests {
         final var taskResponse = new TaskResponseModel(42L, "some_name", "some_description", deadline, taskCategoryResponse);
 
         when(taskMapper.mapToTask(taskRequest)).thenReturn(task);
-        when(taskService.updateTask(42L, task)).thenReturn(task);
+        when(taskService.updateTask(42L, task, null)).thenReturn(task);
         when(taskMapper.mapToTaskResponse(task)).thenReturn(taskResponse);
 
         // Act
-        final var response = taskController.updateTask(42L, taskRequest);
+        final var response = taskController.updateTask(42L, null, taskRequest);
 
         // Assert
-        assertEquals(response, taskResponse);
+        assertEquals(response.getBody(), taskResponse);
+        assertEquals(response.getHeaders().getETag(), "\"0.0\"");
     }
 
     @Test
-    void When_UpdateTaskIsCalled_Then_TaskServiceUpdateTaskIsCalledOnce() throws TaskNotFoundException, TaskCategoryNotFoundException {
+    void When_UpdateTaskIsCalled_Then_TaskServiceUpdateTaskIsCalledOnce() throws TaskNotFoundException, TaskCategoryNotFoundException, StaleVersionException {
         // Arrange
         final var deadline = LocalDateTime.now();
         final var taskCategoryRequest = new TaskCategoryRequestModel("some_category_name", "some_category_description");
@@ -184,20 +459,112 @@ public class TaskControllerTests {
         final var task = new Task("some_name", "some_description", deadline, taskCategory);
 
         when(taskMapper.mapToTask(taskRequest)).thenReturn(task);
+        when(taskService.updateTask(42L, task, 3L)).thenReturn(task);
 
         // Act
-        taskController.updateTask(42L, taskRequest);
+        taskController.updateTask(42L, "\"3.1\"", taskRequest);
 
         // Assert
-        verify(taskService, times(1)).updateTask(42L, task);
+        verify(taskService, times(1)).updateTask(42L, task, 3L);
     }
 
     @Test
-    void When_DeleteTaskIsCalled_Then_TaskServiceDeleteTaskIsCalledOnce() throws TaskNotFoundException {
+    void When_UpdateTaskIsCalledWithStaleEntityTag_Then_ResponseStatusExceptionIsThrown() throws TaskNotFoundException, TaskCategoryNotFoundException, StaleVersionException {
+        // Arrange
+        final var taskCategoryRequest = new TaskCategoryRequestModel("some_category_name", "some_category_description");
+        final var taskRequest = new TaskRequestModel("some_name", "some_description", LocalDateTime.now(), taskCategoryRequest);
+        final var task = new Task("some_name", "some_description", LocalDateTime.now(), new TaskCategory("some_category_name", "some_category_description"));
+
+        when(taskMapper.mapToTask(taskRequest)).thenReturn(task);
+        when(taskService.updateTask(42L, task, 2L)).thenThrow(new StaleVersionException());
+
+        // Act & Assert
+        final var exception = assertThrows(ResponseStatusException.class, () -> taskController.updateTask(42L, "\"2.1\"", taskRequest));
+        assertEquals(exception.getStatus(), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    void When_DeleteTaskIsCalledWithMalformedEntityTag_Then_ResponseStatusExceptionIsThrown() {
+        // Act & Assert
+        final var exception = assertThrows(ResponseStatusException.class, () -> taskController.deleteTask(42L, "W/\"2.1\""));
+        assertEquals(exception.getStatus(), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    void When_DeleteTaskIsCalled_Then_TaskServiceDeleteTaskIsCalledOnce() throws TaskNotFoundException, StaleVersionException {
         // Act
-        taskController.deleteTask(42L);
+        taskController.deleteTask(42L, null);
 
         // Assert
-        verify(taskService, times(1)).deleteTask(42L);
+        verify(taskService, times(1)).deleteTask(42L, null);
+    }
+
+    @Test
+    void When_ExportTasksIsCalled_Then_EachTaskIsWrittenAsOneJsonLine() throws Exception {
+        // Arrange
+        final var deadline = LocalDateTime.parse("2023-09-22T10:42:50.63");
+        final var taskCategory = new TaskCategory("some_category_name", "some_category_description");
+        final var taskA = new Task("some_name", "some_description", deadline, taskCategory);
+        final var taskB = new Task("some_other_name", "some_other_description", deadline, taskCategory);
+        final var taskCategoryResponse = new TaskCategoryResponseModel(73, "some_category_name", "some_category_description");
+        final var taskResponseA = new TaskResponseModel(42L, "some_name", "some_description", deadline, taskCategoryResponse);
+        final var taskResponseB = new TaskResponseModel(6L, "some_other_name", "some_other_description", deadline, taskCategoryResponse);
+
+        doAnswer(invocation -> {
+            final Consumer<Task> consumer = invocation.getArgument(0);
+            consumer.accept(taskA);
+            consumer.accept(taskB);
+            return null;
+        }).when(taskService).exportTasks(any());
+        when(taskMapper.mapToTaskResponse(taskA)).thenReturn(taskResponseA);
+        when(taskMapper.mapToTaskResponse(taskB)).thenReturn(taskResponseB);
+
+        final var outputStream = new ByteArrayOutputStream();
+
+        // Act
+        Objects.requireNonNull(taskController.exportTasks(new MockHttpServletRequest(), new MockHttpServletResponse()).getBody()).writeTo(outputStream);
+
+        // Assert
+        final var lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(lines.length, 2);
+        assertEquals(objectMapper.readTree(lines[0]).get("id").asLong(), 42L);
+        assertEquals(objectMapper.readTree(lines[1]).get("id").asLong(), 6L);
+    }
+
+    @Test
+    void When_ExportTasksIsCalled_Then_ExportTimeoutIsUsedForTheAsyncRequest() throws Exception {
+        // Arrange
+        final var request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+
+        // Act
+        taskController.exportTasks(request, new MockHttpServletResponse());
+        WebAsyncUtils.getAsyncManager(request).startCallableProcessing(() -> null);
+
+        // Assert
+        assertEquals(request.getAsyncContext().getTimeout(), EXPORT_TIMEOUT.toMillis());
+    }
+
+    @Test
+    void When_MoveTasksToCategoryIsCalled_Then_FilterIsPassedAndNumberOfMovedTasksIsReturned() throws TaskCategoryNotFoundException {
+        // Arrange
+        final var dueBefore = LocalDateTime.parse("2023-09-22T10:42:50.63");
+        final var sourceCategory = new TaskCategory("some_category_name", "some_category_description");
+        sourceCategory.setId(42);
+
+        when(taskCategoryService.getTaskCategoryByName("some_category_name")).thenReturn(sourceCategory);
+        when(taskService.moveTasksToCategory(any(), eq(73L))).thenReturn(5);
+
+        // Act
+        final var response = taskController.moveTasksToCategory(73L, null, dueBefore, "some_category_name");
+
+        // Assert
+        assertEquals(response.getMovedTasks(), 5);
+        verify(taskService, times(1)).moveTasksToCategory(
+                argThat(filter -> filter.getCategoryId() == 42L && dueBefore.equals(filter.getDueBefore()) && filter.getDueAfter() == null), eq(73L));
+    }
+
+    private static ServletWebRequest newWebRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
     }
 }
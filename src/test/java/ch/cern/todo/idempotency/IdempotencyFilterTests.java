@@ -0,0 +1,169 @@
+package ch.cern.todo.idempotency;
+
+import ch.cern.todo.repositories.IdempotentResponseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class IdempotencyFilterTests {
+    private static final String PATH = "/api/tasks/categories";
+    private static final String BODY = "{\"name\":\"some_name\"}";
+
+    private final IdempotencyStore idempotencyStore = new IdempotencyStore(mock(IdempotentResponseRepository.class), Duration.ofHours(1), 16);
+
+    private final AtomicInteger controllerCalls = new AtomicInteger();
+
+    private final CountDownLatch controllerCalled = new CountDownLatch(1);
+
+    private final CountDownLatch controllerReleased = new CountDownLatch(1);
+
+    private volatile boolean failing;
+
+    /**
+     * Stands in for the controller: counts its calls, blocks until released and answers with the number of the call,
+     * or fails while {@link #failing} is set.
+     */
+    private final FilterChain controller = (request, response) -> {
+        final var call = controllerCalls.incrementAndGet();
+        controllerCalled.countDown();
+        try {
+            assertTrue(controllerReleased.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException(e);
+        }
+
+        final var httpResponse = (HttpServletResponse) response;
+        if (failing) {
+            httpResponse.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return;
+        }
+
+        httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        httpResponse.getWriter().write("{\"id\":" + call + "}");
+    };
+
+    @AfterEach
+    public void releaseController() {
+        controllerReleased.countDown();
+    }
+
+    private MockHttpServletResponse post(IdempotencyFilter filter, String body) throws ServletException, IOException {
+        final var request = new MockHttpServletRequest("POST", PATH);
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, "some_idempotency_key");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        final var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, controller);
+        return response;
+    }
+
+    private Thread postInBackground(IdempotencyFilter filter, MockHttpServletResponse[] responses, int index) {
+        final var thread = new Thread(() -> {
+            try {
+                responses[index] = post(filter, BODY);
+            } catch (ServletException | IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    @Test
+    void When_RequestsWithSameKeyArriveConcurrently_Then_ControllerIsCalledOnceAndTheResponseIsReplayed() throws Exception {
+        // Arrange
+        final var filter = new IdempotencyFilter(idempotencyStore, Duration.ofSeconds(10));
+        final var responses = new MockHttpServletResponse[2];
+        final var first = postInBackground(filter, responses, 0);
+        assertTrue(controllerCalled.await(10, TimeUnit.SECONDS));
+        final var second = postInBackground(filter, responses, 1);
+        while (second.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+
+        // Act
+        controllerReleased.countDown();
+        first.join();
+        second.join();
+
+        // Assert
+        assertEquals(controllerCalls.get(), 1);
+        assertEquals(responses[0].getStatus(), HttpStatus.OK.value());
+        assertEquals(responses[1].getStatus(), HttpStatus.OK.value());
+        assertEquals(responses[0].getContentAsString(), "{\"id\":1}");
+        assertEquals(responses[1].getContentAsString(), "{\"id\":1}");
+        assertNull(responses[0].getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+        assertEquals(responses[1].getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED), "true");
+    }
+
+    @Test
+    void When_KeyIsReusedForDifferentBody_Then_UnprocessableEntityIsReturned() throws ServletException, IOException {
+        // Arrange
+        final var filter = new IdempotencyFilter(idempotencyStore, Duration.ofSeconds(10));
+        controllerReleased.countDown();
+        post(filter, BODY);
+
+        // Act
+        final var response = post(filter, "{\"name\":\"some_other_name\"}");
+
+        // Assert
+        assertEquals(response.getStatus(), HttpStatus.UNPROCESSABLE_ENTITY.value());
+        assertEquals(controllerCalls.get(), 1);
+    }
+
+    @Test
+    void When_FirstRequestFailed_Then_RetryWithSameKeyIsProcessed() throws ServletException, IOException {
+        // Arrange
+        final var filter = new IdempotencyFilter(idempotencyStore, Duration.ofSeconds(10));
+        controllerReleased.countDown();
+        failing = true;
+        final var failedResponse = post(filter, BODY);
+        failing = false;
+
+        // Act
+        final var response = post(filter, BODY);
+
+        // Assert
+        assertEquals(failedResponse.getStatus(), HttpStatus.INTERNAL_SERVER_ERROR.value());
+        assertEquals(response.getStatus(), HttpStatus.OK.value());
+        assertEquals(response.getContentAsString(), "{\"id\":2}");
+        assertNull(response.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+        assertEquals(controllerCalls.get(), 2);
+    }
+
+    @Test
+    void When_RequestWithSameKeyIsStillInProgressAfterTheWaitTimeout_Then_ConflictIsReturned() throws Exception {
+        // Arrange
+        final var filter = new IdempotencyFilter(idempotencyStore, Duration.ofMillis(50));
+        final var responses = new MockHttpServletResponse[1];
+        final var first = postInBackground(filter, responses, 0);
+        assertTrue(controllerCalled.await(10, TimeUnit.SECONDS));
+
+        // Act
+        final var response = post(filter, BODY);
+
+        // Assert
+        assertEquals(response.getStatus(), HttpStatus.CONFLICT.value());
+        assertEquals(controllerCalls.get(), 1);
+        controllerReleased.countDown();
+        first.join();
+        assertEquals(responses[0].getStatus(), HttpStatus.OK.value());
+    }
+}
@@ -0,0 +1,98 @@
+package ch.cern.todo.idempotency;
+
+import ch.cern.todo.repositories.IdempotentResponseRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class IdempotencyStoreTests {
+    private static final Instant NOW = Instant.parse("2023-09-20T12:00:00Z");
+
+    private final IdempotentResponseRepository idempotentResponseRepository = mock(IdempotentResponseRepository.class);
+
+    private IdempotencyStore store(Instant now, int maximumSize) {
+        return new IdempotencyStore(idempotentResponseRepository, Clock.fixed(now, ZoneOffset.UTC), Duration.ofHours(1), maximumSize);
+    }
+
+    @Test
+    void When_ResponseIsCompleted_Then_ItIsServedFromMemoryAndStored() {
+        // Arrange
+        final var store = store(NOW, 16);
+        final var response = store.newResponse("some_key", "some_hash", 200, "application/json", new byte[]{1, 2});
+        assertNull(store.begin("some_key"));
+
+        // Act
+        store.complete("some_key", response);
+
+        // Assert
+        assertSame(store.get("some_key"), response);
+        verify(idempotentResponseRepository, times(1)).saveAndFlush(response);
+        verify(idempotentResponseRepository, never()).findById(any());
+    }
+
+    @Test
+    void When_RequestIsInProgress_Then_OtherRequestsGetItsFuture() {
+        // Arrange
+        final var store = store(NOW, 16);
+        assertNull(store.begin("some_key"));
+
+        // Act
+        final var requestInProgress = store.begin("some_key");
+        store.complete("some_key", null);
+
+        // Assert
+        assertTrue(requestInProgress.isDone());
+        assertNull(requestInProgress.join());
+        assertNull(store.begin("some_key"));
+    }
+
+    @Test
+    void When_ResponseIsNotInMemory_Then_ItIsLoadedFromTheTable() {
+        // Arrange
+        final var store = store(NOW, 16);
+        final var response = store.newResponse("some_key", "some_hash", 200, "application/json", new byte[0]);
+        when(idempotentResponseRepository.findById("some_key")).thenReturn(Optional.of(response));
+
+        // Act
+        final var first = store.get("some_key");
+        final var second = store.get("some_key");
+
+        // Assert
+        assertSame(first, response);
+        assertSame(second, response);
+        verify(idempotentResponseRepository, times(1)).findById("some_key");
+    }
+
+    @Test
+    void When_ResponseExpired_Then_ItIsNotReturned() {
+        // Arrange
+        final var response = store(NOW.minus(Duration.ofHours(2)), 16).newResponse("some_key", "some_hash", 200, null, new byte[0]);
+        when(idempotentResponseRepository.findById("some_key")).thenReturn(Optional.of(response));
+
+        // Act & Assert
+        assertNull(store(NOW, 16).get("some_key"));
+    }
+
+    @Test
+    void When_StoreIsFull_Then_LeastRecentlyUsedResponseIsEvicted() {
+        // Arrange
+        final var store = store(NOW, 2);
+        for (final var key : new String[]{"a", "b", "c"}) {
+            store.begin(key);
+            store.complete(key, store.newResponse(key, "some_hash", 200, null, new byte[0]));
+        }
+
+        // Act & Assert
+        assertEquals(store.size(), 2);
+        when(idempotentResponseRepository.findById("a")).thenReturn(Optional.empty());
+        assertNull(store.get("a"));
+        assertNotNull(store.get("c"));
+    }
+}
@@ -4,11 +4,16 @@ import ch.cern.todo.api.models.TaskCategoryRequestModel;
 import ch.cern.todo.api.models.TaskRequestModel;
 import ch.cern.todo.core.Task;
 import ch.cern.todo.core.TaskCategory;
+import ch.cern.todo.repositories.TaskField;
+import ch.cern.todo.repositories.TaskProjection;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -57,4 +62,21 @@ public class DefaultTaskMapperTests {
         assertEquals(taskResponse.getCategory().getName(), "some_category_name");
         assertEquals(taskResponse.getCategory().getDescription(), "some_category_description");
     }
+
+    @Test
+    void When_IsMappedToTaskFieldsResponse_Then_OnlyRequestedFieldsAreSet() {
+        // Arrange
+        final var values = new EnumMap<TaskField, Object>(TaskField.class);
+        values.put(TaskField.ID, 42L);
+        values.put(TaskField.NAME, "some_name");
+        values.put(TaskField.DEADLINE, LocalDateTime.now());
+        values.put(TaskField.CATEGORY_NAME, "some_category_name");
+        final var task = new TaskProjection(values);
+
+        // Act
+        final var taskResponse = taskMapper.mapToTaskFieldsResponse(task, EnumSet.of(TaskField.NAME, TaskField.CATEGORY_NAME));
+
+        // Assert
+        assertEquals(taskResponse, Map.of("name", "some_name", "category", Map.of("name", "some_category_name")));
+    }
 }
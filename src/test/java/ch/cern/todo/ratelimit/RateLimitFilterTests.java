@@ -0,0 +1,89 @@
+package ch.cern.todo.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimitFilterTests {
+    private static final String API_KEY_HEADER = "X-API-Key";
+
+    private final RateLimiter rateLimiter = new RateLimiter(() -> TimeUnit.SECONDS.toNanos(1), Map.of(
+            EndpointGroup.LIST, new ClientBuckets(1, 0.25, 100),
+            EndpointGroup.READ, new ClientBuckets(1, 0.25, 100),
+            EndpointGroup.WRITE, new ClientBuckets(1, 0.25, 100)));
+
+    private final RateLimitFilter rateLimitFilter = new RateLimitFilter(rateLimiter, true, API_KEY_HEADER, Set.of("some_api_key", "some_other_api_key"));
+
+    private MockHttpServletResponse get(String path, String apiKey) throws ServletException, IOException {
+        final var request = new MockHttpServletRequest("GET", path);
+        if (apiKey != null) {
+            request.addHeader(API_KEY_HEADER, apiKey);
+        }
+
+        final var response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    void When_ClientExceedsRateLimit_Then_TooManyRequestsWithRetryAfterIsReturned() throws ServletException, IOException {
+        // Arrange
+        get("/api/tasks", null);
+
+        // Act
+        final var response = get("/api/tasks", null);
+
+        // Assert
+        assertEquals(response.getStatus(), HttpStatus.TOO_MANY_REQUESTS.value());
+        assertEquals(response.getHeader(HttpHeaders.RETRY_AFTER), "4");
+    }
+
+    @Test
+    void When_ClientsSendDifferentApiKeys_Then_TheyAreLimitedSeparately() throws ServletException, IOException {
+        // Arrange
+        get("/api/tasks", "some_api_key");
+
+        // Act
+        final var response = get("/api/tasks", "some_other_api_key");
+
+        // Assert
+        assertEquals(response.getStatus(), HttpStatus.OK.value());
+    }
+
+    @Test
+    void When_ClientSendsUnknownApiKeys_Then_ItIsLimitedByAddress() throws ServletException, IOException {
+        // Arrange
+        get("/api/tasks", "some_unknown_api_key");
+
+        // Act
+        final var response = get("/api/tasks", "some_other_unknown_api_key");
+
+        // Assert
+        assertEquals(response.getStatus(), HttpStatus.TOO_MANY_REQUESTS.value());
+        assertEquals(rateLimiter.getClients(EndpointGroup.LIST), 1);
+    }
+
+    @Test
+    void When_PathIsNotAnApiPath_Then_RequestIsNotLimited() throws ServletException, IOException {
+        // Arrange
+        get("/actuator/prometheus", null);
+
+        // Act
+        final var response = get("/actuator/prometheus", null);
+
+        // Assert
+        assertEquals(response.getStatus(), HttpStatus.OK.value());
+        assertEquals(rateLimiter.getClients(EndpointGroup.LIST), 0);
+    }
+}
@@ -0,0 +1,96 @@
+package ch.cern.todo.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTests {
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong nanoClock = new AtomicLong(ONE_SECOND);
+
+    private RateLimiter rateLimiter(int capacity, double refillRate, int maxClients) {
+        return new RateLimiter(nanoClock::get, Map.of(
+                EndpointGroup.LIST, new ClientBuckets(capacity, refillRate, maxClients),
+                EndpointGroup.READ, new ClientBuckets(capacity, refillRate, maxClients),
+                EndpointGroup.WRITE, new ClientBuckets(capacity, refillRate, maxClients)));
+    }
+
+    @Test
+    void When_ClientExceedsCapacity_Then_RequestsAreRejectedUntilTokensAreRefilled() {
+        // Arrange
+        final var rateLimiter = rateLimiter(3, 2, 100);
+
+        // Act & Assert
+        for (var i = 0; i < 3; i++) {
+            assertEquals(rateLimiter.tryAcquire(EndpointGroup.LIST, "some_client"), 0);
+        }
+
+        assertEquals(rateLimiter.tryAcquire(EndpointGroup.LIST, "some_client"), ONE_SECOND / 2);
+
+        nanoClock.addAndGet(ONE_SECOND / 2);
+        assertEquals(rateLimiter.tryAcquire(EndpointGroup.LIST, "some_client"), 0);
+        assertTrue(rateLimiter.tryAcquire(EndpointGroup.LIST, "some_client") > 0);
+
+        assertEquals(rateLimiter.getAdmittedRequests(EndpointGroup.LIST), 4);
+        assertEquals(rateLimiter.getRejectedRequests(EndpointGroup.LIST), 2);
+    }
+
+    @Test
+    void When_ClientExhaustsBucket_Then_OtherClientsAndGroupsAreNotLimited() {
+        // Arrange
+        final var rateLimiter = rateLimiter(1, 1, 100);
+        rateLimiter.tryAcquire(EndpointGroup.LIST, "some_client");
+
+        // Act & Assert
+        assertTrue(rateLimiter.tryAcquire(EndpointGroup.LIST, "some_client") > 0);
+        assertEquals(rateLimiter.tryAcquire(EndpointGroup.LIST, "some_other_client"), 0);
+        assertEquals(rateLimiter.tryAcquire(EndpointGroup.WRITE, "some_client"), 0);
+    }
+
+    @Test
+    void When_BucketsRefilled_Then_TheyAreRemoved() {
+        // Arrange
+        final var rateLimiter = rateLimiter(2, 1, 100);
+        rateLimiter.tryAcquire(EndpointGroup.READ, "some_client");
+        rateLimiter.tryAcquire(EndpointGroup.READ, "some_other_client");
+        rateLimiter.tryAcquire(EndpointGroup.READ, "some_other_client");
+
+        // Act
+        nanoClock.addAndGet(ONE_SECOND);
+        rateLimiter.removeExpiredBuckets();
+
+        // Assert
+        assertEquals(rateLimiter.getClients(EndpointGroup.READ), 1);
+    }
+
+    @Test
+    void When_MaximumNumberOfClientsIsReached_Then_BucketsAreEvicted() {
+        // Arrange
+        final var rateLimiter = rateLimiter(1, 1, 10);
+
+        // Act
+        for (var i = 0; i < 100; i++) {
+            assertEquals(rateLimiter.tryAcquire(EndpointGroup.WRITE, "some_client_" + i), 0);
+        }
+
+        // Assert
+        assertTrue(rateLimiter.getClients(EndpointGroup.WRITE) <= 10);
+    }
+
+    @Test
+    void When_RequestIsGrouped_Then_GroupDependsOnMethodAndPath() {
+        // Act & Assert
+        assertEquals(EndpointGroup.of("GET", "/api/tasks/"), EndpointGroup.LIST);
+        assertEquals(EndpointGroup.of("GET", "/api/tasks/categories"), EndpointGroup.LIST);
+        assertEquals(EndpointGroup.of("GET", "/api/tasks/search"), EndpointGroup.LIST);
+        assertEquals(EndpointGroup.of("GET", "/api/tasks/42"), EndpointGroup.READ);
+        assertEquals(EndpointGroup.of("GET", "/api/tasks/categories/42/"), EndpointGroup.READ);
+        assertEquals(EndpointGroup.of("PUT", "/api/tasks/42"), EndpointGroup.WRITE);
+        assertEquals(EndpointGroup.of("POST", "/api/tasks"), EndpointGroup.WRITE);
+    }
+}
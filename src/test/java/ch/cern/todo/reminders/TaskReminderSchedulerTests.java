@@ -0,0 +1,130 @@
+package ch.cern.todo.reminders;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskReminderSchedulerTests {
+    private static final LocalDateTime NOW = LocalDateTime.of(2023, 9, 20, 12, 0);
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    private final List<TaskReminder> reminders = new ArrayList<>();
+
+    private final TaskReminderScheduler scheduler = new TaskReminderScheduler(clock, Duration.ofSeconds(1), Duration.ofMinutes(15), List.of(reminders::add));
+
+    @Test
+    void When_DeadlineApproachesAndPasses_Then_DueSoonAndOverdueRemindersAreDelivered() {
+        // Arrange
+        scheduler.schedule(42, NOW.plusHours(1));
+
+        // Act & Assert
+        clock.set(NOW.plusMinutes(44));
+        scheduler.tick();
+        assertTrue(reminders.isEmpty());
+
+        clock.set(NOW.plusMinutes(45));
+        scheduler.tick();
+        assertEquals(reminders.size(), 1);
+        assertEquals(reminders.get(0).getType(), TaskReminder.Type.DUE_SOON);
+        assertEquals(reminders.get(0).getTaskId(), 42);
+
+        clock.set(NOW.plusHours(1));
+        scheduler.tick();
+        assertEquals(reminders.size(), 2);
+        assertEquals(reminders.get(1).getType(), TaskReminder.Type.OVERDUE);
+        assertEquals(scheduler.pendingReminders(), 0);
+        assertEquals(scheduler.getFiredReminderCount(), 2);
+    }
+
+    @Test
+    void When_TaskIsRescheduled_Then_OnlyTheNewDeadlineIsReminded() {
+        // Arrange
+        scheduler.schedule(42, NOW.plusHours(1));
+
+        // Act
+        scheduler.schedule(42, NOW.plusHours(2));
+        clock.set(NOW.plusHours(1));
+        scheduler.tick();
+
+        // Assert
+        assertTrue(reminders.isEmpty());
+        assertEquals(scheduler.pendingReminders(), 2);
+    }
+
+    @Test
+    void When_TaskIsCancelled_Then_NoReminderIsDelivered() {
+        // Arrange
+        scheduler.schedule(42, NOW.plusHours(1));
+
+        // Act
+        scheduler.cancel(42);
+        clock.set(NOW.plusHours(2));
+        scheduler.tick();
+
+        // Assert
+        assertTrue(reminders.isEmpty());
+        assertEquals(scheduler.pendingReminders(), 0);
+    }
+
+    @Test
+    void When_DeadlineIsInsideTheLeadTime_Then_DueSoonReminderIsDeliveredOnTheNextTick() {
+        // Arrange
+        scheduler.schedule(42, NOW.plusMinutes(5));
+
+        // Act
+        clock.set(NOW.plusSeconds(1));
+        scheduler.tick();
+
+        // Assert
+        assertEquals(reminders.size(), 1);
+        assertEquals(reminders.get(0).getType(), TaskReminder.Type.DUE_SOON);
+        assertEquals(scheduler.getTotalLagMillis(), 1000);
+    }
+
+    @Test
+    void When_DeadlineHasPassed_Then_NoReminderIsScheduled() {
+        // Act
+        scheduler.schedule(42, NOW.minusMinutes(1));
+
+        // Assert
+        assertEquals(scheduler.pendingReminders(), 0);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MutableClock(LocalDateTime dateTime) {
+            set(dateTime);
+        }
+
+        void set(LocalDateTime dateTime) {
+            instant = dateTime.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
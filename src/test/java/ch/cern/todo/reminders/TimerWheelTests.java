@@ -0,0 +1,82 @@
+package ch.cern.todo.reminders;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimerWheelTests {
+
+    @Test
+    void When_WheelAdvances_Then_TimeoutsExpireOnTheFirstTickAtOrAfterTheirDeadline() {
+        // Arrange
+        final var wheel = new TimerWheel<String>(10, 0);
+        wheel.schedule("a", 25);
+        wheel.schedule("b", 30);
+
+        // Act
+        final var expiredAt20 = wheel.advance(20);
+        final var expiredAt29 = wheel.advance(29);
+        final var expiredAt30 = wheel.advance(30);
+
+        // Assert
+        assertTrue(expiredAt20.isEmpty());
+        assertTrue(expiredAt29.isEmpty());
+        assertEquals(payloads(expiredAt30), List.of("b", "a"));
+        assertEquals(wheel.size(), 0);
+    }
+
+    @Test
+    void When_TimeoutsSpanSeveralLevels_Then_EachExpiresOnItsOwnTick() {
+        // Arrange
+        final var wheel = new TimerWheel<Long>(1, 0);
+        final var deadlines = List.of(1L, 63L, 64L, 65L, 4095L, 4096L, 4097L, 262_145L, 16_777_217L);
+        deadlines.forEach(deadline -> wheel.schedule(deadline, deadline));
+
+        // Act
+        final var expired = new ArrayList<Long>();
+        for (final var deadline : deadlines) {
+            assertTrue(wheel.advance(deadline - 1).isEmpty());
+            expired.addAll(payloads(wheel.advance(deadline)));
+        }
+
+        // Assert
+        assertEquals(expired, deadlines);
+    }
+
+    @Test
+    void When_TimeoutIsCancelled_Then_ItDoesNotExpire() {
+        // Arrange
+        final var wheel = new TimerWheel<String>(1, 0);
+        final var timeout = wheel.schedule("a", 5000);
+        wheel.schedule("b", 5000);
+
+        // Act
+        final var cancelled = wheel.cancel(timeout);
+
+        // Assert
+        assertTrue(cancelled);
+        assertFalse(timeout.isPending());
+        assertFalse(wheel.cancel(timeout));
+        assertEquals(payloads(wheel.advance(5000)), List.of("b"));
+    }
+
+    @Test
+    void When_DeadlineHasPassed_Then_TimeoutExpiresOnTheNextTick() {
+        // Arrange
+        final var wheel = new TimerWheel<String>(1, 0);
+        wheel.advance(100);
+
+        // Act
+        wheel.schedule("a", 50);
+
+        // Assert
+        assertEquals(payloads(wheel.advance(101)), List.of("a"));
+    }
+
+    private static <T> List<T> payloads(List<TimerWheel.Timeout<T>> timeouts) {
+        return timeouts.stream().map(TimerWheel.Timeout::getPayload).toList();
+    }
+}
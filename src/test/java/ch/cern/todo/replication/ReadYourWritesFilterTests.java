@@ -0,0 +1,94 @@
+package ch.cern.todo.replication;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadYourWritesFilterTests {
+    private static final String API_KEY_HEADER = "X-API-Key";
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    private final ReadYourWrites readYourWrites = new ReadYourWrites(clock::get, Duration.ofSeconds(5));
+
+    private final ReadYourWritesFilter readYourWritesFilter = new ReadYourWritesFilter(readYourWrites, API_KEY_HEADER);
+
+    /**
+     * Sends the request through the filter and returns the replicated-up-to time required while it was handled, or
+     * {@code null} if it was not allowed to read replicas.
+     */
+    private Long send(String method, String apiKey) throws ServletException, IOException {
+        final var request = new MockHttpServletRequest(method, "/api/tasks");
+        request.addHeader(API_KEY_HEADER, apiKey);
+
+        final var requiredReplicatedUpTo = new Long[1];
+        final var servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                requiredReplicatedUpTo[0] = ReplicaReads.isAllowed() ? ReplicaReads.getRequiredReplicatedUpTo() : null;
+            }
+        };
+
+        readYourWritesFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(servlet));
+        return requiredReplicatedUpTo[0];
+    }
+
+    @Test
+    void When_ClientHasNotWritten_Then_ItMayReadAnyReplica() throws ServletException, IOException {
+        // Act
+        final var requiredReplicatedUpTo = send("GET", "some_api_key");
+
+        // Assert
+        assertEquals(requiredReplicatedUpTo, Long.valueOf(Long.MIN_VALUE));
+        assertFalse(ReplicaReads.isAllowed());
+    }
+
+    @Test
+    void When_ClientWrites_Then_WriteIsNotAllowedOnReplicasAndLaterReadsRequireIt() throws ServletException, IOException {
+        // Act
+        final var requiredDuringWrite = send("PUT", "some_api_key");
+        clock.addAndGet(100);
+        final var requiredDuringRead = send("GET", "some_api_key");
+
+        // Assert
+        assertNull(requiredDuringWrite);
+        assertEquals(requiredDuringRead, Long.valueOf(1_000_000));
+    }
+
+    @Test
+    void When_OtherClientWrote_Then_ItMayStillReadAnyReplica() throws ServletException, IOException {
+        // Arrange
+        send("POST", "some_api_key");
+
+        // Act
+        final var requiredReplicatedUpTo = send("GET", "some_other_api_key");
+
+        // Assert
+        assertEquals(requiredReplicatedUpTo, Long.valueOf(Long.MIN_VALUE));
+    }
+
+    @Test
+    void When_WriteIsOlderThanMaximumLag_Then_ItIsForgotten() throws ServletException, IOException {
+        // Arrange
+        send("DELETE", "some_api_key");
+        clock.addAndGet(Duration.ofSeconds(6).toMillis());
+
+        // Act
+        readYourWrites.removeExpiredWrites();
+
+        // Assert
+        assertEquals(readYourWrites.getClients(), 0);
+        assertEquals(send("GET", "some_api_key"), Long.valueOf(Long.MIN_VALUE));
+    }
+}
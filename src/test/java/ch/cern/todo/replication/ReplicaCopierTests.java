@@ -0,0 +1,82 @@
+package ch.cern.todo.replication;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Copies between two in-memory H2 databases, as the {@code replicas} profile does.
+ */
+public class ReplicaCopierTests {
+
+    private DriverManagerDataSource primary;
+
+    private DriverManagerDataSource replica;
+
+    private JdbcTemplate primaryJdbc;
+
+    private JdbcTemplate replicaJdbc;
+
+    private static DriverManagerDataSource inMemoryDatabase() {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    @BeforeEach
+    public void createDatabases() {
+        primary = inMemoryDatabase();
+        replica = inMemoryDatabase();
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+
+        primaryJdbc.execute("create table task_category (id bigint generated by default as identity primary key, name varchar(255) not null unique)");
+        primaryJdbc.execute("create table task (id bigint primary key, name varchar(255), category_id bigint references task_category (id))");
+        primaryJdbc.update("insert into task_category (name) values ('some_category_name')");
+        primaryJdbc.update("insert into task (id, name, category_id) values (1, 'some_name', 1)");
+    }
+
+    @Test
+    void When_ReplicaIsEmpty_Then_SchemaAndRowsAreCopied() throws SQLException {
+        // Act
+        ReplicaCopier.copy(primary, replica);
+
+        // Assert
+        assertEquals(replicaJdbc.queryForList("select name from task_category", String.class), List.of("some_category_name"));
+        assertEquals(replicaJdbc.queryForList("select name from task where category_id = 1", String.class), List.of("some_name"));
+    }
+
+    @Test
+    void When_PrimaryChanges_Then_NextCopyReplacesTheRows() throws SQLException {
+        // Arrange
+        ReplicaCopier.copy(primary, replica);
+        primaryJdbc.update("update task set name = 'some_new_name' where id = 1");
+        primaryJdbc.update("insert into task (id, name, category_id) values (2, 'some_other_name', 1)");
+
+        // Act
+        ReplicaCopier.copy(primary, replica);
+
+        // Assert
+        assertEquals(replicaJdbc.queryForList("select name from task order by id", String.class), List.of("some_new_name", "some_other_name"));
+    }
+
+    @Test
+    void When_TableIsAddedToPrimary_Then_SchemaIsCopiedAgain() throws SQLException {
+        // Arrange
+        ReplicaCopier.copy(primary, replica);
+        primaryJdbc.execute("create table replication_heartbeat (id int primary key, beat_at bigint not null)");
+        primaryJdbc.update("insert into replication_heartbeat (id, beat_at) values (1, 42)");
+
+        // Act
+        ReplicaCopier.copy(primary, replica);
+
+        // Assert
+        assertEquals(replicaJdbc.queryForObject("select beat_at from replication_heartbeat where id = 1", Long.class), Long.valueOf(42));
+        assertEquals(replicaJdbc.queryForObject("select count(*) from task", Long.class), Long.valueOf(1));
+    }
+}
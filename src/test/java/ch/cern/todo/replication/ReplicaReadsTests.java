@@ -0,0 +1,42 @@
+package ch.cern.todo.replication;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplicaReadsTests {
+
+    @AfterEach
+    public void disallowReplicaReads() {
+        ReplicaReads.disallow();
+    }
+
+    @Test
+    void When_PrimaryIsReadWhereReplicaReadsAreAllowed_Then_TheyAreAllowedAgainAfterwards() {
+        // Arrange
+        ReplicaReads.allow(42);
+
+        // Act
+        final boolean allowedWithinScope;
+        try (var ignored = ReplicaReads.readPrimary()) {
+            allowedWithinScope = ReplicaReads.isAllowed();
+        }
+
+        // Assert
+        assertFalse(allowedWithinScope);
+        assertTrue(ReplicaReads.isAllowed());
+        assertEquals(ReplicaReads.getRequiredReplicatedUpTo(), 42L);
+    }
+
+    @Test
+    void When_PrimaryIsReadWhereReplicaReadsAreNotAllowed_Then_TheyStayDisallowed() {
+        // Act
+        try (var ignored = ReplicaReads.readPrimary()) {
+            assertFalse(ReplicaReads.isAllowed());
+        }
+
+        // Assert
+        assertFalse(ReplicaReads.isAllowed());
+    }
+}
@@ -0,0 +1,103 @@
+package ch.cern.todo.replication;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class ReplicaSetTests {
+    private static final long NOW = 1_000_000;
+
+    private final DataSource primary = mock(DataSource.class);
+
+    private Replica replica(String name, long replicatedUpTo) {
+        final var replica = new Replica(name, mock(DataSource.class));
+        replica.setReplicatedUpTo(replicatedUpTo);
+        return replica;
+    }
+
+    private ReplicaSet replicaSet(Replica... replicas) {
+        return new ReplicaSet(primary, List.of(replicas), Duration.ofSeconds(5), () -> NOW);
+    }
+
+    @Test
+    void When_ReplicaIsWithinMaximumLag_Then_ReadGoesToReplica() {
+        // Arrange
+        final var replica = replica("replica-0", NOW - 1000);
+        final var replicaSet = replicaSet(replica);
+
+        // Act
+        final var dataSource = replicaSet.routeRead(Long.MIN_VALUE);
+
+        // Assert
+        assertSame(dataSource, replica.getDataSource());
+        assertEquals(replica.getReadConnections(), 1);
+    }
+
+    @Test
+    void When_ReplicaLagsMoreThanMaximum_Then_ReadGoesToPrimary() {
+        // Arrange
+        final var replicaSet = replicaSet(replica("replica-0", NOW - 6000));
+
+        // Act
+        final var dataSource = replicaSet.routeRead(Long.MIN_VALUE);
+
+        // Assert
+        assertSame(dataSource, primary);
+        assertEquals(replicaSet.getPrimaryReadConnections(), 1);
+    }
+
+    @Test
+    void When_ReplicaHasNoHeartbeatYet_Then_ReadGoesToPrimary() {
+        // Arrange
+        final var replicaSet = replicaSet(new Replica("replica-0", mock(DataSource.class)));
+
+        // Act & Assert
+        assertSame(replicaSet.routeRead(Long.MIN_VALUE), primary);
+    }
+
+    @Test
+    void When_ReplicaHasNotReplicatedLastWriteOfClient_Then_ReadGoesToReplicaThatHas() {
+        // Arrange
+        final var laggingReplica = replica("replica-0", NOW - 3000);
+        final var upToDateReplica = replica("replica-1", NOW - 1000);
+        final var replicaSet = replicaSet(laggingReplica, upToDateReplica);
+
+        // Act & Assert
+        for (int i = 0; i < 4; i++) {
+            assertSame(replicaSet.routeRead(NOW - 2000), upToDateReplica.getDataSource());
+        }
+
+        assertSame(replicaSet.routeRead(NOW - 500), primary);
+    }
+
+    @Test
+    void When_SeveralReplicasQualify_Then_ReadsAreSpreadOverThem() {
+        // Arrange
+        final var replicaA = replica("replica-0", NOW);
+        final var replicaB = replica("replica-1", NOW);
+        final var replicaSet = replicaSet(replicaA, replicaB);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            replicaSet.routeRead(Long.MIN_VALUE);
+        }
+
+        // Assert
+        assertEquals(replicaA.getReadConnections(), 5);
+        assertEquals(replicaB.getReadConnections(), 5);
+    }
+
+    @Test
+    void When_NoReplicaIsConfigured_Then_ReadGoesToPrimary() {
+        // Arrange
+        final var replicaSet = replicaSet();
+
+        // Act & Assert
+        assertSame(replicaSet.routeRead(Long.MIN_VALUE), primary);
+    }
+}
@@ -0,0 +1,72 @@
+package ch.cern.todo.repositories;
+
+import ch.cern.todo.core.IdempotentResponse;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class IdempotentResponseRepositoryTests {
+    private static final Instant CREATED_AT = Instant.parse("2023-09-20T12:00:00Z");
+
+    @Autowired
+    private IdempotentResponseRepository idempotentResponseRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics() {
+        return entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static IdempotentResponse response(String requestHash) {
+        return new IdempotentResponse("some_key", requestHash, 200, "application/json", new byte[]{1, 2}, CREATED_AT);
+    }
+
+    @Test
+    void When_NewResponseIsSaved_Then_ItIsInsertedWithoutBeingReadFirst() {
+        // Arrange
+        statistics().clear();
+
+        // Act
+        idempotentResponseRepository.saveAndFlush(response("some_hash"));
+
+        // Assert
+        assertEquals(statistics().getPrepareStatementCount(), 1);
+        assertEquals(statistics().getEntityInsertCount(), 1);
+    }
+
+    @Test
+    void When_ResponseIsSavedForStoredKey_Then_DataIntegrityViolationExceptionIsThrown() {
+        // Arrange
+        idempotentResponseRepository.saveAndFlush(response("some_hash"));
+        entityManager.clear();
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> idempotentResponseRepository.saveAndFlush(response("some_other_hash")));
+    }
+
+    @Test
+    void When_ResponseIsLoaded_Then_ItIsNotNew() {
+        // Arrange
+        idempotentResponseRepository.saveAndFlush(response("some_hash"));
+        entityManager.clear();
+
+        // Act
+        final var loadedResponse = idempotentResponseRepository.findById("some_key").orElseThrow();
+
+        // Assert
+        assertFalse(loadedResponse.isNew());
+        assertEquals(loadedResponse.getRequestHash(), "some_hash");
+    }
+}
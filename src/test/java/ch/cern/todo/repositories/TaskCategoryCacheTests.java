@@ -0,0 +1,104 @@
+package ch.cern.todo.repositories;
+
+import ch.cern.todo.core.TaskCategory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The second-level cache is only filled and invalidated when transactions commit, so these tests let every repository
+ * call run in its own transaction instead of rolling back a single one.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TaskCategoryCacheTests {
+
+    @Autowired
+    private TaskCategoryRepository taskCategoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    public void deleteTaskCategories() {
+        taskCategoryRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void When_TaskCategoryIsReadByIdAgain_Then_ItIsServedFromTheCache() {
+        // Arrange
+        final var taskCategoryId = taskCategoryRepository.save(new TaskCategory("some_name", "some_description")).getId();
+        taskCategoryRepository.findById(taskCategoryId);
+        statistics().clear();
+
+        // Act
+        final var taskCategory = taskCategoryRepository.findById(taskCategoryId).orElseThrow();
+
+        // Assert
+        assertEquals(taskCategory.getName(), "some_name");
+        assertEquals(statistics().getPrepareStatementCount(), 0);
+        assertEquals(statistics().getDomainDataRegionStatistics(TaskCategory.CACHE_REGION).getHitCount(), 1);
+    }
+
+    @Test
+    void When_TaskCategoryIsReadByNameAgain_Then_NoStatementIsExecuted() {
+        // Arrange
+        taskCategoryRepository.save(new TaskCategory("some_name", "some_description"));
+        taskCategoryRepository.findByName("some_name");
+        taskCategoryRepository.existsByName("some_name");
+        statistics().clear();
+
+        // Act
+        final var taskCategory = taskCategoryRepository.findByName("some_name");
+        final var exists = taskCategoryRepository.existsByName("some_name");
+
+        // Assert
+        assertEquals(taskCategory.getName(), "some_name");
+        assertTrue(exists);
+        assertEquals(statistics().getPrepareStatementCount(), 0);
+        assertEquals(statistics().getQueryCacheHitCount(), 2);
+    }
+
+    @Test
+    void When_TaskCategoryIsRenamed_Then_CachedQueryResultsAreInvalidated() {
+        // Arrange
+        final var taskCategory = taskCategoryRepository.save(new TaskCategory("some_name", "some_description"));
+        assertNotNull(taskCategoryRepository.findByName("some_name"));
+        assertTrue(taskCategoryRepository.existsByName("some_name"));
+
+        // Act
+        taskCategory.setName("some_new_name");
+        taskCategoryRepository.save(taskCategory);
+
+        // Assert
+        assertNull(taskCategoryRepository.findByName("some_name"));
+        assertFalse(taskCategoryRepository.existsByName("some_name"));
+        assertEquals(taskCategoryRepository.findByName("some_new_name").getId(), taskCategory.getId());
+    }
+
+    @Test
+    void When_TaskCategoryIsCreated_Then_CachedAbsenceIsInvalidated() {
+        // Arrange
+        assertFalse(taskCategoryRepository.existsByName("some_name"));
+
+        // Act
+        taskCategoryRepository.save(new TaskCategory("some_name", "some_description"));
+
+        // Assert
+        assertTrue(taskCategoryRepository.existsByName("some_name"));
+    }
+}
@@ -5,6 +5,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -134,4 +137,47 @@ public class TaskCategoryRepositoryTests {
         // Act & Assert
         assertFalse(taskCategoryRepository.existsByName("some_name"));
     }
+
+    @Test
+    void When_TaskCategoriesAreSearchedByNames_Then_OnlyMatchingTaskCategoriesAreFound() {
+        // Arrange
+        taskCategoryRepository.save(new TaskCategory("some_name", "some_description"));
+        taskCategoryRepository.save(new TaskCategory("some_other_name", "some_description"));
+        taskCategoryRepository.save(new TaskCategory("some_different_name", "some_description"));
+
+        // Act
+        final var foundTaskCategories = taskCategoryRepository.findByNameIn(List.of("some_name", "some_other_name", "some_missing_name"));
+
+        // Assert
+        assertEquals(foundTaskCategories.size(), 2);
+    }
+
+    @Test
+    void When_TaskCategoryIsUpdated_Then_VersionIsIncremented() {
+        // Arrange
+        final var taskCategory = taskCategoryRepository.saveAndFlush(new TaskCategory("some_name", "some_description"));
+        final var initialVersion = taskCategory.getVersion();
+
+        // Act
+        taskCategory.setDescription("some_new_description");
+        taskCategoryRepository.saveAndFlush(taskCategory);
+
+        // Assert
+        assertEquals(taskCategory.getVersion(), initialVersion + 1);
+    }
+
+    @Test
+    void When_StaleTaskCategoryIsSaved_Then_ObjectOptimisticLockingFailureExceptionIsThrown() {
+        // Arrange
+        final var taskCategory = taskCategoryRepository.saveAndFlush(new TaskCategory("some_name", "some_description"));
+        final var staleTaskCategory = new TaskCategory("some_name", "some_stale_description");
+        staleTaskCategory.setId(taskCategory.getId());
+        staleTaskCategory.setVersion(taskCategory.getVersion());
+
+        taskCategory.setDescription("some_new_description");
+        taskCategoryRepository.saveAndFlush(taskCategory);
+
+        // Act & Assert
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> taskCategoryRepository.saveAndFlush(staleTaskCategory));
+    }
 }
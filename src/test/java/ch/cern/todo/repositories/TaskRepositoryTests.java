@@ -2,21 +2,54 @@ package ch.cern.todo.repositories;
 
 import ch.cern.todo.core.Task;
 import ch.cern.todo.core.TaskCategory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=ch.cern.todo.repositories.RecordingStatementInspector"
+})
 public class TaskRepositoryTests {
 
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    private Statistics statistics() {
+        return testEntityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private void saveTasksInDistinctCategories(int numberOfTasks) {
+        final var deadline = LocalDateTime.parse("2023-09-22T10:42:50.63");
+        for (int i = 0; i < numberOfTasks; i++) {
+            final var category = testEntityManager.persist(new TaskCategory("some_category_name_" + i, "some_category_description"));
+            taskRepository.save(new Task("some_task_name_" + i, "some_task_description", deadline, category));
+        }
+
+        testEntityManager.flush();
+        testEntityManager.clear();
+        statistics().clear();
+    }
+
     @Test
     void When_TaskIsSaved_Then_TaskCanBeFound() {
         // Arrange
@@ -93,4 +126,248 @@ public class TaskRepositoryTests {
         // Assert
         assertTrue(taskRepository.findById(savedTaskId).isEmpty());
     }
+
+    @Test
+    void When_TasksArePagedAfterId_Then_OnlyFollowingTasksAreReturnedInIdOrder() {
+        // Arrange
+        final var deadline = LocalDateTime.parse("2023-09-22T10:42:50.63");
+        final var category = testEntityManager.persist(new TaskCategory("some_category_name", "some_category_description"));
+        final var taskIds = new ArrayList<Long>();
+        for (int i = 0; i < 5; i++) {
+            taskIds.add(taskRepository.save(new Task("some_task_name_" + i, "some_task_description", deadline, category)).getId());
+        }
+
+        // Act
+        final var page = taskRepository.findByIdGreaterThanOrderByIdAsc(taskIds.get(1), PageRequest.of(0, 2));
+
+        // Assert
+        assertEquals(page.size(), 2);
+        assertEquals(page.get(0).getId(), taskIds.get(2));
+        assertEquals(page.get(1).getId(), taskIds.get(3));
+    }
+
+    @Test
+    void When_AllTasksAreRead_Then_OneStatementIsExecutedRegardlessOfCategories() {
+        // Arrange
+        saveTasksInDistinctCategories(10);
+
+        // Act
+        final var tasks = taskRepository.findAll();
+        tasks.forEach(task -> task.getCategory().getName());
+
+        // Assert
+        assertEquals(tasks.size(), 10);
+        assertEquals(statistics().getPrepareStatementCount(), 1);
+    }
+
+    @Test
+    void When_PageOfTasksIsRead_Then_OneStatementIsExecutedRegardlessOfCategories() {
+        // Arrange
+        saveTasksInDistinctCategories(10);
+
+        // Act
+        final var tasks = taskRepository.findByIdGreaterThanOrderByIdAsc(0, PageRequest.of(0, 5));
+        tasks.forEach(task -> task.getCategory().getName());
+
+        // Assert
+        assertEquals(tasks.size(), 5);
+        assertEquals(statistics().getPrepareStatementCount(), 1);
+    }
+
+    @Test
+    void When_TaskIsReadById_Then_CategoryIsFetchedInSameStatement() {
+        // Arrange
+        saveTasksInDistinctCategories(1);
+        final var taskId = taskRepository.findAll().get(0).getId();
+        testEntityManager.clear();
+        statistics().clear();
+
+        // Act
+        final var task = taskRepository.findById(taskId).orElseThrow();
+        task.getCategory().getName();
+
+        // Assert
+        assertEquals(statistics().getPrepareStatementCount(), 1);
+    }
+
+    @Test
+    void When_TasksArePagedByDeadline_Then_TasksWithEqualDeadlinesAreNeitherSkippedNorRepeated() {
+        // Arrange
+        final var deadline = LocalDateTime.parse("2023-09-22T10:42:50.63");
+        final var category = testEntityManager.persist(new TaskCategory("some_category_name", "some_category_description"));
+        for (int i = 0; i < 5; i++) {
+            taskRepository.save(new Task("some_task_name_" + i, "some_task_description", deadline.plusDays(i / 2), category));
+        }
+
+        // Act
+        final var readTaskIds = new ArrayList<Long>();
+        var query = new TaskQuery(TaskFilter.none(), TaskSort.DEADLINE, 0, null, 2);
+        while (true) {
+            final var page = taskRepository.findPage(query);
+            page.forEach(task -> readTaskIds.add(task.getId()));
+            if (page.size() < query.getLimit()) {
+                break;
+            }
+
+            final var lastTask = page.get(page.size() - 1);
+            query = new TaskQuery(TaskFilter.none(), TaskSort.DEADLINE, lastTask.getId(), lastTask.getDeadline(), 2);
+        }
+
+        // Assert
+        assertEquals(readTaskIds.size(), 5);
+        assertEquals(new HashSet<>(readTaskIds).size(), 5);
+    }
+
+    @Test
+    void When_TasksAreFilteredByDeadlineRangeAndCategory_Then_OnlyMatchingTasksAreReturned() {
+        // Arrange
+        final var deadline = LocalDateTime.parse("2023-09-22T10:42:50.63");
+        final var category = testEntityManager.persist(new TaskCategory("some_category_name", "some_category_description"));
+        final var otherCategory = testEntityManager.persist(new TaskCategory("some_other_category_name", "some_category_description"));
+        for (int i = 0; i < 10; i++) {
+            taskRepository.save(new Task("some_task_name_" + i, "some_task_description", deadline.plusDays(i), i % 2 == 0 ? category : otherCategory));
+        }
+
+        final var filter = new TaskFilter(deadline, deadline.plusDays(7), category.getId());
+
+        // Act
+        final var tasks = taskRepository.findPage(new TaskQuery(filter, TaskSort.DEADLINE, 0, null, 50));
+
+        // Assert
+        assertEquals(tasks.size(), 4);
+        assertTrue(tasks.stream().allMatch(task -> task.getCategory().getId() == category.getId()));
+        assertTrue(tasks.stream().allMatch(task -> task.getDeadline().isBefore(deadline.plusDays(7))));
+    }
+
+    @Test
+    void When_PageOfTaskFieldsIsRead_Then_OnlyRequestedFieldsAreReadWithoutLoadingEntities() {
+        // Arrange
+        saveTasksInDistinctCategories(10);
+
+        // Act
+        final var tasks = taskRepository.findPage(TaskQuery.firstPage(5), EnumSet.of(TaskField.NAME, TaskField.CATEGORY_NAME));
+
+        // Assert
+        assertEquals(tasks.size(), 5);
+        assertEquals(tasks.get(0).getFields(), EnumSet.of(TaskField.ID, TaskField.NAME, TaskField.CATEGORY_NAME));
+        assertEquals(tasks.get(0).get(TaskField.NAME), "some_task_name_0");
+        assertEquals(tasks.get(0).get(TaskField.CATEGORY_NAME), "some_category_name_0");
+        assertEquals(statistics().getPrepareStatementCount(), 1);
+        assertEquals(statistics().getEntityLoadCount(), 0);
+    }
+
+    @Test
+    void When_TaskFieldsArePagedByDeadline_Then_DeadlineIsReadForTheCursor() {
+        // Arrange
+        saveTasksInDistinctCategories(3);
+
+        // Act
+        final var tasks = taskRepository.findPage(new TaskQuery(TaskFilter.none(), TaskSort.DEADLINE, 0, null, 2), EnumSet.of(TaskField.NAME));
+
+        // Assert
+        assertEquals(tasks.size(), 2);
+        assertEquals(tasks.get(1).getDeadline(), LocalDateTime.parse("2023-09-22T10:42:50.63"));
+    }
+
+    @Test
+    void When_TaskFieldsAreReadById_Then_OnlyTheseTasksAreReturned() {
+        // Arrange
+        saveTasksInDistinctCategories(3);
+        final var taskIds = taskRepository.findAll().stream().map(Task::getId).toList();
+
+        // Act
+        final var tasks = taskRepository.findByIds(taskIds.subList(1, 3), EnumSet.of(TaskField.CATEGORY_ID));
+
+        // Assert
+        assertEquals(tasks.stream().map(TaskProjection::getId).collect(Collectors.toSet()), new HashSet<>(taskIds.subList(1, 3)));
+        assertTrue(tasks.stream().allMatch(task -> task.get(TaskField.CATEGORY_ID) != null));
+    }
+
+    @Test
+    void When_TasksAreMovedToCategory_Then_MatchingTasksAreUpdatedInOneStatement() {
+        // Arrange
+        final var deadline = LocalDateTime.parse("2023-09-22T10:42:50.63");
+        final var category = testEntityManager.persist(new TaskCategory("some_category_name", "some_category_description"));
+        final var otherCategory = testEntityManager.persist(new TaskCategory("some_other_category_name", "some_category_description"));
+        final var targetCategory = testEntityManager.persist(new TaskCategory("some_target_category_name", "some_category_description"));
+        for (int i = 0; i < 10; i++) {
+            taskRepository.save(new Task("some_task_name_" + i, "some_task_description", deadline.plusDays(i), i % 2 == 0 ? category : otherCategory));
+        }
+
+        testEntityManager.flush();
+        testEntityManager.clear();
+        statistics().clear();
+
+        // Act
+        final var movedTasks = taskRepository.moveToCategory(new TaskFilter(null, deadline.plusDays(6), category.getId()), targetCategory.getId());
+
+        // Assert
+        assertEquals(movedTasks, Map.of(category.getId(), 3L));
+        assertEquals(statistics().getPrepareStatementCount(), 2);
+
+        final var tasksInTargetCategory = taskRepository.findPage(new TaskQuery(new TaskFilter(null, null, targetCategory.getId()), TaskSort.ID, 0, null, 50));
+        assertEquals(tasksInTargetCategory.size(), 3);
+        assertTrue(tasksInTargetCategory.stream().allMatch(task -> task.getVersion() == 1));
+    }
+
+    @Test
+    void When_TasksAreMovedToTheirOwnCategory_Then_NoTaskIsUpdated() {
+        // Arrange
+        saveTasksInDistinctCategories(1);
+        final var task = taskRepository.findAll().get(0);
+
+        // Act
+        final var movedTasks = taskRepository.moveToCategory(TaskFilter.none(), task.getCategory().getId());
+
+        // Assert
+        assertTrue(movedTasks.isEmpty());
+    }
+
+    @Test
+    void When_PageOfTasksDueInRangeIsRequested_Then_DeadlineIndexIsUsed() {
+        // Arrange
+        final var dueAfter = LocalDateTime.parse("2023-09-22T00:00:00");
+        final var dueBefore = LocalDateTime.parse("2023-09-29T00:00:00");
+        final var afterDeadline = LocalDateTime.parse("2023-09-23T00:00:00");
+
+        // Act
+        final var plan = explainPage(new TaskQuery(new TaskFilter(dueAfter, dueBefore, null), TaskSort.DEADLINE, 42, afterDeadline, 10),
+                dueAfter, dueBefore, afterDeadline, afterDeadline, 42L, 10);
+
+        // Assert
+        assertTrue(plan.contains("IDX_TASK_DEADLINE"), plan);
+    }
+
+    @Test
+    void When_PageOfTasksOfCategoryDueInRangeIsRequested_Then_CategoryDeadlineIndexIsUsed() {
+        // Arrange
+        final var dueAfter = LocalDateTime.parse("2023-09-22T00:00:00");
+        final var dueBefore = LocalDateTime.parse("2023-09-29T00:00:00");
+        final var afterDeadline = LocalDateTime.parse("2023-09-23T00:00:00");
+
+        // Act
+        final var plan = explainPage(new TaskQuery(new TaskFilter(dueAfter, dueBefore, 1L), TaskSort.DEADLINE, 42, afterDeadline, 10),
+                1L, dueAfter, dueBefore, afterDeadline, afterDeadline, 42L, 10);
+
+        // Assert
+        assertTrue(plan.contains("IDX_TASK_CATEGORY_DEADLINE"), plan);
+    }
+
+    /**
+     * Runs the query, captures the SQL Hibernate generated for it and returns the plan of that SQL for the given
+     * parameters, in the order in which they appear in the SQL.
+     */
+    private String explainPage(TaskQuery query, Object... parameters) {
+        RecordingStatementInspector.clear();
+        taskRepository.findPage(query);
+        final var sql = RecordingStatementInspector.lastStatement();
+        assertTrue(sql.contains(" join ") && sql.contains(" order by "), sql);
+        assertEquals(sql.chars().filter(c -> c == '?').count(), (long) parameters.length, sql);
+
+        final var explain = testEntityManager.getEntityManager().createNativeQuery("EXPLAIN " + sql);
+        for (int i = 0; i < parameters.length; i++) {
+            explain.setParameter(i + 1, parameters[i]);
+        }
+        return explain.getSingleResult().toString().toUpperCase();
+    }
 }
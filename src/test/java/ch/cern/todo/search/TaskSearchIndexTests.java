@@ -0,0 +1,140 @@
+package ch.cern.todo.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskSearchIndexTests {
+
+    @Test
+    void When_TextIsTokenized_Then_TokensAreLowerCaseWordsWithoutPunctuation() {
+        // Act
+        final var tokens = TaskSearchIndex.tokenize("Buy MILK, eggs & 2 Brötchen!");
+
+        // Assert
+        assertEquals(tokens, List.of("buy", "milk", "eggs", "2", "brötchen"));
+    }
+
+    @Test
+    void When_TasksAreSearched_Then_MatchInNameRanksAboveMatchInDescription() {
+        // Arrange
+        final var index = new TaskSearchIndex();
+        index.index(1, "call the bank", "ask about the milk invoice");
+        index.index(2, "buy milk", "at the corner shop");
+        index.index(3, "write report", "quarterly numbers");
+
+        // Act
+        final var taskIds = index.search("milk", 10);
+
+        // Assert
+        assertEquals(taskIds, List.of(2L, 1L));
+    }
+
+    @Test
+    void When_TasksAreSearchedWithSeveralTerms_Then_TasksMatchingMoreTermsRankHigher() {
+        // Arrange
+        final var index = new TaskSearchIndex();
+        index.index(1, "buy milk", null);
+        index.index(2, "buy bread", null);
+        index.index(3, "buy milk and bread", null);
+
+        // Act
+        final var taskIds = index.search("milk bread", 10);
+
+        // Assert
+        assertEquals(taskIds.get(0), 3L);
+        assertEquals(taskIds.size(), 3);
+    }
+
+    @Test
+    void When_ResultsExceedLimit_Then_OnlyBestResultsAreReturned() {
+        // Arrange
+        final var index = new TaskSearchIndex();
+        for (long i = 1; i <= 100; i++) {
+            index.index(i, "task " + i, null);
+        }
+
+        // Act & Assert
+        assertEquals(index.search("task", 5).size(), 5);
+    }
+
+    @Test
+    void When_TaskIsReindexed_Then_OldTermsNoLongerMatch() {
+        // Arrange
+        final var index = new TaskSearchIndex();
+        index.index(1, "buy milk", null);
+
+        // Act
+        index.index(1, "buy bread", null);
+
+        // Assert
+        assertTrue(index.search("milk", 10).isEmpty());
+        assertEquals(index.search("bread", 10), List.of(1L));
+    }
+
+    @Test
+    void When_TaskIsRemoved_Then_TaskNoLongerMatches() {
+        // Arrange
+        final var index = new TaskSearchIndex();
+        index.index(1, "buy milk", null);
+
+        // Act
+        index.remove(1);
+
+        // Assert
+        assertTrue(index.search("milk", 10).isEmpty());
+        assertEquals(index.size(), 0);
+    }
+
+    @Test
+    void When_TaskIsIndexedIfAbsentAfterUpdate_Then_NewerTermsAreKept() {
+        // Arrange
+        final var index = new TaskSearchIndex();
+        index.index(1, "buy bread", null);
+
+        // Act
+        index.indexIfAbsent(1, "buy milk", null);
+
+        // Assert
+        assertEquals(index.search("bread", 10), List.of(1L));
+        assertTrue(index.search("milk", 10).isEmpty());
+    }
+
+    @Test
+    void When_CommonTermIsSearchedWithRareTerm_Then_TasksMatchingBothRankFirst() {
+        // Arrange
+        final var index = new TaskSearchIndex();
+        for (long i = 1; i <= 1000; i++) {
+            index.index(i, "task " + i, i % 100 == 0 ? "urgent" : null);
+        }
+
+        // Act
+        final var taskIds = index.search("task urgent", 3);
+
+        // Assert
+        assertEquals(taskIds, List.of(100L, 200L, 300L));
+    }
+
+    @Test
+    void When_MostTasksOfTermAreRemoved_Then_RemainingTasksStillMatch() {
+        // Arrange
+        final var index = new TaskSearchIndex();
+        for (long i = 1; i <= 100; i++) {
+            index.index(i, "buy milk", null);
+        }
+
+        // Act
+        for (long i = 1; i <= 100; i += 2) {
+            index.remove(i);
+        }
+        index.remove(2);
+
+        // Assert
+        final var taskIds = index.search("milk", 100);
+        assertEquals(taskIds.size(), 49);
+        assertEquals(taskIds.get(0), 4L);
+        assertEquals(taskIds.get(48), 100L);
+    }
+}
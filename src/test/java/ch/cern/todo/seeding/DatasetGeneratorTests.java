@@ -0,0 +1,59 @@
+package ch.cern.todo.seeding;
+
+import ch.cern.todo.repositories.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:seeded",
+        "todo.seed.categories=10",
+        "todo.seed.tasks=2500"})
+@ActiveProfiles("seed")
+public class DatasetGeneratorTests {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TasksAtWebServerStart tasksAtWebServerStart;
+
+    static class TasksAtWebServerStart {
+        private final TaskRepository taskRepository;
+
+        private final AtomicLong count = new AtomicLong(-1);
+
+        TasksAtWebServerStart(TaskRepository taskRepository) {
+            this.taskRepository = taskRepository;
+        }
+
+        @EventListener(WebServerInitializedEvent.class)
+        public void countTasks() {
+            count.set(taskRepository.count());
+        }
+    }
+
+    @TestConfiguration
+    static class Configuration {
+        @Bean
+        TasksAtWebServerStart tasksAtWebServerStart(TaskRepository taskRepository) {
+            return new TasksAtWebServerStart(taskRepository);
+        }
+    }
+
+    @Test
+    void When_ApplicationStartsWithSeedProfile_Then_DatabaseIsSeededBeforeTheWebServerStarts() {
+        // Assert
+        assertEquals(tasksAtWebServerStart.count.get(), 2500);
+        assertEquals(taskRepository.count(), 2500);
+    }
+}
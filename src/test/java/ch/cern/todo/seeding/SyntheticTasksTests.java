@@ -0,0 +1,61 @@
+package ch.cern.todo.seeding;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SyntheticTasksTests {
+    private static final LocalDate FIRST_DEADLINE_DAY = LocalDate.of(2021, 1, 1);
+    private static final LocalDate LAST_DEADLINE_DAY = LocalDate.of(2025, 12, 31);
+
+    @Test
+    void When_CategoriesAreSkewed_Then_LowerRanksHoldMoreTasks() {
+        // Arrange
+        final var syntheticTasks = new SyntheticTasks(100, 1.1, FIRST_DEADLINE_DAY, LAST_DEADLINE_DAY);
+        final var random = new SplittableRandom(42);
+        final var tasksPerCategory = new int[100];
+
+        // Act
+        for (var i = 0; i < 100_000; i++) {
+            tasksPerCategory[syntheticTasks.category(random)]++;
+        }
+
+        // Assert
+        assertTrue(tasksPerCategory[0] > 10 * tasksPerCategory[99]);
+        assertTrue(tasksPerCategory[0] > tasksPerCategory[1]);
+    }
+
+    @Test
+    void When_TasksAreGenerated_Then_FieldsStayWithinTheirLimits() {
+        // Arrange
+        final var syntheticTasks = new SyntheticTasks(10, 1.1, FIRST_DEADLINE_DAY, LAST_DEADLINE_DAY);
+        final var random = new SplittableRandom(42);
+
+        // Act & Assert
+        for (var i = 0; i < 10_000; i++) {
+            final var description = syntheticTasks.description(random);
+            assertTrue(description.length() <= SyntheticTasks.MAX_DESCRIPTION_LENGTH, description);
+            assertFalse(syntheticTasks.name(random).isBlank());
+
+            final var deadline = syntheticTasks.deadline(random).toLocalDate();
+            assertFalse(deadline.isBefore(FIRST_DEADLINE_DAY));
+            assertFalse(deadline.isAfter(LAST_DEADLINE_DAY));
+        }
+    }
+
+    @Test
+    void When_SeedIsTheSame_Then_SameTasksAreGenerated() {
+        // Arrange
+        final var syntheticTasks = new SyntheticTasks(10, 1.1, FIRST_DEADLINE_DAY, LAST_DEADLINE_DAY);
+
+        // Act
+        final var description = syntheticTasks.description(new SplittableRandom(42));
+        final var otherDescription = syntheticTasks.description(new SplittableRandom(42));
+
+        // Assert
+        assertEquals(otherDescription, description);
+    }
+}
@@ -1,19 +1,28 @@
 package ch.cern.todo.services;
 
 import ch.cern.todo.core.TaskCategory;
+import ch.cern.todo.replication.ReplicaReads;
 import ch.cern.todo.repositories.TaskCategoryRepository;
+import ch.cern.todo.repositories.TaskFilter;
+import ch.cern.todo.repositories.TaskRepository;
+import ch.cern.todo.services.events.TaskCategoryChangedEvent;
 import ch.cern.todo.services.exceptions.DuplicateTaskCategoryNameException;
+import ch.cern.todo.services.exceptions.StaleVersionException;
 import ch.cern.todo.services.exceptions.TaskCategoryNotFoundException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
-import javax.persistence.EntityNotFoundException;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,6 +37,15 @@ public class DefaultTaskCategoryServiceTests {
     @Spy
     private TaskCategoryRepository taskCategoryRepository;
 
+    @Spy
+    private TaskRepository taskRepository;
+
+    @Spy
+    private TaskCategoryNameCache taskCategoryNameCache = new TaskCategoryNameCache(16);
+
+    @Spy
+    private ApplicationEventPublisher eventPublisher;
+
     private AutoCloseable closeable;
 
     @BeforeEach
@@ -52,6 +70,22 @@ public class DefaultTaskCategoryServiceTests {
         verify(taskCategoryRepository, times(1)).save(taskCategory);
     }
 
+    @Test
+    void When_TaskCategoryIsCreated_Then_TaskCategoryChangedEventIsPublished() throws DuplicateTaskCategoryNameException {
+        // Arrange
+        final var taskCategory = new TaskCategory("some_name", "some_description");
+        taskCategory.setId(42);
+
+        // Act
+        taskCategoryService.createTaskCategory(taskCategory);
+
+        // Assert
+        final var captor = ArgumentCaptor.forClass(TaskCategoryChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertEquals(captor.getValue().getType(), TaskCategoryChangedEvent.Type.CREATED);
+        assertEquals(captor.getValue().getTaskCategory().getId(), 42);
+    }
+
     @Test
     void When_TaskCategoryIsCreated_Then_RightTaskCategoryIsReturned() throws DuplicateTaskCategoryNameException {
         // Arrange
@@ -74,7 +108,7 @@ public class DefaultTaskCategoryServiceTests {
         // Arrange
         final var taskCategoryWithSameName = new TaskCategory("some_name", "some_description");
 
-        when(taskCategoryRepository.existsByName("some_name")).thenReturn(true);
+        when(taskCategoryRepository.save(taskCategoryWithSameName)).thenThrow(new DataIntegrityViolationException("some_message"));
 
         // Act & Assert
         assertThrows(DuplicateTaskCategoryNameException.class, () -> taskCategoryService.createTaskCategory(taskCategoryWithSameName));
@@ -112,7 +146,6 @@ public class DefaultTaskCategoryServiceTests {
         final var taskCategory = new TaskCategory("some_name", "some_description");
         taskCategory.setId(42);
 
-        when(taskCategoryRepository.existsByName("some_name")).thenReturn(true);
         when(taskCategoryRepository.findByName("some_name")).thenReturn(taskCategory);
 
         // Act
@@ -127,12 +160,94 @@ public class DefaultTaskCategoryServiceTests {
     @Test
     void When_TaskCategoryIsRequestedByNameDoesNotExist_Then_ExceptionIsThrown() {
         // Arrange
-        when(taskCategoryRepository.findByName(any())).thenThrow(new EntityNotFoundException());
+        when(taskCategoryRepository.findByName(any())).thenReturn(null);
 
         // Act & Assert
         assertThrows(TaskCategoryNotFoundException.class, () -> taskCategoryService.getTaskCategoryByName("some_name"));
     }
 
+    @Test
+    void When_TaskCategoryIsRequestedByNameTwice_Then_RepositoryIsQueriedOnce() throws TaskCategoryNotFoundException {
+        // Arrange
+        final var taskCategory = new TaskCategory("some_name", "some_description");
+        taskCategory.setId(42);
+
+        when(taskCategoryRepository.findByName("some_name")).thenReturn(taskCategory);
+
+        // Act
+        taskCategoryService.getTaskCategoryByName("some_name");
+        final var cachedTaskCategory = taskCategoryService.getTaskCategoryByName("some_name");
+
+        // Assert
+        verify(taskCategoryRepository, times(1)).findByName("some_name");
+        assertEquals(cachedTaskCategory.getId(), 42);
+        assertEquals(cachedTaskCategory.getName(), "some_name");
+        assertEquals(cachedTaskCategory.getDescription(), "some_description");
+    }
+
+    @Test
+    void When_TaskCategoryIsRequestedByNameWhereReplicaReadsAreAllowed_Then_ItIsReadFromThePrimary() throws TaskCategoryNotFoundException {
+        // Arrange
+        final var taskCategory = new TaskCategory("some_name", "some_description");
+        final var replicaReadsAllowed = new boolean[1];
+
+        when(taskCategoryRepository.findByName("some_name")).thenAnswer(invocation -> {
+            replicaReadsAllowed[0] = ReplicaReads.isAllowed();
+            return taskCategory;
+        });
+        ReplicaReads.allow(42);
+
+        // Act
+        try {
+            taskCategoryService.getTaskCategoryByName("some_name");
+        } finally {
+            ReplicaReads.disallow();
+        }
+
+        // Assert
+        assertFalse(replicaReadsAllowed[0]);
+    }
+
+    @Test
+    void When_TaskCategoryIsRenamed_Then_OldNameIsNoLongerServedFromCache() throws TaskCategoryNotFoundException, StaleVersionException {
+        // Arrange
+        final var taskCategory = new TaskCategory("some_name", "some_description");
+        taskCategory.setId(42);
+
+        when(taskCategoryRepository.findByName("some_name")).thenReturn(taskCategory);
+        when(taskCategoryRepository.findById(42L)).thenReturn(Optional.of(taskCategory));
+        taskCategoryService.getTaskCategoryByName("some_name");
+
+        // Act
+        taskCategoryService.updateTaskCategory(42L, new TaskCategory("some_new_name", "some_description"), null);
+        when(taskCategoryRepository.findByName("some_name")).thenReturn(null);
+
+        // Assert
+        assertThrows(TaskCategoryNotFoundException.class, () -> taskCategoryService.getTaskCategoryByName("some_name"));
+    }
+
+    @Test
+    void When_TaskCategoriesAreRequestedByNames_Then_OnlyUncachedNamesAreQueried() throws TaskCategoryNotFoundException {
+        // Arrange
+        final var taskCategoryA = new TaskCategory("some_name", "some_description");
+        taskCategoryA.setId(42);
+        final var taskCategoryB = new TaskCategory("some_different_name", "some_different_description");
+        taskCategoryB.setId(73);
+
+        when(taskCategoryRepository.findByName("some_name")).thenReturn(taskCategoryA);
+        when(taskCategoryRepository.findByNameIn(List.of("some_different_name"))).thenReturn(List.of(taskCategoryB));
+        taskCategoryService.getTaskCategoryByName("some_name");
+
+        // Act
+        final var taskCategories = taskCategoryService.getTaskCategoriesByNames(List.of("some_name", "some_different_name"));
+
+        // Assert
+        assertEquals(taskCategories.size(), 2);
+        assertEquals(taskCategories.get("some_name").getId(), 42);
+        assertEquals(taskCategories.get("some_different_name").getId(), 73);
+        verify(taskCategoryRepository, times(1)).findByNameIn(List.of("some_different_name"));
+    }
+
     @Test
     void When_AllTaskCategoriesAreRequested_Then_AllTaskCategoriesAreReturned() {
         // Arrange
@@ -153,20 +268,20 @@ public class DefaultTaskCategoryServiceTests {
     }
 
     @Test
-    void When_TaskCategoryIsUpdated_Then_TaskCategoryRepositorySaveIsCalled() throws TaskCategoryNotFoundException {
+    void When_TaskCategoryIsUpdated_Then_TaskCategoryRepositorySaveIsCalled() throws TaskCategoryNotFoundException, StaleVersionException {
         // Arrange
         final var taskCategoryWithUpdates = new TaskCategory("some_new_name", "some_new_description");
         when(taskCategoryRepository.findById(42L)).thenReturn(Optional.of(taskCategoryWithUpdates));
 
         // Act
-        taskCategoryService.updateTaskCategory(42L, taskCategoryWithUpdates);
+        taskCategoryService.updateTaskCategory(42L, taskCategoryWithUpdates, null);
 
         // Assert
         verify(taskCategoryRepository, times(1)).save(taskCategoryWithUpdates);
     }
 
     @Test
-    void When_TaskCategoryIsUpdated_Then_UpdatedTaskCategoryIsReturned() throws TaskCategoryNotFoundException {
+    void When_TaskCategoryIsUpdated_Then_UpdatedTaskCategoryIsReturned() throws TaskCategoryNotFoundException, StaleVersionException {
         // Arrange
         final var taskCategory = new TaskCategory("some_name", "some_description");
         taskCategory.setId(42);
@@ -177,7 +292,7 @@ public class DefaultTaskCategoryServiceTests {
         when(taskCategoryRepository.save(taskCategory)).thenReturn(taskCategory);
 
         // Act
-        final var updatedTaskCategory = taskCategoryService.updateTaskCategory(42L, taskCategoryWithUpdates);
+        final var updatedTaskCategory = taskCategoryService.updateTaskCategory(42L, taskCategoryWithUpdates, null);
 
         // Assert
         assertEquals(updatedTaskCategory.getId(), 42);
@@ -186,23 +301,109 @@ public class DefaultTaskCategoryServiceTests {
     }
 
     @Test
-    void When_TaskCategoryIsDeleted_Then_TaskCategoryRepositoryDeleteByIdIsCalled() throws TaskCategoryNotFoundException {
+    void When_TaskCategoryIsDeleted_Then_TaskCategoryRepositoryDeleteIsCalled() throws TaskCategoryNotFoundException, StaleVersionException {
         // Arrange
-        when(taskCategoryRepository.existsById(42L)).thenReturn(true);
+        final var taskCategory = new TaskCategory("some_name", "some_description");
+        taskCategory.setId(42);
+
+        when(taskCategoryRepository.findById(42L)).thenReturn(Optional.of(taskCategory));
 
         // Act
-        taskCategoryService.deleteTaskCategory(42L);
+        taskCategoryService.deleteTaskCategory(42L, null);
 
         // Assert
-        verify(taskCategoryRepository, times(1)).deleteById(42L);
+        verify(taskCategoryRepository, times(1)).delete(taskCategory);
     }
 
     @Test
     void When_TaskCategoryIsDeletedNotExists_Then_ExceptionIsThrown() {
         // Arrange
-        when(taskCategoryRepository.existsById(42L)).thenReturn(false);
+        when(taskCategoryRepository.findById(42L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(TaskCategoryNotFoundException.class, () -> taskCategoryService.deleteTaskCategory(42L, null));
+    }
+
+    @Test
+    void When_TaskCategoryIsUpdatedWithStaleVersion_Then_StaleVersionExceptionIsThrown() {
+        // Arrange
+        final var taskCategory = new TaskCategory("some_name", "some_description");
+        taskCategory.setId(42);
+        taskCategory.setVersion(3);
+
+        when(taskCategoryRepository.findById(42L)).thenReturn(Optional.of(taskCategory));
+
+        // Act & Assert
+        assertThrows(StaleVersionException.class,
+                () -> taskCategoryService.updateTaskCategory(42L, new TaskCategory("some_new_name", "some_description"), 2L));
+        verify(taskCategoryRepository, never()).save(any());
+    }
+
+    @Test
+    void When_TaskCategoryIsDeletedWithStaleVersion_Then_StaleVersionExceptionIsThrown() {
+        // Arrange
+        final var taskCategory = new TaskCategory("some_name", "some_description");
+        taskCategory.setId(42);
+        taskCategory.setVersion(3);
+
+        when(taskCategoryRepository.findById(42L)).thenReturn(Optional.of(taskCategory));
+
+        // Act & Assert
+        assertThrows(StaleVersionException.class, () -> taskCategoryService.deleteTaskCategory(42L, 2L));
+        verify(taskCategoryRepository, never()).delete(any());
+    }
+
+    @Test
+    void When_TaskCategoryIsMerged_Then_TasksAreMovedAndTaskCategoryIsDeleted() throws TaskCategoryNotFoundException {
+        // Arrange
+        final var taskCategory = new TaskCategory("some_name", "some_description");
+        taskCategory.setId(42);
+        final var targetTaskCategory = new TaskCategory("some_target_name", "some_description");
+        targetTaskCategory.setId(73);
+
+        when(taskCategoryRepository.findById(42L)).thenReturn(Optional.of(taskCategory));
+        when(taskCategoryRepository.findById(73L)).thenReturn(Optional.of(targetTaskCategory));
+        when(taskRepository.moveToCategory(any(TaskFilter.class), eq(73L))).thenReturn(Map.of(42L, 5L));
+
+        // Act
+        final var movedTasks = taskCategoryService.mergeTaskCategory(42L, 73L, true);
+
+        // Assert
+        assertEquals(movedTasks, 5);
+        verify(taskRepository, times(1)).moveToCategory(argThat(filter -> filter.getCategoryId() == 42L), eq(73L));
+        verify(taskCategoryRepository, times(1)).delete(taskCategory);
+    }
+
+    @Test
+    void When_TaskCategoryIsMergedWithoutDeletion_Then_TaskCategoryIsKept() throws TaskCategoryNotFoundException {
+        // Arrange
+        final var taskCategory = new TaskCategory("some_name", "some_description");
+        taskCategory.setId(42);
+
+        when(taskCategoryRepository.findById(42L)).thenReturn(Optional.of(taskCategory));
+        when(taskCategoryRepository.findById(73L)).thenReturn(Optional.of(new TaskCategory("some_target_name", "some_description")));
+
+        // Act
+        taskCategoryService.mergeTaskCategory(42L, 73L, false);
+
+        // Assert
+        verify(taskCategoryRepository, never()).delete(any());
+    }
+
+    @Test
+    void When_TaskCategoryIsMergedIntoItself_Then_IllegalArgumentExceptionIsThrown() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> taskCategoryService.mergeTaskCategory(42L, 42L, true));
+    }
+
+    @Test
+    void When_TaskCategoryIsMergedIntoMissingTaskCategory_Then_TaskCategoryNotFoundExceptionIsThrown() {
+        // Arrange
+        when(taskCategoryRepository.findById(42L)).thenReturn(Optional.of(new TaskCategory("some_name", "some_description")));
+        when(taskCategoryRepository.findById(73L)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(TaskCategoryNotFoundException.class, () -> taskCategoryService.deleteTaskCategory(42L));
+        assertThrows(TaskCategoryNotFoundException.class, () -> taskCategoryService.mergeTaskCategory(42L, 73L, true));
+        verify(taskRepository, never()).moveToCategory(any(), anyLong());
     }
 }
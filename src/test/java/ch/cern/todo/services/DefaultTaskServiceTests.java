@@ -2,20 +2,35 @@ package ch.cern.todo.services;
 
 import ch.cern.todo.core.Task;
 import ch.cern.todo.core.TaskCategory;
+import ch.cern.todo.repositories.TaskFilter;
 import ch.cern.todo.repositories.TaskRepository;
+import ch.cern.todo.search.TaskSearchIndex;
+import ch.cern.todo.statistics.TaskStatistics;
+import ch.cern.todo.services.events.TaskChangedEvent;
+import ch.cern.todo.services.events.TasksReassignedEvent;
+import ch.cern.todo.services.exceptions.StaleVersionException;
 import ch.cern.todo.services.exceptions.TaskCategoryNotFoundException;
 import ch.cern.todo.services.exceptions.TaskNotFoundException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -32,6 +47,18 @@ public class DefaultTaskServiceTests {
     @Spy
     TaskCategoryService taskCategoryService;
 
+    @Spy
+    private EntityManager entityManager;
+
+    @Spy
+    private TaskSearchIndex taskSearchIndex = new TaskSearchIndex();
+
+    @Spy
+    private TaskStatistics taskStatistics = new TaskStatistics();
+
+    @Spy
+    private ApplicationEventPublisher eventPublisher;
+
     private AutoCloseable closeable;
 
     @BeforeEach
@@ -82,6 +109,32 @@ public class DefaultTaskServiceTests {
         assertEquals(createdTask.getCategory(), category);
     }
 
+    @Test
+    void When_TaskIsCreated_Then_TaskChangedEventIsPublished() throws TaskCategoryNotFoundException {
+        // Arrange
+        final var deadline = LocalDateTime.now();
+        final var category = new TaskCategory("some_name", "some_description");
+        category.setId(73);
+        final var task = new Task("some_name", "some_description", deadline, category);
+        task.setId(42);
+
+        when(taskCategoryService.getTaskCategoryByName("some_name")).thenReturn(category);
+
+        // Act
+        taskService.createTask(task);
+
+        // Assert
+        final var eventCaptor = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(eventCaptor.capture());
+        final var event = eventCaptor.getValue();
+        assertEquals(event.getType(), TaskChangedEvent.Type.CREATED);
+        assertNull(event.getBefore());
+        assertEquals(event.getAfter().getId(), 42);
+        assertEquals(event.getAfter().getName(), "some_name");
+        assertEquals(event.getAfter().getDeadline(), deadline);
+        assertEquals(event.getAfter().getCategoryId(), 73);
+    }
+
     @Test
     void When_TaskIsCreatedAndTaskCategoryDoesNotExists_Then_TaskCategoryNotFoundExceptionIsThrown() throws TaskCategoryNotFoundException {
         // Arrange
@@ -95,6 +148,47 @@ public class DefaultTaskServiceTests {
         assertThrows(TaskCategoryNotFoundException.class, () -> taskService.createTask(task));
     }
 
+    @Test
+    void When_TasksAreCreatedInBatch_Then_CategoriesAreResolvedOnceAndTasksAreSavedTogether() {
+        // Arrange
+        final var deadline = LocalDateTime.now();
+        final var category = new TaskCategory("some_name", "some_description");
+        final var taskA = new Task("some_name", "some_description", deadline, new TaskCategory("some_name", null));
+        final var taskB = new Task("some_different_name", "some_different_description", deadline, new TaskCategory("some_name", null));
+
+        when(taskCategoryService.getTaskCategoriesByNames(Set.of("some_name"))).thenReturn(Map.of("some_name", category));
+
+        // Act
+        final var results = taskService.createTasks(List.of(taskA, taskB));
+
+        // Assert
+        assertTrue(results.stream().allMatch(TaskCreationResult::isCreated));
+        assertEquals(taskA.getCategory(), category);
+        assertEquals(taskB.getCategory(), category);
+        verify(taskCategoryService, times(1)).getTaskCategoriesByNames(any());
+        verify(taskRepository, times(1)).saveAll(List.of(taskA, taskB));
+    }
+
+    @Test
+    void When_TasksAreCreatedInBatchAndTaskCategoryDoesNotExist_Then_OnlyThatTaskFails() {
+        // Arrange
+        final var deadline = LocalDateTime.now();
+        final var category = new TaskCategory("some_name", "some_description");
+        final var taskA = new Task("some_name", "some_description", deadline, new TaskCategory("some_name", null));
+        final var taskB = new Task("some_different_name", "some_different_description", deadline, new TaskCategory("some_missing_name", null));
+
+        when(taskCategoryService.getTaskCategoriesByNames(any())).thenReturn(Map.of("some_name", category));
+
+        // Act
+        final var results = taskService.createTasks(List.of(taskA, taskB));
+
+        // Assert
+        assertTrue(results.get(0).isCreated());
+        assertFalse(results.get(1).isCreated());
+        assertInstanceOf(TaskCategoryNotFoundException.class, results.get(1).getError());
+        verify(taskRepository, times(1)).saveAll(List.of(taskA));
+    }
+
     @Test
     void When_TaskIsRequestedById_Then_RightTaskIsReturned() throws TaskNotFoundException {
         // Arrange
@@ -149,7 +243,49 @@ public class DefaultTaskServiceTests {
     }
 
     @Test
-    void When_TaskIsUpdated_Then_TaskRepositorySaveIsCalled() throws TaskNotFoundException, TaskCategoryNotFoundException {
+    void When_TasksAreMovedToCategory_Then_TaskRepositoryMoveToCategoryIsCalled() throws TaskCategoryNotFoundException {
+        // Arrange
+        final var filter = new TaskFilter(null, null, 42L);
+        when(taskCategoryService.getTaskCategoryById(73L)).thenReturn(new TaskCategory("some_name", "some_description"));
+        when(taskRepository.moveToCategory(filter, 73L)).thenReturn(Map.of(42L, 3L, 6L, 2L));
+
+        // Act
+        final var movedTasks = taskService.moveTasksToCategory(filter, 73L);
+
+        // Assert
+        assertEquals(movedTasks, 5);
+    }
+
+    @Test
+    void When_TasksAreMovedToCategory_Then_TasksReassignedEventIsPublished() throws TaskCategoryNotFoundException {
+        // Arrange
+        final var filter = TaskFilter.none();
+        when(taskCategoryService.getTaskCategoryById(73L)).thenReturn(new TaskCategory("some_name", "some_description"));
+        when(taskRepository.moveToCategory(filter, 73L)).thenReturn(Map.of(42L, 3L, 6L, 2L));
+
+        // Act
+        taskService.moveTasksToCategory(filter, 73L);
+
+        // Assert
+        final var captor = ArgumentCaptor.forClass(TasksReassignedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertEquals(captor.getValue().getCategoryId(), 73L);
+        assertEquals(captor.getValue().getMovedTasksPerCategory(), Map.of(42L, 3L, 6L, 2L));
+        assertEquals(captor.getValue().getMovedTasks(), 5);
+    }
+
+    @Test
+    void When_TasksAreMovedToCategoryThatDoesNotExist_Then_TaskCategoryNotFoundExceptionIsThrown() throws TaskCategoryNotFoundException {
+        // Arrange
+        when(taskCategoryService.getTaskCategoryById(73L)).thenThrow(new TaskCategoryNotFoundException());
+
+        // Act & Assert
+        assertThrows(TaskCategoryNotFoundException.class, () -> taskService.moveTasksToCategory(TaskFilter.none(), 73L));
+        verify(taskRepository, never()).moveToCategory(any(), anyLong());
+    }
+
+    @Test
+    void When_TaskIsUpdated_Then_TaskRepositoryIsFlushed() throws TaskNotFoundException, TaskCategoryNotFoundException, StaleVersionException {
         // Arrange
         final var deadline = LocalDateTime.now();
         final var taskCategory = new TaskCategory("some_name", "some_description");
@@ -159,14 +295,15 @@ public class DefaultTaskServiceTests {
         when(taskRepository.findById(42L)).thenReturn(Optional.of(taskWithUpdates));
 
         // Act
-        taskService.updateTask(42L, taskWithUpdates);
+        taskService.updateTask(42L, taskWithUpdates, null);
 
         // Assert
-        verify(taskRepository, times(1)).save(taskWithUpdates);
+        verify(taskRepository, times(1)).flush();
+        verify(taskRepository, never()).save(any());
     }
 
     @Test
-    void When_TaskIsUpdated_Then_UpdatedTaskIsReturned() throws TaskNotFoundException, TaskCategoryNotFoundException {
+    void When_TaskIsUpdated_Then_UpdatedTaskIsReturned() throws TaskNotFoundException, TaskCategoryNotFoundException, StaleVersionException {
         // Arrange
         final var deadline = LocalDateTime.now();
         final var taskCategory = new TaskCategory("some_name", "some_description");
@@ -179,10 +316,9 @@ public class DefaultTaskServiceTests {
 
         when(taskRepository.findById(42L)).thenReturn(Optional.of(task));
         when(taskCategoryService.getTaskCategoryByName("some_new_name")).thenReturn(updatedCategory);
-        when(taskRepository.save(task)).thenReturn(task);
 
         // Act
-        final var updatedTask = taskService.updateTask(42L, taskWithUpdates);
+        final var updatedTask = taskService.updateTask(42L, taskWithUpdates, null);
 
         // Assert
         assertEquals(updatedTask.getId(), 42);
@@ -192,17 +328,48 @@ public class DefaultTaskServiceTests {
         assertEquals(updatedTask.getCategory(), updatedCategory);
     }
 
+    @Test
+    void When_TaskIsUpdatedWithStaleVersion_Then_StaleVersionExceptionIsThrown() {
+        // Arrange
+        final var taskCategory = new TaskCategory("some_name", "some_description");
+        final var task = new Task("some_name", "some_description", LocalDateTime.now(), taskCategory);
+        task.setId(42);
+        task.setVersion(3);
+
+        when(taskRepository.findById(42L)).thenReturn(Optional.of(task));
+
+        // Act & Assert
+        assertThrows(StaleVersionException.class, () -> taskService.updateTask(42L, task, 2L));
+        verify(taskRepository, never()).flush();
+    }
+
+    @Test
+    void When_TaskIsUpdatedConcurrently_Then_StaleVersionExceptionIsThrown() throws TaskCategoryNotFoundException {
+        // Arrange
+        final var taskCategory = new TaskCategory("some_name", "some_description");
+        final var task = new Task("some_name", "some_description", LocalDateTime.now(), taskCategory);
+        task.setId(42);
+
+        when(taskRepository.findById(42L)).thenReturn(Optional.of(task));
+        when(taskCategoryService.getTaskCategoryByName("some_name")).thenReturn(taskCategory);
+        doThrow(new ObjectOptimisticLockingFailureException(Task.class, 42L)).when(taskRepository).flush();
+
+        // Act & Assert
+        assertThrows(StaleVersionException.class, () -> taskService.updateTask(42L, task, null));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
     @Test
     void When_TaskUpdatedDoesNotExists_Then_TaskNotFoundExceptionIsThrown() {
         // Arrange
         when(taskRepository.findById(any())).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(TaskNotFoundException.class, () -> taskService.updateTask(42L, any()));
+        assertThrows(TaskNotFoundException.class, () -> taskService.updateTask(42L, any(), null));
     }
 
     @Test
-    void When_TaskIsUpdatedAndTaskCategoryDoesNotExists_Then_TaskCategoryNotFoundExceptionIsThrown() throws TaskCategoryNotFoundException {
+    void When_TaskIsUpdatedAndTaskCategoryDoesNotExists_Then_TaskCategoryNotFoundExceptionIsThrown() throws TaskCategoryNotFoundException, StaleVersionException {
         // Arrange
         final var deadline = LocalDateTime.now();
         final var category = new TaskCategory("some_name", "some_description");
@@ -212,27 +379,102 @@ public class DefaultTaskServiceTests {
         when(taskCategoryService.getTaskCategoryByName("some_name")).thenThrow(new TaskCategoryNotFoundException());
 
         // Act & Assert
-        assertThrows(TaskCategoryNotFoundException.class, () -> taskService.updateTask(42L, task));
+        assertThrows(TaskCategoryNotFoundException.class, () -> taskService.updateTask(42L, task, null));
     }
 
     @Test
-    void When_TaskIsDeleted_Then_TaskRepositoryDeleteByIdIsCalled() throws TaskNotFoundException {
+    void When_TaskIsDeleted_Then_TaskRepositoryDeleteIsCalled() throws TaskNotFoundException, StaleVersionException {
         // Arrange
-        when(taskRepository.existsById(42L)).thenReturn(true);
+        final var task = new Task("some_name", "some_description", LocalDateTime.now(), new TaskCategory("some_name", "some_description"));
+        task.setId(42);
+
+        when(taskRepository.findById(42L)).thenReturn(Optional.of(task));
 
         // Act
-        taskService.deleteTask(42L);
+        taskService.deleteTask(42L, null);
 
         // Assert
-        verify(taskRepository, times(1)).deleteById(42L);
+        verify(taskRepository, times(1)).delete(task);
+    }
+
+    @Test
+    void When_TaskIsDeleted_Then_TaskChangedEventWithDeletedStateIsPublished() throws TaskNotFoundException, StaleVersionException {
+        // Arrange
+        final var task = new Task("some_name", "some_description", LocalDateTime.now(), new TaskCategory("some_name", "some_description"));
+        task.setId(42);
+
+        when(taskRepository.findById(42L)).thenReturn(Optional.of(task));
+
+        // Act
+        taskService.deleteTask(42L, null);
+
+        // Assert
+        final var eventCaptor = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(eventCaptor.capture());
+        assertEquals(eventCaptor.getValue().getType(), TaskChangedEvent.Type.DELETED);
+        assertEquals(eventCaptor.getValue().getTaskId(), 42);
+        assertNull(eventCaptor.getValue().getAfter());
+    }
+
+    @Test
+    void When_TaskIsDeletedWithStaleVersion_Then_StaleVersionExceptionIsThrown() {
+        // Arrange
+        final var task = new Task("some_name", "some_description", LocalDateTime.now(), new TaskCategory("some_name", "some_description"));
+        task.setId(42);
+        task.setVersion(3);
+
+        when(taskRepository.findById(42L)).thenReturn(Optional.of(task));
+
+        // Act & Assert
+        assertThrows(StaleVersionException.class, () -> taskService.deleteTask(42L, 2L));
+        verify(taskRepository, never()).delete(any());
     }
 
     @Test
     void When_TaskDeletedDoesNotExist_Then_TaskNotFoundExceptionIsThrown() {
         // Arrange
-        when(taskRepository.existsById(42L)).thenReturn(false);
+        when(taskRepository.findById(42L)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(TaskNotFoundException.class, () -> taskService.deleteTask(42L));
+        assertThrows(TaskNotFoundException.class, () -> taskService.deleteTask(42L, null));
+    }
+
+    @Test
+    void When_TasksAreExported_Then_EveryStreamedTaskIsPassedToConsumer() {
+        // Arrange
+        final var deadline = LocalDateTime.now();
+        final var category = new TaskCategory("some_name", "some_description");
+        final var taskA = new Task("some_name", "some_description", deadline, category);
+        final var taskB = new Task("some_different_name", "some_different_description", deadline, category);
+        final var exportedTasks = new ArrayList<Task>();
+
+        when(taskRepository.streamAll()).thenReturn(Stream.of(taskA, taskB));
+
+        // Act
+        taskService.exportTasks(exportedTasks::add);
+
+        // Assert
+        assertEquals(exportedTasks, List.of(taskA, taskB));
+    }
+
+    @Test
+    void When_TasksAreSearched_Then_TasksAreReturnedInRankingOrder() {
+        // Arrange
+        final var deadline = LocalDateTime.now();
+        final var category = new TaskCategory("some_name", "some_description");
+        final var taskA = new Task("buy milk", "at the corner shop", deadline, category);
+        taskA.setId(42);
+        final var taskB = new Task("milk the cows", "milk twice a day", deadline, category);
+        taskB.setId(73);
+
+        taskSearchIndex.index(42, taskA.getName(), taskA.getDescription());
+        taskSearchIndex.index(73, taskB.getName(), taskB.getDescription());
+        when(taskRepository.findAllById(List.of(73L, 42L))).thenReturn(List.of(taskA, taskB));
+
+        // Act
+        final var tasks = taskService.searchTasks("milk", 10);
+
+        // Assert
+        assertEquals(tasks, List.of(taskB, taskA));
     }
 }
@@ -0,0 +1,99 @@
+package ch.cern.todo.services;
+
+import ch.cern.todo.core.TaskCategory;
+import ch.cern.todo.repositories.TaskCategoryRepository;
+import ch.cern.todo.services.exceptions.TaskCategoryNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A lookup by name that runs after a change was flushed but before it was committed still reads the old row. These
+ * tests run such a lookup on another thread in between and check that the name cache does not keep what it read.
+ */
+@DataJpaTest
+@Import({DefaultTaskCategoryService.class, TaskCategoryNameCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TaskCategoryNameCacheInvalidationTests {
+
+    @Autowired
+    private TaskCategoryService taskCategoryService;
+
+    @Autowired
+    private TaskCategoryRepository taskCategoryRepository;
+
+    @Autowired
+    private TaskCategoryNameCache taskCategoryNameCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TaskCategory taskCategory;
+
+    @BeforeEach
+    public void saveTaskCategory() {
+        taskCategory = taskCategoryRepository.save(new TaskCategory("some_name", "some_description"));
+    }
+
+    @AfterEach
+    public void deleteTaskCategories() {
+        taskCategoryRepository.deleteAll();
+        taskCategoryNameCache.invalidateAll();
+    }
+
+    private interface Change {
+        void run() throws Exception;
+    }
+
+    /**
+     * Runs the change in a transaction and looks the task category up by its old name from another thread before the
+     * transaction commits.
+     */
+    private void changeWithConcurrentLookup(Change change) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                change.run();
+                CompletableFuture.runAsync(() -> {
+                    try {
+                        taskCategoryService.getTaskCategoryByName("some_name");
+                    } catch (TaskCategoryNotFoundException e) {
+                        throw new IllegalStateException("The old row must still be visible before the commit", e);
+                    }
+                }).join();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Test
+    void When_LookupRunsBetweenRenameAndCommit_Then_OldNameIsNotCached() {
+        // Act
+        changeWithConcurrentLookup(() -> taskCategoryService.updateTaskCategory(taskCategory.getId(), new TaskCategory("some_new_name", "some_description"), null));
+
+        // Assert
+        assertNull(taskCategoryNameCache.get("some_name"));
+        assertThrows(TaskCategoryNotFoundException.class, () -> taskCategoryService.getTaskCategoryByName("some_name"));
+    }
+
+    @Test
+    void When_LookupRunsBetweenDeletionAndCommit_Then_DeletedTaskCategoryIsNotCached() {
+        // Act
+        changeWithConcurrentLookup(() -> taskCategoryService.deleteTaskCategory(taskCategory.getId(), null));
+
+        // Assert
+        assertNull(taskCategoryNameCache.get("some_name"));
+        assertThrows(TaskCategoryNotFoundException.class, () -> taskCategoryService.getTaskCategoryByName("some_name"));
+    }
+}
@@ -0,0 +1,89 @@
+package ch.cern.todo.services;
+
+import ch.cern.todo.core.TaskCategory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskCategoryNameCacheTests {
+
+    private static TaskCategory taskCategory(long id, String name) {
+        final var taskCategory = new TaskCategory(name, "some_description");
+        taskCategory.setId(id);
+        return taskCategory;
+    }
+
+    @Test
+    void When_TaskCategoryIsCached_Then_HitReturnsEqualButDistinctInstance() {
+        // Arrange
+        final var cache = new TaskCategoryNameCache(16);
+        final var taskCategory = taskCategory(42, "some_name");
+        cache.put(taskCategory, cache.currentGeneration());
+
+        // Act
+        final var cachedTaskCategory = cache.get("some_name");
+
+        // Assert
+        assertNotSame(cachedTaskCategory, taskCategory);
+        assertEquals(cachedTaskCategory.getId(), 42);
+        assertEquals(cachedTaskCategory.getName(), "some_name");
+        assertEquals(cachedTaskCategory.getDescription(), "some_description");
+        assertEquals(cache.getHitCount(), 1);
+        assertEquals(cache.getMissCount(), 0);
+    }
+
+    @Test
+    void When_TaskCategoryIsNotCached_Then_MissIsCounted() {
+        // Arrange
+        final var cache = new TaskCategoryNameCache(16);
+
+        // Act & Assert
+        assertNull(cache.get("some_name"));
+        assertEquals(cache.getMissCount(), 1);
+    }
+
+    @Test
+    void When_CacheIsFull_Then_LeastRecentlyUsedEntryIsEvicted() {
+        // Arrange
+        final var cache = new TaskCategoryNameCache(2);
+        cache.put(taskCategory(1, "some_name_1"), cache.currentGeneration());
+        cache.put(taskCategory(2, "some_name_2"), cache.currentGeneration());
+        cache.get("some_name_1");
+
+        // Act
+        cache.put(taskCategory(3, "some_name_3"), cache.currentGeneration());
+
+        // Assert
+        assertEquals(cache.size(), 2);
+        assertEquals(cache.getEvictionCount(), 1);
+        assertNotNull(cache.get("some_name_1"));
+        assertNull(cache.get("some_name_2"));
+    }
+
+    @Test
+    void When_TaskCategoryIsInvalidatedById_Then_ItIsNoLongerCached() {
+        // Arrange
+        final var cache = new TaskCategoryNameCache(16);
+        cache.put(taskCategory(42, "some_name"), cache.currentGeneration());
+
+        // Act
+        cache.invalidateById(42);
+
+        // Assert
+        assertNull(cache.get("some_name"));
+    }
+
+    @Test
+    void When_LoadRacedWithInvalidation_Then_LoadedValueIsNotCached() {
+        // Arrange
+        final var cache = new TaskCategoryNameCache(16);
+        final var generation = cache.currentGeneration();
+        cache.invalidateById(42);
+
+        // Act
+        cache.put(taskCategory(42, "some_name"), generation);
+
+        // Assert
+        assertNull(cache.get("some_name"));
+    }
+}
@@ -0,0 +1,194 @@
+package ch.cern.todo.services;
+
+import ch.cern.todo.changes.ChangeFeed;
+import ch.cern.todo.core.Task;
+import ch.cern.todo.core.TaskCategory;
+import ch.cern.todo.repositories.TaskCategoryRepository;
+import ch.cern.todo.repositories.TaskRepository;
+import ch.cern.todo.services.exceptions.DuplicateTaskCategoryNameException;
+import ch.cern.todo.services.exceptions.StaleVersionException;
+import ch.cern.todo.services.exceptions.TaskCategoryNotFoundException;
+import ch.cern.todo.statistics.TaskStatistics;
+import ch.cern.todo.statistics.TaskStatisticsMaintainer;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the statements every operation sends to the database, including those of the listeners that run after the
+ * commit. The service opens its own transactions, so the tests run without one, and the caches are emptied before each
+ * operation so that every lookup reaches the database.
+ */
+@DataJpaTest
+@Import({DefaultTaskCategoryService.class, TaskCategoryNameCache.class, TaskStatistics.class, TaskStatisticsMaintainer.class, ChangeFeed.class})
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TaskCategoryServiceStatementCountTests {
+
+    @Autowired
+    private TaskCategoryService taskCategoryService;
+
+    @Autowired
+    private TaskCategoryRepository taskCategoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCategoryNameCache taskCategoryNameCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TaskCategory taskCategory;
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private void clearCachesAndStatistics() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        taskCategoryNameCache.invalidateAll();
+        statistics().clear();
+    }
+
+    @BeforeEach
+    public void saveTaskCategory() {
+        taskCategory = taskCategoryRepository.save(new TaskCategory("some_name", "some_description"));
+        clearCachesAndStatistics();
+    }
+
+    @AfterEach
+    public void deleteTaskCategories() {
+        taskRepository.deleteAll();
+        taskCategoryRepository.deleteAll();
+        clearCachesAndStatistics();
+    }
+
+    @Test
+    void When_TaskCategoryIsCreated_Then_OneStatementIsExecuted() throws DuplicateTaskCategoryNameException {
+        // Act
+        taskCategoryService.createTaskCategory(new TaskCategory("some_new_name", "some_description"));
+
+        // Assert
+        assertEquals(statistics().getPrepareStatementCount(), 1);
+        assertEquals(statistics().getEntityInsertCount(), 1);
+    }
+
+    @Test
+    void When_TaskCategoryIsCreatedWithSameName_Then_OnlyTheInsertIsExecuted() {
+        // Act & Assert
+        assertThrows(DuplicateTaskCategoryNameException.class,
+                () -> taskCategoryService.createTaskCategory(new TaskCategory("some_name", "some_other_description")));
+        assertEquals(statistics().getPrepareStatementCount(), 1);
+        assertEquals(taskCategoryRepository.count(), 1);
+    }
+
+    @Test
+    void When_TaskCategoryIsRequestedById_Then_OneStatementIsExecuted() throws TaskCategoryNotFoundException {
+        // Act
+        final var foundTaskCategory = taskCategoryService.getTaskCategoryById(taskCategory.getId());
+
+        // Assert
+        assertEquals(foundTaskCategory.getName(), "some_name");
+        assertEquals(statistics().getPrepareStatementCount(), 1);
+    }
+
+    @Test
+    void When_TaskCategoryThatDoesNotExistIsRequestedById_Then_OneStatementIsExecuted() {
+        // Act & Assert
+        assertThrows(TaskCategoryNotFoundException.class, () -> taskCategoryService.getTaskCategoryById(taskCategory.getId() + 1));
+        assertEquals(statistics().getPrepareStatementCount(), 1);
+    }
+
+    @Test
+    void When_TaskCategoryIsRequestedByNameTwice_Then_OneStatementIsExecuted() throws TaskCategoryNotFoundException {
+        // Act
+        taskCategoryService.getTaskCategoryByName("some_name");
+        final var foundTaskCategory = taskCategoryService.getTaskCategoryByName("some_name");
+
+        // Assert
+        assertEquals(foundTaskCategory.getId(), taskCategory.getId());
+        assertEquals(statistics().getPrepareStatementCount(), 1);
+    }
+
+    @Test
+    void When_TaskCategoriesAreRequestedByNames_Then_OneStatementIsExecuted() {
+        // Act
+        final var foundTaskCategories = taskCategoryService.getTaskCategoriesByNames(List.of("some_name", "some_other_name"));
+
+        // Assert
+        assertEquals(foundTaskCategories.size(), 1);
+        assertEquals(statistics().getPrepareStatementCount(), 1);
+    }
+
+    @Test
+    void When_AllTaskCategoriesAreRequested_Then_OneStatementIsExecuted() {
+        // Act
+        final var taskCategories = taskCategoryService.getTaskCategories();
+
+        // Assert
+        assertEquals(taskCategories.size(), 1);
+        assertEquals(statistics().getPrepareStatementCount(), 1);
+    }
+
+    @Test
+    void When_PageOfTaskCategoriesIsRequested_Then_OneStatementIsExecuted() {
+        // Act
+        final var taskCategories = taskCategoryService.getTaskCategories(0, 10);
+
+        // Assert
+        assertEquals(taskCategories.size(), 1);
+        assertEquals(statistics().getPrepareStatementCount(), 1);
+    }
+
+    @Test
+    void When_TaskCategoryIsUpdated_Then_TaskCategoryIsReadAndUpdated() throws TaskCategoryNotFoundException, StaleVersionException {
+        // Act
+        taskCategoryService.updateTaskCategory(taskCategory.getId(), new TaskCategory("some_new_name", "some_new_description"), taskCategory.getVersion());
+
+        // Assert
+        assertEquals(statistics().getPrepareStatementCount(), 2);
+        assertEquals(statistics().getEntityUpdateCount(), 1);
+    }
+
+    @Test
+    void When_TaskCategoryIsDeleted_Then_TaskCategoryIsReadAndDeleted() throws TaskCategoryNotFoundException, StaleVersionException {
+        // Act
+        taskCategoryService.deleteTaskCategory(taskCategory.getId(), taskCategory.getVersion());
+
+        // Assert
+        assertEquals(statistics().getPrepareStatementCount(), 2);
+        assertEquals(statistics().getEntityDeleteCount(), 1);
+    }
+
+    @Test
+    void When_TaskCategoryIsMerged_Then_BothCategoriesAreReadAndTasksAreMovedInOneStatement() throws TaskCategoryNotFoundException {
+        // Arrange
+        final var targetTaskCategory = taskCategoryRepository.save(new TaskCategory("some_target_name", "some_description"));
+        taskRepository.save(new Task("some_task_name", "some_task_description", LocalDateTime.now(), taskCategory));
+        clearCachesAndStatistics();
+
+        // Act
+        final var movedTasks = taskCategoryService.mergeTaskCategory(taskCategory.getId(), targetTaskCategory.getId(), true);
+
+        // Assert
+        assertEquals(movedTasks, 1);
+        assertEquals(statistics().getPrepareStatementCount(), 5);
+        assertEquals(statistics().getEntityDeleteCount(), 1);
+    }
+}
@@ -0,0 +1,257 @@
+package ch.cern.todo.services;
+
+import ch.cern.todo.changes.ChangeFeed;
+import ch.cern.todo.core.Task;
+import ch.cern.todo.core.TaskCategory;
+import ch.cern.todo.reminders.ApplicationEventTaskReminderSink;
+import ch.cern.todo.reminders.TaskReminderMaintainer;
+import ch.cern.todo.reminders.TaskReminderScheduler;
+import ch.cern.todo.repositories.TaskCategoryRepository;
+import ch.cern.todo.repositories.TaskField;
+import ch.cern.todo.repositories.TaskFilter;
+import ch.cern.todo.repositories.TaskQuery;
+import ch.cern.todo.repositories.TaskRepository;
+import ch.cern.todo.search.TaskSearchIndex;
+import ch.cern.todo.search.TaskSearchIndexMaintainer;
+import ch.cern.todo.services.exceptions.StaleVersionException;
+import ch.cern.todo.services.exceptions.TaskCategoryNotFoundException;
+import ch.cern.todo.services.exceptions.TaskNotFoundException;
+import ch.cern.todo.statistics.TaskStatistics;
+import ch.cern.todo.statistics.TaskStatisticsMaintainer;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the statements every operation sends to the database, including those of the listeners that run after the
+ * commit. The service opens its own transactions, so the tests run without one, and the caches are emptied before each
+ * operation so that every lookup reaches the database.
+ */
+@DataJpaTest
+@Import({DefaultTaskService.class, DefaultTaskCategoryService.class, TaskCategoryNameCache.class, TaskSearchIndex.class, TaskStatistics.class,
+        TaskSearchIndexMaintainer.class, TaskStatisticsMaintainer.class, TaskReminderMaintainer.class, TaskReminderScheduler.class,
+        ApplicationEventTaskReminderSink.class, ChangeFeed.class})
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TaskServiceStatementCountTests {
+    private static final LocalDateTime DEADLINE = LocalDateTime.parse("2023-09-22T10:42:50.63");
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCategoryRepository taskCategoryRepository;
+
+    @Autowired
+    private TaskCategoryNameCache taskCategoryNameCache;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TaskCategory taskCategory;
+
+    private Task task;
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private void clearCachesAndStatistics() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        taskCategoryNameCache.invalidateAll();
+        statistics().clear();
+    }
+
+    @BeforeEach
+    public void saveTask() {
+        taskCategory = taskCategoryRepository.save(new TaskCategory("some_category_name", "some_category_description"));
+        task = taskRepository.save(new Task("some_name", "some_description", DEADLINE, taskCategory));
+        taskSearchIndex.index(task.getId(), task.getName(), task.getDescription());
+        clearCachesAndStatistics();
+    }
+
+    @AfterEach
+    public void deleteTasks() {
+        taskRepository.deleteAll();
+        taskCategoryRepository.deleteAll();
+        taskSearchIndex.clear();
+        clearCachesAndStatistics();
+    }
+
+    @Test
+    void When_TaskIsCreated_Then_CategoryIsReadAndTaskIsInserted() throws TaskCategoryNotFoundException {
+        // Arrange
+        final var newTask = new Task("some_new_name", "some_description", DEADLINE, new TaskCategory("some_category_name", null));
+
+        // Act
+        taskService.createTask(newTask);
+
+        // Assert
+        // The id comes from the block of the sequence the arranged task was given.
+        assertEquals(statistics().getPrepareStatementCount(), 2);
+        assertEquals(statistics().getEntityInsertCount(), 1);
+    }
+
+    @Test
+    void When_TasksAreCreated_Then_CategoriesAreReadOnceAndTasksAreInsertedInOneBatch() {
+        // Arrange
+        final var tasks = List.of(
+                new Task("some_name_a", "some_description", DEADLINE, new TaskCategory("some_category_name", null)),
+                new Task("some_name_b", "some_description", DEADLINE, new TaskCategory("some_category_name", null)));
+
+        // Act
+        taskService.createTasks(tasks);
+
+        // Assert
+        assertEquals(statistics().getPrepareStatementCount(), 2);
+        assertEquals(statistics().getEntityInsertCount(), 2);
+    }
+
+    @Test
+    void When_TaskIsRequestedById_Then_OneStatementIsExecuted() throws TaskNotFoundException {
+        // Act
+        final var foundTask = taskService.getTaskById(task.getId());
+
+        // Assert
+        assertEquals(foundTask.getCategory().getName(), "some_category_name");
+        assertEquals(statistics().getPrepareStatementCount(), 1);
+    }
+
+    @Test
+    void When_TaskThatDoesNotExistIsRequestedById_Then_OneStatementIsExecuted() {
+        // Act & Assert
+        assertThrows(TaskNotFoundException.class, () -> taskService.getTaskById(task.getId() + 1));
+        assertEquals(statistics().getPrepareStatementCount(), 1);
+    }
+
+    @Test
+    void When_AllTasksAreRequested_Then_OneStatementIsExecuted() {
+        // Act
+        final var tasks = taskService.getTasks();
+
+        // Assert
+        assertEquals(tasks.get(0).getCategory().getName(), "some_category_name");
+        assertEquals(statistics().getPrepareStatementCount(), 1);
+    }
+
+    @Test
+    void When_PageOfTasksIsRequested_Then_OneStatementIsExecuted() {
+        // Act
+        final var tasks = taskService.getTasks(TaskQuery.firstPage(10));
+
+        // Assert
+        assertEquals(tasks.get(0).getCategory().getName(), "some_category_name");
+        assertEquals(statistics().getPrepareStatementCount(), 1);
+    }
+
+    @Test
+    void When_PageOfTaskFieldsIsRequested_Then_OneStatementIsExecuted() {
+        // Act
+        final var tasks = taskService.getTasks(TaskQuery.firstPage(10), EnumSet.of(TaskField.NAME, TaskField.CATEGORY_NAME));
+
+        // Assert
+        assertEquals(tasks.get(0).get(TaskField.CATEGORY_NAME), "some_category_name");
+        assertEquals(statistics().getPrepareStatementCount(), 1);
+    }
+
+    @Test
+    void When_TasksAreSearched_Then_OneStatementIsExecuted() {
+        // Act
+        final var tasks = taskService.searchTasks("some_name", 10);
+
+        // Assert
+        assertEquals(tasks.get(0).getCategory().getName(), "some_category_name");
+        assertEquals(statistics().getPrepareStatementCount(), 1);
+    }
+
+    @Test
+    void When_TaskFieldsAreSearched_Then_OneStatementIsExecuted() {
+        // Act
+        final var tasks = taskService.searchTasks("some_name", 10, EnumSet.of(TaskField.NAME));
+
+        // Assert
+        assertEquals(tasks.get(0).get(TaskField.NAME), "some_name");
+        assertEquals(statistics().getPrepareStatementCount(), 1);
+    }
+
+    @Test
+    void When_TaskStatisticsAreRequested_Then_NoStatementIsExecuted() {
+        // Act
+        taskService.getTaskStatistics();
+
+        // Assert
+        assertEquals(statistics().getPrepareStatementCount(), 0);
+    }
+
+    @Test
+    void When_TasksAreExported_Then_OneStatementIsExecuted() {
+        // Arrange
+        final var exportedTasks = new ArrayList<Task>();
+
+        // Act
+        taskService.exportTasks(exportedTasks::add);
+
+        // Assert
+        assertEquals(exportedTasks.size(), 1);
+        assertEquals(statistics().getPrepareStatementCount(), 1);
+    }
+
+    @Test
+    void When_TasksAreMovedToCategory_Then_CategoryIsReadAndTasksAreUpdatedInOneStatement() throws TaskCategoryNotFoundException {
+        // Arrange
+        final var targetCategory = taskCategoryRepository.save(new TaskCategory("some_target_category_name", "some_category_description"));
+        clearCachesAndStatistics();
+
+        // Act
+        final var movedTasks = taskService.moveTasksToCategory(TaskFilter.none(), targetCategory.getId());
+
+        // Assert
+        assertEquals(movedTasks, 1);
+        assertEquals(statistics().getPrepareStatementCount(), 3);
+    }
+
+    @Test
+    void When_TaskIsUpdated_Then_TaskAndCategoryAreReadAndTaskIsUpdated() throws TaskNotFoundException, TaskCategoryNotFoundException, StaleVersionException {
+        // Arrange
+        final var taskWithUpdates = new Task("some_new_name", "some_new_description", DEADLINE, new TaskCategory("some_category_name", null));
+
+        // Act
+        taskService.updateTask(task.getId(), taskWithUpdates, task.getVersion());
+
+        // Assert
+        assertEquals(statistics().getPrepareStatementCount(), 3);
+        assertEquals(statistics().getEntityUpdateCount(), 1);
+    }
+
+    @Test
+    void When_TaskIsDeleted_Then_TaskIsReadAndDeleted() throws TaskNotFoundException, StaleVersionException {
+        // Act
+        taskService.deleteTask(task.getId(), task.getVersion());
+
+        // Assert
+        assertEquals(statistics().getPrepareStatementCount(), 2);
+        assertEquals(statistics().getEntityDeleteCount(), 1);
+    }
+}
@@ -0,0 +1,135 @@
+package ch.cern.todo.statistics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskStatisticsTests {
+
+    // A Wednesday, so "this week" covers Wednesday to Sunday.
+    private static final LocalDate TODAY = LocalDate.of(2023, 9, 20);
+
+    @Test
+    void When_TasksAreAdded_Then_TheyAreCountedPerCategoryAndDeadline() {
+        // Arrange
+        final var statistics = new TaskStatistics(new MutableClock(TODAY));
+
+        // Act
+        statistics.add(1, TODAY.minusDays(1).atTime(12, 0));
+        statistics.add(1, TODAY.atTime(23, 59));
+        statistics.add(2, TODAY.plusDays(4).atStartOfDay());
+        statistics.add(2, TODAY.plusDays(5).atStartOfDay());
+
+        // Assert
+        final var snapshot = statistics.snapshot();
+        assertEquals(snapshot.getTasksPerCategory(), Map.of(1L, 2L, 2L, 2L));
+        assertEquals(snapshot.getTotalTasks(), 4);
+        assertEquals(snapshot.getOverdueTasks(), 1);
+        assertEquals(snapshot.getTasksDueToday(), 1);
+        assertEquals(snapshot.getTasksDueThisWeek(), 2);
+    }
+
+    @Test
+    void When_TaskIsRemoved_Then_ItsCountersAreDecremented() {
+        // Arrange
+        final var statistics = new TaskStatistics(new MutableClock(TODAY));
+        statistics.add(1, TODAY.atStartOfDay());
+
+        // Act
+        statistics.remove(1, TODAY.atStartOfDay());
+
+        // Assert
+        final var snapshot = statistics.snapshot();
+        assertTrue(snapshot.getTasksPerCategory().isEmpty());
+        assertEquals(snapshot.getTasksDueToday(), 0);
+    }
+
+    @Test
+    void When_DayPasses_Then_TasksDueThatDayBecomeOverdue() {
+        // Arrange
+        final var clock = new MutableClock(TODAY);
+        final var statistics = new TaskStatistics(clock);
+        statistics.add(1, TODAY.atTime(18, 0));
+        statistics.add(1, TODAY.plusDays(1).atTime(18, 0));
+
+        // Act
+        clock.setDay(TODAY.plusDays(1));
+
+        // Assert
+        final var snapshot = statistics.snapshot();
+        assertEquals(snapshot.getToday(), TODAY.plusDays(1));
+        assertEquals(snapshot.getOverdueTasks(), 1);
+        assertEquals(snapshot.getTasksDueToday(), 1);
+    }
+
+    @Test
+    void When_TasksAreMovedBetweenCategories_Then_OnlyTheCategoryCountsChange() {
+        // Arrange
+        final var statistics = new TaskStatistics(new MutableClock(TODAY));
+        statistics.add(1, TODAY.atStartOfDay());
+        statistics.add(1, TODAY.plusDays(1).atStartOfDay());
+        statistics.add(2, TODAY.minusDays(1).atStartOfDay());
+        statistics.add(3, TODAY.atStartOfDay());
+
+        // Act
+        statistics.move(Map.of(1L, 2L, 2L, 1L), 3);
+
+        // Assert
+        final var snapshot = statistics.snapshot();
+        assertEquals(snapshot.getTasksPerCategory(), Map.of(3L, 4L));
+        assertEquals(snapshot.getOverdueTasks(), 1);
+        assertEquals(snapshot.getTasksDueToday(), 2);
+        assertEquals(snapshot.getTasksDueThisWeek(), 3);
+    }
+
+    @Test
+    void When_CountersAreReplaced_Then_DriftIsReported() {
+        // Arrange
+        final var statistics = new TaskStatistics(new MutableClock(TODAY));
+        statistics.add(1, TODAY.atStartOfDay());
+
+        // Act
+        final var drifted = statistics.replace(TODAY, Map.of(1L, 2L), Map.of(TODAY, 2L), 0);
+        final var driftedAgain = statistics.replace(TODAY, Map.of(1L, 2L), Map.of(TODAY, 2L), 0);
+
+        // Assert
+        assertTrue(drifted);
+        assertFalse(driftedAgain);
+        assertEquals(statistics.snapshot().getTasksDueToday(), 2);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MutableClock(LocalDate day) {
+            setDay(day);
+        }
+
+        void setDay(LocalDate day) {
+            instant = day.atStartOfDay().toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}